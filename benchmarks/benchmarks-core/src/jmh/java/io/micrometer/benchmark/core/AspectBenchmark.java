@@ -0,0 +1,141 @@
+/*
+ * Copyright 2024 VMware, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micrometer.benchmark.core;
+
+import io.micrometer.core.annotation.Counted;
+import io.micrometer.core.annotation.Timed;
+import io.micrometer.core.aop.*;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the overhead of {@link TimedAspect} and {@link CountedAspect} on a Spring AOP
+ * proxy, with and without {@link MeterTag} support. The {@code plain} benchmark calls
+ * the same proxy without any aspect as a baseline. Run it with the GC profiler and
+ * compare {@code gc.alloc.rate.norm} too.
+ */
+@Fork(1)
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class AspectBenchmark {
+
+    MeterRegistry registry;
+
+    Service plainService;
+
+    Service timedService;
+
+    Service timedServiceWithMeterTags;
+
+    Service countedService;
+
+    Service countedServiceWithMeterTags;
+
+    @Setup
+    public void setup() {
+        registry = new SimpleMeterRegistry();
+
+        plainService = proxy();
+
+        timedService = proxy(new TimedAspect(registry));
+
+        TimedAspect timedAspect = new TimedAspect(registry);
+        timedAspect.setMeterTagAnnotationHandler(new MeterTagAnnotationHandler(aClass -> null, aClass -> null));
+        timedServiceWithMeterTags = proxy(timedAspect);
+
+        countedService = proxy(new CountedAspect(registry));
+
+        CountedAspect countedAspect = new CountedAspect(registry);
+        countedAspect
+            .setMeterTagAnnotationHandler(new CountedMeterTagAnnotationHandler(aClass -> null, aClass -> null));
+        countedServiceWithMeterTags = proxy(countedAspect);
+    }
+
+    private static Service proxy(Object... aspects) {
+        AspectJProxyFactory proxyFactory = new AspectJProxyFactory(new DefaultService());
+        for (Object aspect : aspects) {
+            proxyFactory.addAspect(aspect);
+        }
+        return proxyFactory.getProxy();
+    }
+
+    @Benchmark
+    public String plain() {
+        return plainService.timed("a", 1);
+    }
+
+    @Benchmark
+    public String timed() {
+        return timedService.timed("a", 1);
+    }
+
+    @Benchmark
+    public String timedWithMeterTags() {
+        return timedServiceWithMeterTags.timed("a", 1);
+    }
+
+    @Benchmark
+    public String counted() {
+        return countedService.counted("a", 1);
+    }
+
+    @Benchmark
+    public String countedWithMeterTags() {
+        return countedServiceWithMeterTags.counted("a", 1);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(AspectBenchmark.class.getSimpleName())
+            .addProfiler(GCProfiler.class)
+            .build()).run();
+    }
+
+    public interface Service {
+
+        String timed(@MeterTag("first") String first, @MeterTag("second") int second);
+
+        String counted(@MeterTag("first") String first, @MeterTag("second") int second);
+
+    }
+
+    static class DefaultService implements Service {
+
+        @Timed(value = "service.timed", extraTags = { "extra", "tag" })
+        @Override
+        public String timed(String first, int second) {
+            return first;
+        }
+
+        @Counted(value = "service.counted", extraTags = { "extra", "tag" })
+        @Override
+        public String counted(String first, int second) {
+            return first;
+        }
+
+    }
+
+}
@@ -0,0 +1,126 @@
+/*
+ * Copyright 2024 VMware, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micrometer.benchmark.core;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.composite.CompositeMeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.micrometer.prometheusmetrics.PrometheusConfig;
+import io.micrometer.prometheusmetrics.PrometheusMeterRegistry;
+import io.micrometer.registry.otlp.OtlpMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares recording to meters of a composite registry with Prometheus, OTLP and simple
+ * registries as children to recording to the meters of each of these registries directly.
+ */
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class CompositeMeterBenchmark {
+
+    public static void main(String[] args) throws RunnerException {
+        Options opt = new OptionsBuilder().include(CompositeMeterBenchmark.class.getSimpleName()).build();
+        new Runner(opt).run();
+    }
+
+    private final Duration duration = Duration.ofMillis(5);
+
+    private MeterRegistry[] registries;
+
+    private Counter compositeCounter;
+
+    private Timer compositeTimer;
+
+    private Counter[] counters;
+
+    private Timer[] timers;
+
+    @Setup
+    public void setup() {
+        registries = new MeterRegistry[] { new PrometheusMeterRegistry(PrometheusConfig.DEFAULT),
+                new OtlpMeterRegistry(), new SimpleMeterRegistry() };
+        CompositeMeterRegistry composite = new CompositeMeterRegistry();
+        counters = new Counter[registries.length];
+        timers = new Timer[registries.length];
+        for (int i = 0; i < registries.length; i++) {
+            composite.add(registries[i]);
+            counters[i] = registries[i].counter("counter");
+            timers[i] = registries[i].timer("timer");
+        }
+        compositeCounter = composite.counter("counter");
+        compositeTimer = composite.timer("timer");
+    }
+
+    @TearDown
+    public void tearDown() {
+        for (MeterRegistry registry : registries) {
+            registry.close();
+        }
+    }
+
+    @Benchmark
+    public void compositeCounterIncrement() {
+        compositeCounter.increment();
+    }
+
+    @Benchmark
+    public void directCounterIncrement() {
+        for (Counter counter : counters) {
+            counter.increment();
+        }
+    }
+
+    @Benchmark
+    public void compositeTimerRecordDuration() {
+        compositeTimer.record(duration);
+    }
+
+    @Benchmark
+    public void directTimerRecordDuration() {
+        for (Timer timer : timers) {
+            timer.record(duration);
+        }
+    }
+
+    @Benchmark
+    public void compositeTimerRecordRunnable() {
+        compositeTimer.record(this::work);
+    }
+
+    @Benchmark
+    public void directTimerRecordRunnable() {
+        for (Timer timer : timers) {
+            timer.record(this::work);
+        }
+    }
+
+    private void work() {
+    }
+
+}
@@ -0,0 +1,90 @@
+/*
+ * Copyright 2024 VMware, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micrometer.benchmark.core;
+
+import io.micrometer.core.instrument.Clock;
+import io.micrometer.core.instrument.distribution.DistributionStatisticConfig;
+import io.micrometer.core.instrument.distribution.Histogram;
+import io.micrometer.core.instrument.distribution.StepBucketHistogram;
+import io.micrometer.core.instrument.distribution.TimeWindowFixedBoundaryHistogram;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares recording into plain and striped fixed boundary histograms with an increasing
+ * number of recording threads.
+ */
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class FixedBoundaryHistogramBenchmark {
+
+    public static void main(String[] args) throws RunnerException {
+        for (int threads : new int[] { 1, 4, 16, 64 }) {
+            Options opt = new OptionsBuilder().include(FixedBoundaryHistogramBenchmark.class.getSimpleName())
+                .threads(threads)
+                .build();
+
+            new Runner(opt).run();
+        }
+    }
+
+    @Param({ "false", "true" })
+    boolean striped;
+
+    @Param({ "timeWindow", "step" })
+    String histogramType;
+
+    Histogram histogram;
+
+    @Setup
+    public void setup() {
+        DistributionStatisticConfig config = DistributionStatisticConfig.builder()
+            .percentilesHistogram(true)
+            .minimumExpectedValue((double) Duration.ofMillis(1).toNanos())
+            .maximumExpectedValue((double) Duration.ofSeconds(30).toNanos())
+            .build()
+            .merge(DistributionStatisticConfig.DEFAULT);
+        if ("step".equals(histogramType)) {
+            histogram = new StepBucketHistogram(Clock.SYSTEM, Duration.ofMinutes(1).toMillis(), config, true, false,
+                    striped);
+        }
+        else {
+            histogram = new TimeWindowFixedBoundaryHistogram(Clock.SYSTEM, config, true, true, striped);
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        histogram.close();
+    }
+
+    @Benchmark
+    public void record() {
+        histogram.recordLong(ThreadLocalRandom.current().nextLong(1_000_000, 1_000_000_000));
+    }
+
+}
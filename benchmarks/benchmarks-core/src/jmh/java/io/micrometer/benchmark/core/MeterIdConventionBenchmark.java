@@ -0,0 +1,101 @@
+/*
+ * Copyright 2024 VMware, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micrometer.benchmark.core;
+
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.config.NamingConvention;
+import io.micrometer.datadog.DatadogNamingConvention;
+import io.micrometer.influx.InfluxNamingConvention;
+import io.micrometer.prometheusmetrics.PrometheusNamingConvention;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Converts the names and tags of all meter ids with a naming convention, like a registry
+ * does on every publish. The uncached variant applies the naming convention directly
+ * every time, as {@link Meter.Id} used to.
+ */
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class MeterIdConventionBenchmark {
+
+    public static void main(String[] args) throws RunnerException {
+        Options opt = new OptionsBuilder().include(MeterIdConventionBenchmark.class.getSimpleName()).build();
+        new Runner(opt).run();
+    }
+
+    @Param({ "datadog", "influx", "prometheus" })
+    String convention;
+
+    @Param({ "10000" })
+    int meterCount;
+
+    NamingConvention namingConvention;
+
+    Meter.Id[] ids;
+
+    @Setup
+    public void setup() {
+        switch (convention) {
+            case "datadog":
+                namingConvention = new DatadogNamingConvention();
+                break;
+            case "influx":
+                namingConvention = new InfluxNamingConvention();
+                break;
+            default:
+                namingConvention = new PrometheusNamingConvention();
+        }
+        ids = new Meter.Id[meterCount];
+        for (int i = 0; i < meterCount; i++) {
+            ids[i] = new Meter.Id("http.server.requests", Tags.of("application", "benchmark", "method", "GET",
+                    "outcome", "SUCCESS", "status", "200", "uri", "/api/resource/" + i), "seconds", null,
+                    Meter.Type.TIMER);
+        }
+    }
+
+    @Benchmark
+    public void conventionNameAndTags(Blackhole blackhole) {
+        for (Meter.Id id : ids) {
+            blackhole.consume(id.getConventionName(namingConvention));
+            blackhole.consume(id.getConventionTags(namingConvention));
+        }
+    }
+
+    @Benchmark
+    public void conventionNameAndTagsUncached(Blackhole blackhole) {
+        for (Meter.Id id : ids) {
+            blackhole.consume(namingConvention.name(id.getName(), id.getType(), id.getBaseUnit()));
+            for (Tag tag : id.getTagsAsIterable()) {
+                blackhole.consume(
+                        Tag.of(namingConvention.tagKey(tag.getKey()), namingConvention.tagValue(tag.getValue())));
+            }
+        }
+    }
+
+}
@@ -86,4 +86,48 @@ public class MeterRegistrationBenchmark {
         return counterMeterProvider.withTag("k1", "v1");
     }
 
+    @Benchmark
+    @Threads(Threads.MAX)
+    public Meter registerExistingContended() {
+        return registry.counter("jmh.existing", "k1", "v1");
+    }
+
+    @Benchmark
+    @Group("registerExistingWhileChurning")
+    @GroupThreads(3)
+    public Meter registerExistingWhileChurning() {
+        return registry.counter("jmh.existing", "k1", "v1");
+    }
+
+    @Benchmark
+    @Group("registerExistingWhileChurning")
+    @GroupThreads(1)
+    public Meter churnMeters() {
+        return registry.remove(registry.counter("jmh.churn", "k1", "v1"));
+    }
+
+    @Benchmark
+    public Meter registerExistingWithManyTags(ManyTags manyTags) {
+        return registry.counter("jmh.existing.tagged", manyTags.keyValues);
+    }
+
+    @State(Scope.Benchmark)
+    public static class ManyTags {
+
+        @Param({ "5", "10", "20" })
+        int tagCount;
+
+        String[] keyValues;
+
+        @Setup
+        public void setup() {
+            keyValues = new String[tagCount * 2];
+            for (int i = 0; i < tagCount; i++) {
+                keyValues[i * 2] = "key" + i;
+                keyValues[i * 2 + 1] = "value" + i;
+            }
+        }
+
+    }
+
 }
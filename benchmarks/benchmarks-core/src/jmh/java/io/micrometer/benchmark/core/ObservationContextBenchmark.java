@@ -0,0 +1,90 @@
+/*
+ * Copyright 2022 VMware, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micrometer.benchmark.core;
+
+import io.micrometer.common.KeyValue;
+import io.micrometer.common.KeyValues;
+import io.micrometer.core.instrument.observation.DefaultMeterObservationHandler;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the allocations of {@link Observation.Context} on its own and over the
+ * lifecycle of an observation. Run it with the GC profiler and compare
+ * {@code gc.alloc.rate.norm}.
+ */
+@Fork(1)
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class ObservationContextBenchmark {
+
+    private static final KeyValue LOW_CARDINALITY_KEY_VALUE = KeyValue.of("abc", "123");
+
+    private static final KeyValue HIGH_CARDINALITY_KEY_VALUE = KeyValue.of("id", "42");
+
+    ObservationRegistry observationRegistry;
+
+    @Setup
+    public void setup() {
+        this.observationRegistry = ObservationRegistry.create();
+        this.observationRegistry.observationConfig()
+            .observationHandler(new DefaultMeterObservationHandler(new SimpleMeterRegistry()));
+    }
+
+    @Benchmark
+    public Observation.Context emptyContext() {
+        return new Observation.Context();
+    }
+
+    @Benchmark
+    public KeyValues contextWithKeyValues() {
+        Observation.Context context = new Observation.Context();
+        context.addLowCardinalityKeyValue(LOW_CARDINALITY_KEY_VALUE);
+        context.addHighCardinalityKeyValue(HIGH_CARDINALITY_KEY_VALUE);
+        // handlers and conventions read the key values several times
+        context.getLowCardinalityKeyValues();
+        context.getLowCardinalityKeyValues();
+        return context.getAllKeyValues();
+    }
+
+    @Benchmark
+    public Observation observation() {
+        Observation observation = Observation.createNotStarted("test.obs", observationRegistry)
+            .lowCardinalityKeyValue(LOW_CARDINALITY_KEY_VALUE)
+            .start();
+        observation.stop();
+
+        return observation;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(ObservationContextBenchmark.class.getSimpleName())
+            .addProfiler(GCProfiler.class)
+            .build()).run();
+    }
+
+}
@@ -0,0 +1,124 @@
+/*
+ * Copyright 2022 VMware, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micrometer.benchmark.core;
+
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the cost of opening and closing observation scopes, and the footprint they
+ * add to short-lived platform and virtual threads. Compare {@code gc.alloc.rate.norm} of
+ * {@link #threadPerTask} with and without a scope to see what the current scope costs
+ * per thread. Virtual threads need to run on Java 21 or later.
+ */
+@Fork(1)
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class ObservationScopeBenchmark {
+
+    ObservationRegistry observationRegistry;
+
+    Observation parent;
+
+    Observation child;
+
+    @Setup
+    public void setup() {
+        this.observationRegistry = ObservationRegistry.create();
+        this.observationRegistry.observationConfig().observationHandler(context -> true);
+        this.parent = Observation.start("parent", observationRegistry);
+        this.child = Observation.createNotStarted("child", observationRegistry).parentObservation(parent).start();
+    }
+
+    @TearDown
+    public void tearDown() {
+        child.stop();
+        parent.stop();
+    }
+
+    @Benchmark
+    public Observation scope() {
+        try (Observation.Scope scope = parent.openScope()) {
+            return observationRegistry.getCurrentObservation();
+        }
+    }
+
+    @Benchmark
+    public Observation nestedScopes() {
+        try (Observation.Scope parentScope = parent.openScope()) {
+            try (Observation.Scope childScope = child.openScope()) {
+                return observationRegistry.getCurrentObservation();
+            }
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class ThreadPerTask {
+
+        @Param({ "platform", "virtual" })
+        String threads;
+
+        @Param({ "false", "true" })
+        boolean openScope;
+
+        ThreadFactory threadFactory;
+
+        @Setup
+        public void setup() throws Exception {
+            this.threadFactory = "virtual".equals(threads) ? virtualThreadFactory() : Thread::new;
+        }
+
+        private static ThreadFactory virtualThreadFactory() throws Exception {
+            // looked up reflectively so that the benchmarks still compile with JDKs
+            // older than 21
+            Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+            return (ThreadFactory) Class.forName("java.lang.Thread$Builder").getMethod("factory").invoke(builder);
+        }
+
+    }
+
+    @Benchmark
+    public Thread threadPerTask(ThreadPerTask threadPerTask) throws InterruptedException {
+        Thread thread = threadPerTask.threadFactory.newThread(() -> {
+            if (threadPerTask.openScope) {
+                try (Observation.Scope scope = parent.openScope()) {
+                    observationRegistry.getCurrentObservation();
+                }
+            }
+        });
+        thread.start();
+        thread.join();
+        return thread;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(ObservationScopeBenchmark.class.getSimpleName())
+            .addProfiler(GCProfiler.class)
+            .build()).run();
+    }
+
+}
@@ -43,6 +43,52 @@ public class TagsBenchmark {
         Tags.of("key", "value").and("key2", "value2", "key3", "value3", "key4", "value4", "key5", "value5");
     }
 
+    @Threads(16)
+    @Benchmark
+    public Tags ofManyTags(ManyTags manyTags) {
+        return Tags.of(manyTags.keyValues);
+    }
+
+    @Threads(16)
+    @Benchmark
+    public Tags dotAndManyTags(ManyTags manyTags) {
+        return manyTags.tags.and("key0", "other", "extra", "value");
+    }
+
+    @Threads(16)
+    @Benchmark
+    public boolean equalsManyTags(ManyTags manyTags) {
+        return manyTags.tags.equals(manyTags.equalTags);
+    }
+
+    @State(Scope.Benchmark)
+    public static class ManyTags {
+
+        @Param({ "5", "10", "20" })
+        int tagCount;
+
+        String[] keyValues;
+
+        Tags tags;
+
+        // equal to tags, but a distinct instance
+        Tags equalTags;
+
+        @Setup
+        public void setup() {
+            keyValues = new String[tagCount * 2];
+            for (int i = 0; i < tagCount; i++) {
+                keyValues[i * 2] = "key" + i;
+                keyValues[i * 2 + 1] = "value" + i;
+            }
+            tags = Tags.of(keyValues);
+            equalTags = Tags.of(keyValues);
+            tags.hashCode();
+            equalTags.hashCode();
+        }
+
+    }
+
     public static void main(String[] args) throws RunnerException {
         Options opt = new OptionsBuilder().include(TagsBenchmark.class.getSimpleName()).build();
         new Runner(opt).run();
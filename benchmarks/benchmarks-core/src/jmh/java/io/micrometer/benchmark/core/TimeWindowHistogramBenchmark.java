@@ -0,0 +1,101 @@
+/*
+ * Copyright 2024 VMware, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micrometer.benchmark.core;
+
+import io.micrometer.core.instrument.Clock;
+import io.micrometer.core.instrument.distribution.DistributionStatisticConfig;
+import io.micrometer.core.instrument.distribution.Histogram;
+import io.micrometer.core.instrument.distribution.HistogramSnapshot;
+import io.micrometer.core.instrument.distribution.TimeWindowFixedBoundaryHistogram;
+import io.micrometer.core.instrument.distribution.TimeWindowPercentileHistogram;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares recording into every bucket of the ring buffer with recording into the current
+ * bucket only, for different buffer lengths.
+ */
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class TimeWindowHistogramBenchmark {
+
+    public static void main(String[] args) throws RunnerException {
+        Options opt = new OptionsBuilder().include(TimeWindowHistogramBenchmark.class.getSimpleName()).build();
+
+        new Runner(opt).run();
+    }
+
+    @Param({ "1", "3", "10", "30" })
+    int bufferLength;
+
+    @Param({ "false", "true" })
+    boolean singleWrite;
+
+    @Param({ "percentile", "fixedBoundary" })
+    String histogramType;
+
+    Histogram histogram;
+
+    @Setup
+    public void setup() {
+        DistributionStatisticConfig config = DistributionStatisticConfig.builder()
+            .percentilesHistogram(true)
+            .percentiles(0.5, 0.99)
+            .minimumExpectedValue((double) Duration.ofMillis(1).toNanos())
+            .maximumExpectedValue((double) Duration.ofSeconds(30).toNanos())
+            .expiry(Duration.ofMinutes(2))
+            .bufferLength(bufferLength)
+            .build()
+            .merge(DistributionStatisticConfig.DEFAULT);
+        if ("percentile".equals(histogramType)) {
+            histogram = new TimeWindowPercentileHistogram(Clock.SYSTEM, config, true, singleWrite);
+        }
+        else {
+            histogram = new TimeWindowFixedBoundaryHistogram(Clock.SYSTEM, config, true, true, false, singleWrite);
+        }
+        for (int i = 0; i < 10_000; i++) {
+            record();
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        histogram.close();
+    }
+
+    @Benchmark
+    public void record() {
+        histogram.recordLong(ThreadLocalRandom.current().nextLong(1_000_000, 1_000_000_000));
+    }
+
+    @Benchmark
+    public HistogramSnapshot recordAndTakeSnapshot() {
+        record();
+        return histogram.takeSnapshot(0, 0, 0);
+    }
+
+}
@@ -0,0 +1,76 @@
+/*
+ * Copyright 2024 VMware, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micrometer.benchmark.core;
+
+import io.micrometer.core.instrument.Clock;
+import io.micrometer.core.instrument.distribution.TimeWindowMax;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the time window max with a single stripe and with several, recorded to by one
+ * thread and by as many threads as there are processors. Every thread records increasing
+ * values, so that most recordings are new maximums.
+ */
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class TimeWindowMaxBenchmark {
+
+    public static void main(String[] args) throws RunnerException {
+        Options opt = new OptionsBuilder().include(TimeWindowMaxBenchmark.class.getSimpleName()).build();
+
+        new Runner(opt).run();
+    }
+
+    @Param({ "1", "4", "16" })
+    int stripes;
+
+    TimeWindowMax max;
+
+    @Setup
+    public void setup() {
+        max = new TimeWindowMax(Clock.SYSTEM, 1_000, 3, stripes);
+    }
+
+    @Benchmark
+    @Threads(1)
+    public void record(Sample sample) {
+        max.record(sample.value++, TimeUnit.NANOSECONDS);
+    }
+
+    @Benchmark
+    @Threads(Threads.MAX)
+    public void recordContended(Sample sample) {
+        max.record(sample.value++, TimeUnit.NANOSECONDS);
+    }
+
+    @State(Scope.Thread)
+    public static class Sample {
+
+        long value;
+
+    }
+
+}
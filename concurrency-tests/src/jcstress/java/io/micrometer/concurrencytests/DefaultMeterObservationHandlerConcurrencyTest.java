@@ -0,0 +1,71 @@
+/*
+ * Copyright 2024 VMware, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micrometer.concurrencytests;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.observation.DefaultMeterObservationHandler;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.micrometer.observation.Observation;
+import org.openjdk.jcstress.annotations.*;
+import org.openjdk.jcstress.infra.results.I_Result;
+
+public class DefaultMeterObservationHandlerConcurrencyTest {
+
+    /*
+     * Removing a meter while the handler registers and caches it must not leave the
+     * removed meter in the cache, otherwise later recordings would go to a meter that is
+     * no longer published.
+     */
+    @JCStressTest
+    @Outcome(id = { "2" }, expect = Expect.ACCEPTABLE, desc = "meter removed before it was registered")
+    @Outcome(id = { "1" }, expect = Expect.ACCEPTABLE, desc = "first recording went to the removed meter")
+    @Outcome(expect = Expect.FORBIDDEN)
+    @State
+    public static class RemoveWhileCaching {
+
+        MeterRegistry registry = new SimpleMeterRegistry();
+
+        DefaultMeterObservationHandler handler = new DefaultMeterObservationHandler(registry);
+
+        Observation.Context context = new Observation.Context();
+
+        Observation.Event event = Observation.Event.of("event");
+
+        public RemoveWhileCaching() {
+            context.setName("observation");
+        }
+
+        @Actor
+        public void actor1() {
+            handler.onEvent(event, context);
+        }
+
+        @Actor
+        public void actor2() {
+            registry.clear();
+        }
+
+        @Arbiter
+        public void arbiter(I_Result r) {
+            handler.onEvent(event, context);
+            Counter counter = registry.find("observation.event").counter();
+            r.r1 = counter == null ? 0 : (int) counter.count();
+        }
+
+    }
+
+}
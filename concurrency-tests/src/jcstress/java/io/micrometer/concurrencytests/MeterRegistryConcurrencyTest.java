@@ -20,6 +20,8 @@ import io.micrometer.core.instrument.MeterRegistry;
 import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.openjdk.jcstress.annotations.*;
 import org.openjdk.jcstress.infra.results.LL_Result;
+import org.openjdk.jcstress.infra.results.ZI_Result;
+import org.openjdk.jcstress.infra.results.ZZ_Result;
 import org.openjdk.jcstress.infra.results.Z_Result;
 
 public class MeterRegistryConcurrencyTest {
@@ -92,6 +94,85 @@ public class MeterRegistryConcurrencyTest {
 
     }
 
+    /*
+     * Looking up an existing Meter while another Meter is registered should always find
+     * the existing Meter without creating a new one.
+     */
+    @JCStressTest
+    @Outcome(id = { "true, 2" }, expect = Expect.ACCEPTABLE,
+            desc = "existing meter returned and new meter registered")
+    @Outcome(expect = Expect.FORBIDDEN)
+    @State
+    public static class ConcurrentRegisterExistingWhileRegisteringNew {
+
+        MeterRegistry registry = new SimpleMeterRegistry();
+
+        Counter existing;
+
+        Counter c1;
+
+        public ConcurrentRegisterExistingWhileRegisteringNew() {
+            existing = registry.counter("counter");
+        }
+
+        @Actor
+        public void actor1() {
+            c1 = registry.counter("counter");
+        }
+
+        @Actor
+        public void actor2() {
+            registry.counter("another");
+        }
+
+        @Arbiter
+        public void arbiter(ZI_Result r) {
+            r.r1 = c1 == existing;
+            r.r2 = registry.getMeters().size();
+        }
+
+    }
+
+    /*
+     * Registering an existing Meter while it is being removed may return either the
+     * removed Meter or a newly registered one, but never a Meter that is neither the
+     * removed one nor registered afterwards.
+     */
+    @JCStressTest
+    @Outcome(id = { "true, false" }, expect = Expect.ACCEPTABLE, desc = "removed meter returned before removal")
+    @Outcome(id = { "false, true" }, expect = Expect.ACCEPTABLE, desc = "newly registered meter returned")
+    @Outcome(expect = Expect.FORBIDDEN)
+    @State
+    public static class ConcurrentRegisterExistingWhileRemoving {
+
+        MeterRegistry registry = new SimpleMeterRegistry();
+
+        Counter existing;
+
+        Counter c1;
+
+        public ConcurrentRegisterExistingWhileRemoving() {
+            existing = registry.counter("counter");
+        }
+
+        @Actor
+        public void actor1() {
+            c1 = registry.counter("counter");
+        }
+
+        @Actor
+        public void actor2() {
+            registry.remove(existing);
+        }
+
+        @Arbiter
+        public void arbiter(ZZ_Result r) {
+            r.r1 = c1 == existing;
+            r.r2 = registry.getMeters().contains(c1);
+        }
+
+    }
+
     // @formatter:off
     /*
       When configuring a MeterFilter after a Meter has already been registered, existing meters will be marked stale.
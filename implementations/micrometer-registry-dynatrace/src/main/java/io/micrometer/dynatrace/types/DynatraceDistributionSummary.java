@@ -20,6 +20,7 @@ import io.micrometer.core.instrument.Clock;
 import io.micrometer.core.instrument.DistributionSummary;
 import io.micrometer.core.instrument.distribution.DistributionStatisticConfig;
 import io.micrometer.core.instrument.distribution.HistogramSnapshot;
+import io.micrometer.core.instrument.distribution.HistogramSnapshotBuffer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -146,4 +147,9 @@ public final class DynatraceDistributionSummary extends AbstractDistributionSumm
         return HistogramSnapshot.empty(dtSnapshot.getCount(), dtSnapshot.getTotal(), dtSnapshot.getMax());
     }
 
+    @Override
+    public void takeSnapshot(HistogramSnapshotBuffer buffer) {
+        buffer.set(takeSnapshot());
+    }
+
 }
@@ -20,6 +20,7 @@ import io.micrometer.core.instrument.Clock;
 import io.micrometer.core.instrument.Timer;
 import io.micrometer.core.instrument.distribution.DistributionStatisticConfig;
 import io.micrometer.core.instrument.distribution.HistogramSnapshot;
+import io.micrometer.core.instrument.distribution.HistogramSnapshotBuffer;
 import io.micrometer.core.instrument.distribution.pause.PauseDetector;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -154,4 +155,9 @@ public final class DynatraceTimer extends AbstractTimer implements DynatraceSumm
         return HistogramSnapshot.empty(dtSnapshot.getCount(), dtSnapshot.getTotal(), dtSnapshot.getMax());
     }
 
+    @Override
+    public void takeSnapshot(HistogramSnapshotBuffer buffer) {
+        buffer.set(takeSnapshot());
+    }
+
 }
@@ -20,7 +20,6 @@ import io.micrometer.common.util.StringUtils;
 import io.micrometer.core.instrument.*;
 import io.micrometer.core.instrument.distribution.HistogramSnapshot;
 import io.micrometer.core.instrument.step.StepMeterRegistry;
-import io.micrometer.core.instrument.util.MeterPartition;
 import io.micrometer.core.instrument.util.NamedThreadFactory;
 import io.micrometer.core.ipc.http.HttpSender;
 import io.micrometer.core.ipc.http.HttpUrlConnectionSender;
@@ -117,7 +116,7 @@ public class ElasticMeterRegistry extends StepMeterRegistry {
         createIndexTemplateIfNeeded();
 
         String uri = config.host() + "/" + indexName() + "/_bulk";
-        for (List<Meter> batch : MeterPartition.partition(this, config.batchSize())) {
+        publishBatches(batch -> {
             try {
                 String requestBody = batch.stream()
                     .map(m -> m.match(this::writeGauge, this::writeCounter, this::writeTimer, this::writeSummary,
@@ -146,7 +145,7 @@ public class ElasticMeterRegistry extends StepMeterRegistry {
             catch (Throwable e) {
                 logger.error("failed to send metrics to elastic", e);
             }
-        }
+        });
     }
 
     private void createIndexTemplateIfNeeded() {
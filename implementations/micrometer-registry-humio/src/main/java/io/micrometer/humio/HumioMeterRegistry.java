@@ -21,7 +21,6 @@ import io.micrometer.core.instrument.*;
 import io.micrometer.core.instrument.distribution.HistogramSnapshot;
 import io.micrometer.core.instrument.step.StepMeterRegistry;
 import io.micrometer.core.instrument.util.DoubleFormat;
-import io.micrometer.core.instrument.util.MeterPartition;
 import io.micrometer.core.instrument.util.NamedThreadFactory;
 import io.micrometer.core.ipc.http.HttpSender;
 import io.micrometer.core.ipc.http.HttpUrlConnectionSender;
@@ -84,7 +83,7 @@ public class HumioMeterRegistry extends StepMeterRegistry {
 
     @Override
     protected void publish() {
-        for (List<Meter> meters : MeterPartition.partition(this, config.batchSize())) {
+        publishBatches(meters -> {
             try {
                 HttpSender.Request.Builder post = httpClient.post(config.uri() + "/api/v1/ingest/humio-structured");
                 String token = config.apiToken();
@@ -124,7 +123,7 @@ public class HumioMeterRegistry extends StepMeterRegistry {
             catch (Throwable e) {
                 logger.warn("failed to send metrics to humio", e);
             }
-        }
+        });
     }
 
     @Override
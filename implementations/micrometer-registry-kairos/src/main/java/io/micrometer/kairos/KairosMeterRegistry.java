@@ -18,7 +18,6 @@ package io.micrometer.kairos;
 import io.micrometer.core.instrument.*;
 import io.micrometer.core.instrument.step.StepMeterRegistry;
 import io.micrometer.core.instrument.util.DoubleFormat;
-import io.micrometer.core.instrument.util.MeterPartition;
 import io.micrometer.core.instrument.util.NamedThreadFactory;
 import io.micrometer.core.ipc.http.HttpSender;
 import io.micrometer.core.ipc.http.HttpUrlConnectionSender;
@@ -76,7 +75,7 @@ public class KairosMeterRegistry extends StepMeterRegistry {
 
     @Override
     protected void publish() {
-        for (List<Meter> batch : MeterPartition.partition(this, config.batchSize())) {
+        publishBatches(batch -> {
             try {
                 // @formatter:off
                 httpClient.post(config.uri())
@@ -101,7 +100,7 @@ public class KairosMeterRegistry extends StepMeterRegistry {
             catch (Throwable t) {
                 logger.warn("failed to send metrics to kairos", t);
             }
-        }
+        });
     }
 
     Stream<String> writeSummary(DistributionSummary summary) {
@@ -128,4 +128,9 @@ public class OpenTSDBDistributionSummary extends AbstractDistributionSummary {
                 histogramCounts(), snapshot::outputSummary);
     }
 
+    @Override
+    public void takeSnapshot(HistogramSnapshotBuffer buffer) {
+        buffer.set(takeSnapshot());
+    }
+
 }
@@ -30,7 +30,6 @@ import io.micrometer.core.instrument.internal.DefaultGauge;
 import io.micrometer.core.instrument.internal.DefaultMeter;
 import io.micrometer.core.instrument.push.PushMeterRegistry;
 import io.micrometer.core.instrument.util.DoubleFormat;
-import io.micrometer.core.instrument.util.MeterPartition;
 import io.micrometer.core.instrument.util.NamedThreadFactory;
 import io.micrometer.core.ipc.http.HttpSender;
 import io.micrometer.core.ipc.http.HttpUrlConnectionSender;
@@ -163,7 +162,7 @@ public class OpenTSDBMeterRegistry extends PushMeterRegistry {
 
     @Override
     protected void publish() {
-        for (List<Meter> batch : MeterPartition.partition(this, config.batchSize())) {
+        publishBatches(batch -> {
             try {
                 httpClient.post(config.uri())
                     .withBasicAuthentication(config.userName(), config.password())
@@ -180,7 +179,7 @@ public class OpenTSDBMeterRegistry extends PushMeterRegistry {
             catch (Throwable t) {
                 logger.warn("failed to send metrics to opentsdb", t);
             }
-        }
+        });
     }
 
     Stream<String> writeSummary(DistributionSummary summary) {
@@ -132,4 +132,9 @@ public class OpenTSDBTimer extends AbstractTimer {
                 histogramCounts(), snapshot::outputSummary);
     }
 
+    @Override
+    public void takeSnapshot(HistogramSnapshotBuffer buffer) {
+        buffer.set(takeSnapshot());
+    }
+
 }
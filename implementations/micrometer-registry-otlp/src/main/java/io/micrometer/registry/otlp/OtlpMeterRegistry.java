@@ -33,7 +33,6 @@ import io.micrometer.core.instrument.step.StepCounter;
 import io.micrometer.core.instrument.step.StepFunctionCounter;
 import io.micrometer.core.instrument.step.StepFunctionTimer;
 import io.micrometer.core.instrument.step.StepMeterRegistry;
-import io.micrometer.core.instrument.util.MeterPartition;
 import io.micrometer.core.instrument.util.NamedThreadFactory;
 import io.micrometer.core.instrument.util.TimeUtils;
 import io.micrometer.core.ipc.http.HttpSender;
@@ -157,7 +156,7 @@ public class OtlpMeterRegistry extends PushMeterRegistry {
 
     @Override
     protected void publish() {
-        for (List<Meter> batch : MeterPartition.partition(this, config.batchSize())) {
+        publishBatches(batch -> {
             OtlpMetricConverter otlpMetricConverter = new OtlpMetricConverter(clock, config.step(), getBaseTimeUnit(),
                     config.aggregationTemporality(), config().namingConvention());
             otlpMetricConverter.addMeters(batch);
@@ -188,7 +187,7 @@ public class OtlpMeterRegistry extends PushMeterRegistry {
                 logger.warn(String.format("Failed to publish metrics to OTLP receiver (context: %s)",
                         getConfigurationContext()), e);
             }
-        }
+        });
     }
 
     /**
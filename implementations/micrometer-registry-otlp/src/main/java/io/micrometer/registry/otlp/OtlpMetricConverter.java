@@ -19,10 +19,8 @@ import io.micrometer.common.lang.Nullable;
 import io.micrometer.core.instrument.Gauge;
 import io.micrometer.core.instrument.*;
 import io.micrometer.core.instrument.config.NamingConvention;
-import io.micrometer.core.instrument.distribution.CountAtBucket;
-import io.micrometer.core.instrument.distribution.HistogramSnapshot;
+import io.micrometer.core.instrument.distribution.HistogramSnapshotBuffer;
 import io.micrometer.core.instrument.distribution.HistogramSupport;
-import io.micrometer.core.instrument.distribution.ValueAtPercentile;
 import io.micrometer.core.instrument.util.TimeUtils;
 import io.micrometer.registry.otlp.internal.ExponentialHistogramSnapShot;
 import io.opentelemetry.proto.common.v1.AnyValue;
@@ -57,6 +55,8 @@ class OtlpMetricConverter {
 
     private final long deltaTimeUnixNano;
 
+    private final HistogramSnapshotBuffer histogramSnapshot = new HistogramSnapshotBuffer();
+
     OtlpMetricConverter(Clock clock, Duration step, TimeUnit baseTimeUnit,
             AggregationTemporality aggregationTemporality, NamingConvention namingConvention) {
         this.clock = clock;
@@ -118,7 +118,7 @@ class OtlpMetricConverter {
     private void writeHistogramSupport(HistogramSupport histogramSupport) {
         Meter.Id id = histogramSupport.getId();
         boolean isTimeBased = isTimeBasedMeter(id);
-        HistogramSnapshot histogramSnapshot = histogramSupport.takeSnapshot();
+        histogramSupport.takeSnapshot(histogramSnapshot);
 
         Iterable<KeyValue> tags = getKeyValuesForId(id);
         long startTimeNanos = getStartTimeNanos(histogramSupport);
@@ -127,8 +127,8 @@ class OtlpMetricConverter {
         long count = histogramSnapshot.count();
 
         // if percentiles configured, use summary
-        if (histogramSnapshot.percentileValues().length != 0) {
-            buildSummaryDataPoint(histogramSupport, tags, startTimeNanos, total, count, isTimeBased, histogramSnapshot);
+        if (histogramSnapshot.percentileCount() != 0) {
+            buildSummaryDataPoint(histogramSupport, tags, startTimeNanos, total, count, isTimeBased);
             return;
         }
 
@@ -139,8 +139,7 @@ class OtlpMetricConverter {
                     exponentialHistogramSnapShot.get());
         }
         else {
-            buildHistogramDataPoint(histogramSupport, tags, startTimeNanos, total, max, count, isTimeBased,
-                    histogramSnapshot);
+            buildHistogramDataPoint(histogramSupport, tags, startTimeNanos, total, max, count, isTimeBased);
         }
 
     }
@@ -171,8 +170,7 @@ class OtlpMetricConverter {
     }
 
     private void buildHistogramDataPoint(HistogramSupport histogramSupport, Iterable<KeyValue> tags,
-            long startTimeNanos, double total, double max, long count, boolean isTimeBased,
-            HistogramSnapshot histogramSnapshot) {
+            long startTimeNanos, double total, double max, long count, boolean isTimeBased) {
         Metric.Builder metricBuilder = getOrCreateMetricBuilder(histogramSupport.getId(), DataCase.HISTOGRAM);
         HistogramDataPoint.Builder histogramDataPoint = HistogramDataPoint.newBuilder()
             .addAllAttributes(tags)
@@ -186,16 +184,17 @@ class OtlpMetricConverter {
         }
 
         // if histogram enabled, add histogram buckets
-        for (CountAtBucket countAtBucket : histogramSnapshot.histogramCounts()) {
-            if (countAtBucket.bucket() != Double.POSITIVE_INFINITY) {
+        for (int i = 0; i < histogramSnapshot.bucketCount(); i++) {
+            double bucket = histogramSnapshot.bucket(i);
+            if (bucket != Double.POSITIVE_INFINITY) {
                 // OTLP expects explicit bounds to not contain POSITIVE_INFINITY but
                 // there should be a
                 // bucket count representing values between last bucket and
                 // POSITIVE_INFINITY.
                 histogramDataPoint
-                    .addExplicitBounds(isTimeBased ? countAtBucket.bucket(baseTimeUnit) : countAtBucket.bucket());
+                    .addExplicitBounds(isTimeBased ? histogramSnapshot.bucket(i, baseTimeUnit) : bucket);
             }
-            histogramDataPoint.addBucketCounts((long) countAtBucket.count());
+            histogramDataPoint.addBucketCounts((long) histogramSnapshot.countAtBucket(i));
         }
 
         setHistogramDataPoint(metricBuilder, histogramDataPoint.build());
@@ -233,7 +232,7 @@ class OtlpMetricConverter {
     }
 
     private void buildSummaryDataPoint(HistogramSupport histogramSupport, Iterable<KeyValue> tags, long startTimeNanos,
-            double total, long count, boolean isTimeBased, HistogramSnapshot histogramSnapshot) {
+            double total, long count, boolean isTimeBased) {
         Metric.Builder metricBuilder = getOrCreateMetricBuilder(histogramSupport.getId(), DataCase.SUMMARY);
         SummaryDataPoint.Builder summaryDataPoint = SummaryDataPoint.newBuilder()
             .addAllAttributes(tags)
@@ -241,10 +240,10 @@ class OtlpMetricConverter {
             .setTimeUnixNano(getTimeUnixNano())
             .setSum(total)
             .setCount(count);
-        for (ValueAtPercentile percentile : histogramSnapshot.percentileValues()) {
-            double value = percentile.value();
+        for (int i = 0; i < histogramSnapshot.percentileCount(); i++) {
+            double value = histogramSnapshot.percentileValue(i);
             summaryDataPoint.addQuantileValues(SummaryDataPoint.ValueAtQuantile.newBuilder()
-                .setQuantile(percentile.percentile())
+                .setQuantile(histogramSnapshot.percentile(i))
                 .setValue(isTimeBased ? TimeUtils.convert(value, TimeUnit.NANOSECONDS, baseTimeUnit) : value));
         }
 
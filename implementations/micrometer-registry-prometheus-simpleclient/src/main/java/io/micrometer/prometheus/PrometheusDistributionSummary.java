@@ -191,4 +191,9 @@ public class PrometheusDistributionSummary extends AbstractDistributionSummary {
                 histogramCounts(), snapshot::outputSummary);
     }
 
+    @Override
+    public void takeSnapshot(HistogramSnapshotBuffer buffer) {
+        buffer.set(takeSnapshot());
+    }
+
 }
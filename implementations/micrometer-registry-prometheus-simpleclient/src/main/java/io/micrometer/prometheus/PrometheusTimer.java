@@ -195,4 +195,9 @@ public class PrometheusTimer extends AbstractTimer {
                 histogramCounts(), snapshot::outputSummary);
     }
 
+    @Override
+    public void takeSnapshot(HistogramSnapshotBuffer buffer) {
+        buffer.set(takeSnapshot());
+    }
+
 }
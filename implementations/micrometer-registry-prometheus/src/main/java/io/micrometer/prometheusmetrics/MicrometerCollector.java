@@ -27,6 +27,7 @@ import io.prometheus.metrics.model.snapshots.MetricSnapshots;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Function;
+import java.util.function.BooleanSupplier;
 import java.util.stream.Stream;
 
 import static java.util.stream.Collectors.toList;
@@ -46,11 +47,22 @@ class MicrometerCollector implements MultiCollector {
 
     private final List<String> tagKeys;
 
+    private final BooleanSupplier excluded;
+
     // take name to avoid calling NamingConvention#name after the call-site has already
     // done it
     MicrometerCollector(String name, Meter.Id id, NamingConvention convention) {
+        this(name, id, convention, () -> false);
+    }
+
+    /**
+     * @param excluded whether the collector is currently excluded from collection, which
+     * then returns no metrics without collecting any
+     */
+    MicrometerCollector(String name, Meter.Id id, NamingConvention convention, BooleanSupplier excluded) {
         this.conventionName = name;
         this.tagKeys = id.getConventionTags(convention).stream().map(Tag::getKey).collect(toList());
+        this.excluded = excluded;
     }
 
     public void add(List<String> tagValues, Child child) {
@@ -71,6 +83,9 @@ class MicrometerCollector implements MultiCollector {
 
     @Override
     public MetricSnapshots collect() {
+        if (excluded.getAsBoolean()) {
+            return new MetricSnapshots(Collections.emptyList());
+        }
         Map<String, Family> families = new HashMap<>();
 
         for (Child child : children.values()) {
@@ -17,11 +17,13 @@ package io.micrometer.prometheusmetrics;
 
 import io.micrometer.common.lang.Nullable;
 import io.micrometer.core.instrument.config.MeterRegistryConfig;
+import io.micrometer.core.instrument.config.validate.InvalidReason;
 import io.micrometer.core.instrument.config.validate.Validated;
 
 import java.time.Duration;
 import java.util.Properties;
 
+import static io.micrometer.core.instrument.config.MeterRegistryConfigValidator.check;
 import static io.micrometer.core.instrument.config.MeterRegistryConfigValidator.checkAll;
 import static io.micrometer.core.instrument.config.MeterRegistryConfigValidator.checkRequired;
 import static io.micrometer.core.instrument.config.validate.PropertyValidator.*;
@@ -77,9 +79,38 @@ public interface PrometheusConfig extends MeterRegistryConfig {
         return properties;
     }
 
+    /**
+     * @return How long the body of a scrape is reused for subsequent scrapes with the
+     * same content type. While the body is being produced, concurrent scrapes wait for
+     * it instead of collecting metrics again. This caps the cost of scraping when many
+     * scrapers hit the endpoint, at the expense of serving values that are up to this
+     * old. Scrapes that filter metrics by name are never cached. The default is
+     * {@link Duration#ZERO}, which disables caching.
+     * @since 1.14.0
+     */
+    default Duration scrapeCacheTtl() {
+        return getDuration(this, "scrapeCacheTtl").orElse(Duration.ZERO);
+    }
+
+    /**
+     * @return Whether scrapes are written one metric name at a time. Metrics are then
+     * collected and serialized per name straight to the output, so the memory used by a
+     * scrape is proportional to the largest metric instead of the whole registry.
+     * Metrics are no longer sorted by name in the scrape body. Scrapes served from the
+     * {@link #scrapeCacheTtl() scrape cache} are never streamed. The default is
+     * {@code false}.
+     * @since 1.14.0
+     */
+    default boolean streamingScrape() {
+        return getBoolean(this, "streamingScrape").orElse(false);
+    }
+
     @Override
     default Validated<?> validate() {
-        return checkAll(this, checkRequired("step", PrometheusConfig::step));
+        return checkAll(this, checkRequired("step", PrometheusConfig::step),
+                check("scrapeCacheTtl", PrometheusConfig::scrapeCacheTtl)
+                    .andThen(v -> v.invalidateWhen(Duration::isNegative, "must not be negative",
+                            InvalidReason.MALFORMED)));
     }
 
 }
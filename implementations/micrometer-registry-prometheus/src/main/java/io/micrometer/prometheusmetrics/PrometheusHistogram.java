@@ -45,6 +45,8 @@ class PrometheusHistogram extends TimeWindowFixedBoundaryHistogram {
             // effectively never rolls over
             .expiry(Duration.ofDays(1825))
             .bufferLength(1)
+            // only bucket counts are taken from this histogram
+            .percentiles()
             .build()
             .merge(config), true);
 
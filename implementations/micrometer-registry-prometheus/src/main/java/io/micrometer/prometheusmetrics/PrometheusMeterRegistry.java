@@ -19,7 +19,6 @@ import io.micrometer.common.lang.Nullable;
 import io.micrometer.core.instrument.*;
 import io.micrometer.core.instrument.cumulative.CumulativeFunctionCounter;
 import io.micrometer.core.instrument.cumulative.CumulativeFunctionTimer;
-import io.micrometer.core.instrument.distribution.HistogramSnapshot;
 import io.micrometer.core.instrument.distribution.*;
 import io.micrometer.core.instrument.distribution.pause.PauseDetector;
 import io.micrometer.core.instrument.internal.DefaultGauge;
@@ -28,6 +27,7 @@ import io.micrometer.core.instrument.internal.DefaultMeter;
 import io.micrometer.core.instrument.util.TimeUtils;
 import io.prometheus.metrics.config.PrometheusProperties;
 import io.prometheus.metrics.config.PrometheusPropertiesLoader;
+import io.prometheus.metrics.expositionformats.ExpositionFormatWriter;
 import io.prometheus.metrics.expositionformats.ExpositionFormats;
 import io.prometheus.metrics.model.registry.PrometheusRegistry;
 import io.prometheus.metrics.model.snapshots.*;
@@ -41,16 +41,20 @@ import io.prometheus.metrics.tracer.common.SpanContext;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.*;
 import java.util.stream.Stream;
 import java.util.stream.StreamSupport;
+import java.util.zip.GZIPOutputStream;
 
 import static java.util.concurrent.TimeUnit.NANOSECONDS;
 import static java.util.concurrent.TimeUnit.SECONDS;
@@ -68,6 +72,14 @@ import static java.util.stream.StreamSupport.stream;
  */
 public class PrometheusMeterRegistry extends MeterRegistry {
 
+    /**
+     * Largest number of percentiles or buckets a snapshot buffer may have room for and
+     * still be kept for the next histogram.
+     */
+    private static final int MAX_RETAINED_HISTOGRAM_SNAPSHOT_CAPACITY = 512;
+
+    private static final byte[] OPENMETRICS_EOF = "# EOF\n".getBytes(StandardCharsets.UTF_8);
+
     private final PrometheusConfig prometheusConfig;
 
     private final PrometheusRegistry registry;
@@ -76,9 +88,24 @@ public class PrometheusMeterRegistry extends MeterRegistry {
 
     private final ConcurrentMap<String, MicrometerCollector> collectorMap = new ConcurrentHashMap<>();
 
+    // set on a thread scraping the collectors registered with the Prometheus registry by
+    // other means, so that the collectors of this registry skip collection
+    private final ThreadLocal<Boolean> scrapingOtherCollectors = new ThreadLocal<>();
+
     @Nullable
     private final ExemplarSamplerFactory exemplarSamplerFactory;
 
+    @Nullable
+    private final ScrapeCache scrapeCache;
+
+    /**
+     * Handed from one histogram of a scrape to the next to read their statistics without
+     * allocating an object per percentile or bucket. Concurrent scrapes that find it
+     * taken use a buffer of their own.
+     */
+    private final AtomicReference<HistogramSnapshotBuffer> histogramSnapshotBuffer = new AtomicReference<>(
+            new HistogramSnapshotBuffer());
+
     public PrometheusMeterRegistry(PrometheusConfig config) {
         this(config, new PrometheusRegistry(), Clock.SYSTEM);
     }
@@ -107,6 +134,8 @@ public class PrometheusMeterRegistry extends MeterRegistry {
         this.expositionFormats = ExpositionFormats.init(prometheusProperties.getExporterProperties());
         this.exemplarSamplerFactory = spanContext != null
                 ? new DefaultExemplarSamplerFactory(spanContext, prometheusProperties.getExemplarProperties()) : null;
+        this.scrapeCache = config.scrapeCacheTtl().isZero() ? null
+                : new ScrapeCache(clock, config.scrapeCacheTtl(), registry::scrape);
 
         config().namingConvention(new PrometheusNamingConvention());
         config().onMeterRemoved(this::onMeterRemoved);
@@ -160,7 +189,37 @@ public class PrometheusMeterRegistry extends MeterRegistry {
      * @see ExpositionFormats
      */
     public void scrape(OutputStream outputStream, String contentType) throws IOException {
-        scrape(outputStream, contentType, registry.scrape());
+        if (scrapeCache != null) {
+            outputStream.write(scrapeCache.scrape(expositionFormats.findWriter(contentType)));
+        }
+        else if (prometheusConfig.streamingScrape()) {
+            streamingScrape(outputStream, contentType, name -> true);
+        }
+        else {
+            scrape(outputStream, contentType, registry.scrape());
+        }
+    }
+
+    /**
+     * Write the metrics scrape body in a specific content type to the given output
+     * stream, optionally compressing it with gzip as it is written. The output stream is
+     * not closed.
+     * @param outputStream where to write the scrape body
+     * @param contentType the Content-Type of the scrape
+     * @param gzip whether to compress the scrape body with gzip
+     * @throws IOException if writing fails
+     * @see ExpositionFormats
+     * @since 1.14.0
+     */
+    public void scrape(OutputStream outputStream, String contentType, boolean gzip) throws IOException {
+        if (gzip) {
+            GZIPOutputStream gzipOutputStream = new GZIPOutputStream(outputStream, 8192);
+            scrape(gzipOutputStream, contentType);
+            gzipOutputStream.finish();
+        }
+        else {
+            scrape(outputStream, contentType);
+        }
     }
 
     private void scrape(OutputStream outputStream, String contentType, MetricSnapshots snapshots) throws IOException {
@@ -199,11 +258,62 @@ public class PrometheusMeterRegistry extends MeterRegistry {
      */
     public void scrape(OutputStream outputStream, String contentType, @Nullable Set<String> includedNames)
             throws IOException {
+        if (prometheusConfig.streamingScrape()) {
+            streamingScrape(outputStream, contentType, includedNames != null ? includedNames::contains : name -> true);
+            return;
+        }
         MetricSnapshots snapshots = includedNames != null ? registry.scrape(includedNames::contains)
                 : registry.scrape();
         scrape(outputStream, contentType, snapshots);
     }
 
+    /**
+     * Collect and write the metrics of one collector at a time, so that only the
+     * snapshots and serialized form of a single metric name are held in memory. The
+     * exposition format writers are called once per collector: this concatenates
+     * correctly for the text and protobuf formats, while OpenMetrics terminates every
+     * call with an EOF marker that has to be written only once, at the end. Metric names
+     * are checked for duplicates as they are collected, like {@link MetricSnapshots}
+     * does for a whole scrape, so a duplicate fails the scrape after the metrics
+     * collected before it have been written.
+     */
+    private void streamingScrape(OutputStream outputStream, String contentType, Predicate<String> includedNames)
+            throws IOException {
+        ExpositionFormatWriter writer = expositionFormats.findWriter(contentType);
+        boolean openMetrics = writer.getContentType().startsWith("application/openmetrics-text");
+        SnapshotsBuffer buffer = new SnapshotsBuffer();
+        Set<String> names = new HashSet<>();
+        for (MicrometerCollector collector : collectorMap.values()) {
+            MetricSnapshots snapshots = collector.collect(includedNames);
+            checkNoDuplicateNames(names, snapshots);
+            buffer.write(outputStream, writer, snapshots, openMetrics);
+        }
+        // collectors registered with the Prometheus registry by other means, the
+        // collectors of this registry have already been written
+        MetricSnapshots others;
+        scrapingOtherCollectors.set(Boolean.TRUE);
+        try {
+            others = registry.scrape(includedNames);
+        }
+        finally {
+            scrapingOtherCollectors.remove();
+        }
+        checkNoDuplicateNames(names, others);
+        buffer.write(outputStream, writer, others, openMetrics);
+        if (openMetrics) {
+            outputStream.write(OPENMETRICS_EOF);
+        }
+    }
+
+    private static void checkNoDuplicateNames(Set<String> names, MetricSnapshots snapshots) {
+        for (MetricSnapshot snapshot : snapshots) {
+            String name = snapshot.getMetadata().getPrometheusName();
+            if (!names.add(name)) {
+                throw new IllegalArgumentException(name + ": duplicate metric name");
+            }
+        }
+    }
+
     @Override
     public Counter newCounter(Meter.Id id) {
         PrometheusCounter counter = new PrometheusCounter(id, exemplarSamplerFactory);
@@ -229,20 +339,13 @@ public class PrometheusMeterRegistry extends MeterRegistry {
             collector.add(tagValues, (conventionName, tagKeys) -> {
                 Stream.Builder<MicrometerCollector.Family<?>> families = Stream.builder();
 
-                final ValueAtPercentile[] percentileValues = summary.takeSnapshot().percentileValues();
-                final CountAtBucket[] histogramCounts = summary.histogramCounts();
+                HistogramSnapshotBuffer snapshot = acquireHistogramSnapshotBuffer();
+                summary.takeSnapshot(snapshot);
                 long count = summary.count();
                 double sum = summary.totalAmount();
 
-                if (histogramCounts.length == 0) {
-                    Quantiles quantiles = Quantiles.EMPTY;
-                    if (percentileValues.length > 0) {
-                        List<Quantile> quantileList = new ArrayList<>();
-                        for (ValueAtPercentile v : percentileValues) {
-                            quantileList.add(new Quantile(v.percentile(), v.value()));
-                        }
-                        quantiles = Quantiles.of(quantileList);
-                    }
+                if (snapshot.bucketCount() == 0) {
+                    Quantiles quantiles = quantiles(snapshot, null);
 
                     Exemplars exemplars = summary.exemplars();
                     families.add(new MicrometerCollector.Family<>(conventionName,
@@ -251,35 +354,15 @@ public class PrometheusMeterRegistry extends MeterRegistry {
                                     quantiles, Labels.of(tagKeys, tagValues), exemplars, 0)));
                 }
                 else {
-                    List<Double> buckets = new ArrayList<>();
-                    List<Number> counts = new ArrayList<>();
-                    // TODO: remove this cumulative -> non cumulative conversion
-                    // ClassicHistogramBuckets is not cumulative but the
-                    // histograms we use are cumulative
-                    // so we convert it to non-cumulative just for the
-                    // Prometheus client library
-                    // can convert it back to cumulative.
-                    buckets.add(histogramCounts[0].bucket());
-                    counts.add(histogramCounts[0].count());
-                    for (int i = 1; i < histogramCounts.length; i++) {
-                        CountAtBucket countAtBucket = histogramCounts[i];
-                        buckets.add(countAtBucket.bucket());
-                        counts.add(countAtBucket.count() - histogramCounts[i - 1].count());
-                    }
-                    if (Double.isFinite(histogramCounts[histogramCounts.length - 1].bucket())) {
-                        // ClassicHistogramBuckets is not cumulative
-                        buckets.add(Double.POSITIVE_INFINITY);
-                        double infCount = count - histogramCounts[histogramCounts.length - 1].count();
-                        counts.add(infCount >= 0 ? infCount : 0);
-                    }
+                    ClassicHistogramBuckets buckets = classicHistogramBuckets(snapshot, count, null);
 
                     Exemplars exemplars = summary.exemplars();
                     families.add(new MicrometerCollector.Family<>(conventionName,
                             family -> new io.prometheus.metrics.model.snapshots.HistogramSnapshot(family.metadata,
                                     family.dataPointSnapshots),
                             getMetadata(conventionName, id.getDescription()),
-                            new HistogramDataPointSnapshot(ClassicHistogramBuckets.of(buckets, counts), sum,
-                                    Labels.of(tagKeys, tagValues), exemplars, 0)));
+                            new HistogramDataPointSnapshot(buckets, sum, Labels.of(tagKeys, tagValues), exemplars,
+                                    0)));
 
                     // TODO: Add support back for VictoriaMetrics
                     // Previously we had low-level control so a histogram was just
@@ -296,6 +379,7 @@ public class PrometheusMeterRegistry extends MeterRegistry {
                         getMetadata(conventionName + "_max", id.getDescription()),
                         new GaugeDataPointSnapshot(summary.max(), Labels.of(tagKeys, tagValues), null)));
 
+                releaseHistogramSnapshotBuffer(snapshot);
                 return families.build();
             });
         });
@@ -460,21 +544,13 @@ public class PrometheusMeterRegistry extends MeterRegistry {
         collector.add(tagValues, (conventionName, tagKeys) -> {
             Stream.Builder<MicrometerCollector.Family<?>> families = Stream.builder();
 
-            HistogramSnapshot histogramSnapshot = histogramSupport.takeSnapshot();
-            ValueAtPercentile[] percentileValues = histogramSnapshot.percentileValues();
-            CountAtBucket[] histogramCounts = histogramSnapshot.histogramCounts();
+            HistogramSnapshotBuffer histogramSnapshot = acquireHistogramSnapshotBuffer();
+            histogramSupport.takeSnapshot(histogramSnapshot);
             long count = histogramSnapshot.count();
             double sum = histogramSnapshot.total(getBaseTimeUnit());
 
-            if (histogramCounts.length == 0) {
-                Quantiles quantiles = Quantiles.EMPTY;
-                if (percentileValues.length > 0) {
-                    List<Quantile> quantileList = new ArrayList<>();
-                    for (ValueAtPercentile v : percentileValues) {
-                        quantileList.add(new Quantile(v.percentile(), v.value(getBaseTimeUnit())));
-                    }
-                    quantiles = Quantiles.of(quantileList);
-                }
+            if (histogramSnapshot.bucketCount() == 0) {
+                Quantiles quantiles = quantiles(histogramSnapshot, getBaseTimeUnit());
 
                 Exemplars exemplars = createExemplarsWithScaledValues(exemplarsSupplier.get());
                 families.add(new MicrometerCollector.Family<>(conventionName,
@@ -483,35 +559,15 @@ public class PrometheusMeterRegistry extends MeterRegistry {
                                 quantiles, Labels.of(tagKeys, tagValues), exemplars, 0)));
             }
             else {
-                List<Double> buckets = new ArrayList<>();
-                List<Number> counts = new ArrayList<>();
-                // TODO: remove this cumulative -> non cumulative conversion
-                // ClassicHistogramBuckets is not cumulative but the histograms we
-                // use are cumulative
-                // so we convert it to non-cumulative just for the Prometheus
-                // client library
-                // can convert it back to cumulative.
-                buckets.add(histogramCounts[0].bucket(getBaseTimeUnit()));
-                counts.add(histogramCounts[0].count());
-                for (int i = 1; i < histogramCounts.length; i++) {
-                    CountAtBucket countAtBucket = histogramCounts[i];
-                    buckets.add(countAtBucket.bucket(getBaseTimeUnit()));
-                    counts.add(countAtBucket.count() - histogramCounts[i - 1].count());
-                }
-                if (Double.isFinite(histogramCounts[histogramCounts.length - 1].bucket())) {
-                    // ClassicHistogramBuckets is not cumulative
-                    buckets.add(Double.POSITIVE_INFINITY);
-                    double infCount = count - histogramCounts[histogramCounts.length - 1].count();
-                    counts.add(infCount >= 0 ? infCount : 0);
-                }
+                ClassicHistogramBuckets buckets = classicHistogramBuckets(histogramSnapshot, count,
+                        getBaseTimeUnit());
 
                 Exemplars exemplars = createExemplarsWithScaledValues(exemplarsSupplier.get());
                 families.add(new MicrometerCollector.Family<>(conventionName,
                         family -> new io.prometheus.metrics.model.snapshots.HistogramSnapshot(forLongTaskTimer,
                                 family.metadata, family.dataPointSnapshots),
                         getMetadata(conventionName, id.getDescription()),
-                        new HistogramDataPointSnapshot(ClassicHistogramBuckets.of(buckets, counts), sum,
-                                Labels.of(tagKeys, tagValues), exemplars, 0)));
+                        new HistogramDataPointSnapshot(buckets, sum, Labels.of(tagKeys, tagValues), exemplars, 0)));
 
                 // TODO: Add support back for VictoriaMetrics
                 // Previously we had low-level control so a histogram was just
@@ -528,10 +584,78 @@ public class PrometheusMeterRegistry extends MeterRegistry {
                     getMetadata(conventionName + "_max", id.getDescription()), new GaugeDataPointSnapshot(
                             histogramSnapshot.max(getBaseTimeUnit()), Labels.of(tagKeys, tagValues), null)));
 
+            releaseHistogramSnapshotBuffer(histogramSnapshot);
             return families.build();
         });
     }
 
+    private HistogramSnapshotBuffer acquireHistogramSnapshotBuffer() {
+        HistogramSnapshotBuffer buffer = histogramSnapshotBuffer.getAndSet(null);
+        return buffer != null ? buffer : new HistogramSnapshotBuffer();
+    }
+
+    /**
+     * Hand a buffer on to the next histogram, once nothing built from it refers to it
+     * anymore. A buffer that isn't released, because reading a histogram failed, is
+     * simply replaced by a new one.
+     */
+    private void releaseHistogramSnapshotBuffer(HistogramSnapshotBuffer buffer) {
+        // don't hold on to the memory of an exceptionally large histogram between scrapes
+        buffer.trim(MAX_RETAINED_HISTOGRAM_SNAPSHOT_CAPACITY);
+        histogramSnapshotBuffer.set(buffer);
+    }
+
+    private static Quantiles quantiles(HistogramSnapshotBuffer snapshot, @Nullable TimeUnit baseTimeUnit) {
+        if (snapshot.percentileCount() == 0) {
+            return Quantiles.EMPTY;
+        }
+        List<Quantile> quantileList = new ArrayList<>(snapshot.percentileCount());
+        for (int i = 0; i < snapshot.percentileCount(); i++) {
+            double value = baseTimeUnit == null ? snapshot.percentileValue(i)
+                    : snapshot.percentileValue(i, baseTimeUnit);
+            quantileList.add(new Quantile(snapshot.percentile(i), value));
+        }
+        return Quantiles.of(quantileList);
+    }
+
+    /**
+     * Builds the buckets straight from primitive arrays, without boxing each bound and
+     * count.
+     * @param snapshot snapshot with at least one bucket
+     * @param count total count, used for the {@code +Inf} bucket
+     * @param baseTimeUnit unit to scale bucket bounds to, or {@code null} if they are not
+     * times
+     */
+    private static ClassicHistogramBuckets classicHistogramBuckets(HistogramSnapshotBuffer snapshot, long count,
+            @Nullable TimeUnit baseTimeUnit) {
+        int bucketCount = snapshot.bucketCount();
+        double lastCumulativeCount = snapshot.countAtBucket(bucketCount - 1);
+        boolean addInfBucket = Double.isFinite(snapshot.bucket(bucketCount - 1));
+        double[] upperBounds = new double[addInfBucket ? bucketCount + 1 : bucketCount];
+        long[] counts = new long[upperBounds.length];
+
+        // TODO: remove this cumulative -> non cumulative conversion
+        // ClassicHistogramBuckets is not cumulative but the histograms we
+        // use are cumulative
+        // so we convert it to non-cumulative just for the Prometheus
+        // client library
+        // can convert it back to cumulative.
+        double previousCumulativeCount = 0;
+        for (int i = 0; i < bucketCount; i++) {
+            upperBounds[i] = baseTimeUnit == null ? snapshot.bucket(i) : snapshot.bucket(i, baseTimeUnit);
+            double cumulativeCount = snapshot.countAtBucket(i);
+            counts[i] = (long) (cumulativeCount - previousCumulativeCount);
+            previousCumulativeCount = cumulativeCount;
+        }
+        if (addInfBucket) {
+            // ClassicHistogramBuckets is not cumulative
+            upperBounds[bucketCount] = Double.POSITIVE_INFINITY;
+            double infCount = count - lastCumulativeCount;
+            counts[bucketCount] = infCount >= 0 ? (long) infCount : 0;
+        }
+        return ClassicHistogramBuckets.of(upperBounds, counts);
+    }
+
     private Exemplars createExemplarsWithScaledValues(Exemplars exemplars) {
         return Exemplars.of(StreamSupport.stream(exemplars.spliterator(), false)
             .map(exemplar -> createExemplarWithNewValue(
@@ -569,7 +693,7 @@ public class PrometheusMeterRegistry extends MeterRegistry {
         collectorMap.compute(getConventionName(id), (name, existingCollector) -> {
             if (existingCollector == null) {
                 MicrometerCollector micrometerCollector = new MicrometerCollector(name, id,
-                        config().namingConvention());
+                        config().namingConvention(), () -> scrapingOtherCollectors.get() != null);
                 consumer.accept(micrometerCollector);
                 registry.register(micrometerCollector);
                 return micrometerCollector;
@@ -615,6 +739,21 @@ public class PrometheusMeterRegistry extends MeterRegistry {
         return this;
     }
 
+    private static class SnapshotsBuffer extends ByteArrayOutputStream {
+
+        void write(OutputStream outputStream, ExpositionFormatWriter writer, MetricSnapshots snapshots,
+                boolean openMetrics) throws IOException {
+            if (snapshots.size() == 0) {
+                return;
+            }
+            reset();
+            writer.write(this, snapshots);
+            int length = openMetrics ? count - OPENMETRICS_EOF.length : count;
+            outputStream.write(buf, 0, length);
+        }
+
+    }
+
     private enum Format {
 
         TEXT_004("text/plain; version=0.0.4; charset=utf-8");
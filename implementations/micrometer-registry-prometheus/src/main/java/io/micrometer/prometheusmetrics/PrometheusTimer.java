@@ -135,4 +135,15 @@ public class PrometheusTimer extends AbstractTimer {
                 histogramCounts(), snapshot::outputSummary);
     }
 
+    @Override
+    public void takeSnapshot(HistogramSnapshotBuffer buffer) {
+        // the rolling histogram of the super class only has percentiles, the cumulative
+        // bucket counts are appended from our own histogram
+        super.takeSnapshot(buffer);
+
+        if (histogram != null) {
+            histogram.takeSnapshot(buffer);
+        }
+    }
+
 }
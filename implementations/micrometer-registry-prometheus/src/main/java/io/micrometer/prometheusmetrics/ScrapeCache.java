@@ -0,0 +1,138 @@
+/*
+ * Copyright 2024 VMware, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micrometer.prometheusmetrics;
+
+import io.micrometer.core.instrument.Clock;
+import io.prometheus.metrics.expositionformats.ExpositionFormatWriter;
+import io.prometheus.metrics.model.snapshots.MetricSnapshots;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+/**
+ * Caches scrape bodies for a short time so that the cost of scraping doesn't grow with
+ * the number of scrapers. Metrics are collected at most once per time-to-live, and
+ * concurrent scrapes wait for a collection in progress instead of starting their own.
+ * Each collection is encoded at most once per content type.
+ */
+class ScrapeCache {
+
+    private final Clock clock;
+
+    private final long ttlNanos;
+
+    private final Supplier<MetricSnapshots> collector;
+
+    private final AtomicReference<Generation> current = new AtomicReference<>();
+
+    ScrapeCache(Clock clock, Duration ttl, Supplier<MetricSnapshots> collector) {
+        this.clock = clock;
+        this.ttlNanos = ttl.toNanos();
+        this.collector = collector;
+    }
+
+    byte[] scrape(ExpositionFormatWriter writer) throws IOException {
+        return generation().body(writer);
+    }
+
+    private Generation generation() {
+        while (true) {
+            Generation generation = current.get();
+            long now = clock.monotonicTime();
+            if (generation != null && now - generation.collectedAt < ttlNanos
+                    && !generation.snapshots.isCompletedExceptionally()) {
+                return generation;
+            }
+            Generation next = new Generation(now);
+            if (current.compareAndSet(generation, next)) {
+                try {
+                    next.snapshots.complete(collector.get());
+                }
+                catch (Throwable e) {
+                    next.snapshots.completeExceptionally(e);
+                }
+                return next;
+            }
+        }
+    }
+
+    private static <T> T join(CompletableFuture<T> future) throws IOException {
+        try {
+            return future.join();
+        }
+        catch (CompletionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException) {
+                throw (IOException) cause;
+            }
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * The metrics collected at one point in time, and their encodings.
+     */
+    private static class Generation {
+
+        private final long collectedAt;
+
+        private final CompletableFuture<MetricSnapshots> snapshots = new CompletableFuture<>();
+
+        private final ConcurrentMap<String, CompletableFuture<byte[]>> bodies = new ConcurrentHashMap<>();
+
+        Generation(long collectedAt) {
+            this.collectedAt = collectedAt;
+        }
+
+        byte[] body(ExpositionFormatWriter writer) throws IOException {
+            String contentType = writer.getContentType();
+            CompletableFuture<byte[]> body = bodies.get(contentType);
+            if (body == null) {
+                CompletableFuture<byte[]> newBody = new CompletableFuture<>();
+                body = bodies.putIfAbsent(contentType, newBody);
+                if (body == null) {
+                    body = newBody;
+                    try {
+                        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+                        writer.write(outputStream, join(snapshots));
+                        newBody.complete(outputStream.toByteArray());
+                    }
+                    catch (Throwable e) {
+                        // let the next scrape try again
+                        bodies.remove(contentType, newBody);
+                        newBody.completeExceptionally(e);
+                    }
+                }
+            }
+            return join(body);
+        }
+
+    }
+
+}
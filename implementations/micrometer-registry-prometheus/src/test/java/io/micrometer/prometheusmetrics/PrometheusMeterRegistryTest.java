@@ -25,18 +25,25 @@ import io.micrometer.core.instrument.binder.jvm.JvmInfoMetrics;
 import io.micrometer.core.instrument.composite.CompositeMeterRegistry;
 import io.micrometer.core.instrument.distribution.DistributionStatisticConfig;
 import io.micrometer.core.instrument.distribution.HistogramSnapshot;
+import io.prometheus.metrics.model.registry.Collector;
 import io.prometheus.metrics.model.registry.PrometheusRegistry;
 import io.prometheus.metrics.model.snapshots.*;
+import io.prometheus.metrics.model.snapshots.GaugeSnapshot.GaugeDataPointSnapshot;
 import io.prometheus.metrics.tracer.common.SpanContext;
 import org.assertj.core.api.Condition;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.time.Duration;
 import java.util.*;
 import java.util.concurrent.*;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.GZIPInputStream;
 
 import static io.micrometer.core.instrument.MockClock.clock;
 import static java.util.Collections.emptyList;
@@ -58,6 +65,113 @@ class PrometheusMeterRegistryTest {
     private final PrometheusMeterRegistry registry = new PrometheusMeterRegistry(PrometheusConfig.DEFAULT,
             prometheusRegistry, clock);
 
+    @Test
+    void scrapeIsCachedForScrapeCacheTtl() {
+        PrometheusConfig config = key -> "prometheus.scrapeCacheTtl".equals(key) ? "10s" : null;
+        PrometheusMeterRegistry registry = new PrometheusMeterRegistry(config, new PrometheusRegistry(), clock);
+        Counter counter = registry.counter("my.counter");
+
+        counter.increment();
+        assertThat(registry.scrape()).contains("my_counter_total 1.0");
+        assertThat(registry.scrape("application/openmetrics-text")).contains("my_counter_total 1.0");
+
+        counter.increment();
+        assertThat(registry.scrape()).contains("my_counter_total 1.0");
+        assertThat(registry.scrape("application/openmetrics-text")).contains("my_counter_total 1.0");
+        assertThat(registry.scrape("text/plain; version=0.0.4; charset=utf-8", Collections.singleton("my_counter")))
+            .contains("my_counter_total 2.0");
+
+        clock.add(Duration.ofSeconds(10));
+        assertThat(registry.scrape()).contains("my_counter_total 2.0");
+    }
+
+    @Test
+    void concurrentScrapesShareCollection() throws Exception {
+        PrometheusConfig config = key -> "prometheus.scrapeCacheTtl".equals(key) ? "10s" : null;
+        PrometheusMeterRegistry registry = new PrometheusMeterRegistry(config, new PrometheusRegistry(), clock);
+        AtomicInteger collections = new AtomicInteger();
+        CountDownLatch collecting = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Gauge.builder("slow.gauge", () -> {
+            collections.incrementAndGet();
+            collecting.countDown();
+            try {
+                release.await();
+            }
+            catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return 1;
+        }).register(registry);
+
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<String>> scrapes = new ArrayList<>();
+            scrapes.add(executor.submit(() -> registry.scrape()));
+            assertThat(collecting.await(1, TimeUnit.SECONDS)).isTrue();
+            for (int i = 0; i < 3; i++) {
+                scrapes.add(executor.submit(() -> registry.scrape()));
+            }
+            release.countDown();
+            for (Future<String> scrape : scrapes) {
+                assertThat(scrape.get(1, TimeUnit.SECONDS)).contains("slow_gauge 1.0");
+            }
+        }
+        finally {
+            executor.shutdown();
+        }
+        assertThat(collections).hasValue(1);
+    }
+
+    @Test
+    void streamingScrapeWritesEveryCollector() {
+        PrometheusConfig config = key -> "prometheus.streamingScrape".equals(key) ? "true" : null;
+        PrometheusMeterRegistry registry = new PrometheusMeterRegistry(config, prometheusRegistry, clock);
+        registry.counter("my.counter").increment();
+        Timer.builder("my.timer").register(registry);
+        prometheusRegistry.register((Collector) () -> GaugeSnapshot.builder()
+            .name("other_gauge")
+            .dataPoint(GaugeDataPointSnapshot.builder().value(1).build())
+            .build());
+
+        assertThat(registry.scrape()).contains("my_counter_total 1.0\n")
+            .contains("my_timer_seconds_count 0\n")
+            .contains("my_timer_seconds_max 0.0\n")
+            .contains("other_gauge 1.0\n");
+        assertThat(registry.scrape("application/openmetrics-text; version=1.0.0; charset=utf-8"))
+            .contains("my_counter_total 1.0\n")
+            .contains("other_gauge 1.0\n")
+            .containsOnlyOnce("# EOF")
+            .endsWith("# EOF\n");
+        assertThat(registry.scrape("text/plain; version=0.0.4; charset=utf-8", Collections.singleton("other_gauge")))
+            .contains("other_gauge 1.0\n")
+            .doesNotContain("my_counter");
+    }
+
+    @Test
+    void streamingScrapeFailsOnDuplicateMetricName() {
+        PrometheusConfig config = key -> "prometheus.streamingScrape".equals(key) ? "true" : null;
+        PrometheusMeterRegistry registry = new PrometheusMeterRegistry(config, prometheusRegistry, clock);
+        registry.counter("my.counter").increment();
+        prometheusRegistry.register((Collector) () -> GaugeSnapshot.builder()
+            .name("my_counter")
+            .dataPoint(GaugeDataPointSnapshot.builder().value(1).build())
+            .build());
+
+        assertThatIllegalArgumentException().isThrownBy(registry::scrape).withMessageContaining("my_counter");
+    }
+
+    @Test
+    void scrapeWithGzip() throws IOException {
+        registry.counter("my.counter").increment();
+
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        registry.scrape(outputStream, "text/plain; version=0.0.4; charset=utf-8", true);
+
+        assertThat(new GZIPInputStream(new ByteArrayInputStream(outputStream.toByteArray())))
+            .hasSameContentAs(new ByteArrayInputStream(registry.scrape().getBytes(StandardCharsets.UTF_8)));
+    }
+
     @Test
     void metersWithSameNameAndDifferentTagsContinueSilently() {
         String meterName = "my.counter";
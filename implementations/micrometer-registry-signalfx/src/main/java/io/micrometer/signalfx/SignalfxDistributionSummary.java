@@ -19,6 +19,7 @@ import io.micrometer.common.lang.Nullable;
 import io.micrometer.core.instrument.Clock;
 import io.micrometer.core.instrument.distribution.DistributionStatisticConfig;
 import io.micrometer.core.instrument.distribution.HistogramSnapshot;
+import io.micrometer.core.instrument.distribution.HistogramSnapshotBuffer;
 import io.micrometer.core.instrument.distribution.StepBucketHistogram;
 import io.micrometer.core.instrument.step.StepDistributionSummary;
 
@@ -84,4 +85,9 @@ final class SignalfxDistributionSummary extends StepDistributionSummary {
                 currentSnapshot.percentileValues(), stepBucketHistogram.poll(), currentSnapshot::outputSummary);
     }
 
+    @Override
+    public void takeSnapshot(HistogramSnapshotBuffer buffer) {
+        buffer.set(takeSnapshot());
+    }
+
 }
@@ -146,6 +146,18 @@ public interface StatsdConfig extends MeterRegistryConfig {
         return getBoolean(this, "buffered").orElse(true);
     }
 
+    /**
+     * @return {@code true} if lines should be written straight into datagrams by a
+     * dedicated thread instead of being sent through Reactor Netty. This avoids
+     * allocating intermediate strings and buffers for every packet, which matters when
+     * recording at high rates. Only applies to the {@link StatsdProtocol#UDP UDP}
+     * protocol. Default is {@code false}.
+     * @since 1.14.0
+     */
+    default boolean directEncoding() {
+        return getBoolean(this, "directEncoding").orElse(false);
+    }
+
     @Override
     default Validated<?> validate() {
         return checkAll(this, checkRequired("flavor", StatsdConfig::flavor), checkRequired("host", StatsdConfig::host),
@@ -25,6 +25,7 @@ import io.micrometer.core.instrument.distribution.HistogramGauges;
 import io.micrometer.core.instrument.distribution.pause.PauseDetector;
 import io.micrometer.core.instrument.internal.DefaultMeter;
 import io.micrometer.core.instrument.util.HierarchicalNameMapper;
+import io.micrometer.core.instrument.util.NamedThreadFactory;
 import io.micrometer.statsd.internal.*;
 import io.netty.channel.Channel;
 import io.netty.channel.unix.DomainSocketAddress;
@@ -98,6 +99,9 @@ public class StatsdMeterRegistry extends MeterRegistry {
     @Nullable
     private Channel flushableChannel;
 
+    @Nullable
+    private DatagramChannelFluxSink directSink;
+
     private Disposable.Swap meterPoller = Disposables.swap();
 
     @Nullable
@@ -149,7 +153,14 @@ public class StatsdMeterRegistry extends MeterRegistry {
                 }));
 
         if (config.enabled()) {
-            this.sink = processor.sink();
+            if (lineSink == null && config.directEncoding() && config.protocol() == StatsdProtocol.UDP) {
+                this.directSink = new DatagramChannelFluxSink(config.host(), config.port(), config.maxPacketLength(),
+                        config.buffered(), config.pollingFrequency(), new NamedThreadFactory("statsd-publisher"));
+                this.sink = this.directSink;
+            }
+            else {
+                this.sink = processor.sink();
+            }
 
             try {
                 Class.forName("ch.qos.logback.classic.turbo.TurboFilter", false, getClass().getClassLoader());
@@ -220,6 +231,10 @@ public class StatsdMeterRegistry extends MeterRegistry {
 
                 startPolling();
             }
+            else if (directSink != null) {
+                directSink.start();
+                startPolling();
+            }
             else {
                 final Publisher<String> publisher;
                 if (statsdConfig.buffered()) {
@@ -314,6 +329,9 @@ public class StatsdMeterRegistry extends MeterRegistry {
 
     public void stop() {
         if (started.compareAndSet(true, false)) {
+            if (this.directSink != null) {
+                this.directSink.stop();
+            }
             if (this.flushableChannel != null) {
                 this.flushableChannel.flush();
             }
@@ -0,0 +1,340 @@
+/*
+ * Copyright 2024 VMware, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micrometer.statsd.internal;
+
+import io.micrometer.common.lang.Nullable;
+import io.micrometer.common.util.internal.logging.WarnThenDebugLogger;
+import reactor.core.Disposable;
+import reactor.core.publisher.FluxSink;
+import reactor.util.context.Context;
+import reactor.util.context.ContextView;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.DatagramChannel;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.LongConsumer;
+
+/**
+ * This is an internal class only for use within Micrometer. A sink that sends lines to a
+ * StatsD agent over UDP without going through Reactor and Netty. Meters enqueue lines on
+ * a lock-free queue. A single publishing thread drains the queue and encodes the lines
+ * straight into a reusable direct buffer, which is written to a {@link DatagramChannel}
+ * once it holds a full packet or lines have been waiting for too long.
+ * <p>
+ * Lines are dropped while the sink is stopped, and when too many lines are waiting to be
+ * sent. The latter are counted, and logged as a warning the first time it happens.
+ */
+public class DatagramChannelFluxSink implements FluxSink<String> {
+
+    private static final WarnThenDebugLogger warnThenDebugLogger = new WarnThenDebugLogger(
+            DatagramChannelFluxSink.class);
+
+    private static final int MAX_QUEUED_LINES = 65_536;
+
+    private static final byte DELIMITER = '\n';
+
+    private final Queue<String> lines = new ConcurrentLinkedQueue<>();
+
+    private final AtomicInteger queuedLines = new AtomicInteger();
+
+    private final LongAdder droppedLines = new LongAdder();
+
+    private final WarnThenDebugLogger droppedLinesLogger = new WarnThenDebugLogger(DatagramChannelFluxSink.class);
+
+    private final String host;
+
+    private final int port;
+
+    private final boolean buffered;
+
+    private final long maxNanosBetweenFlushes;
+
+    private final ThreadFactory threadFactory;
+
+    // only used by the publishing thread
+    private final ByteBuffer packet;
+
+    private final Object lifecycleLock = new Object();
+
+    @Nullable
+    private volatile Thread publisher;
+
+    private volatile boolean running;
+
+    private volatile boolean publisherParked;
+
+    @Nullable
+    private InetSocketAddress address;
+
+    @Nullable
+    private DatagramChannel channel;
+
+    /**
+     * @param host host of the StatsD agent
+     * @param port port of the StatsD agent
+     * @param maxPacketLength maximum number of bytes sent in one packet
+     * @param buffered whether to send multiple lines per packet, or each line on its own
+     * @param maxTimeBetweenFlushes maximum time lines are buffered before being sent
+     * @param threadFactory factory of the publishing thread
+     */
+    public DatagramChannelFluxSink(String host, int port, int maxPacketLength, boolean buffered,
+            Duration maxTimeBetweenFlushes, ThreadFactory threadFactory) {
+        this.host = host;
+        this.port = port;
+        this.buffered = buffered;
+        this.maxNanosBetweenFlushes = maxTimeBetweenFlushes.toNanos();
+        this.threadFactory = threadFactory;
+        // a direct buffer is handed to the socket without being copied first
+        this.packet = ByteBuffer.allocateDirect(maxPacketLength);
+    }
+
+    public void start() {
+        synchronized (lifecycleLock) {
+            if (publisher == null) {
+                running = true;
+                Thread thread = threadFactory.newThread(this::publish);
+                publisher = thread;
+                thread.start();
+            }
+        }
+    }
+
+    /**
+     * Stop the publishing thread once the lines that are already queued have been sent.
+     */
+    public void stop() {
+        Thread thread;
+        synchronized (lifecycleLock) {
+            thread = publisher;
+            if (thread == null) {
+                return;
+            }
+            running = false;
+            publisher = null;
+        }
+        LockSupport.unpark(thread);
+        try {
+            thread.join();
+        }
+        catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    public FluxSink<String> next(String line) {
+        if (!running || line.isEmpty()) {
+            return this;
+        }
+        if (queuedLines.incrementAndGet() > MAX_QUEUED_LINES) {
+            queuedLines.decrementAndGet();
+            droppedLines.increment();
+            droppedLinesLogger.log(() -> "Dropped a line for " + host + ":" + port + " because " + MAX_QUEUED_LINES
+                    + " lines are already waiting to be sent.");
+            return this;
+        }
+        lines.offer(line);
+        if (publisherParked) {
+            Thread thread = publisher;
+            if (thread != null) {
+                LockSupport.unpark(thread);
+            }
+        }
+        return this;
+    }
+
+    /**
+     * @return the number of lines dropped because too many lines were waiting to be sent
+     */
+    public long getDroppedLineCount() {
+        return droppedLines.sum();
+    }
+
+    private void publish() {
+        // by when the lines in the packet have to be sent, if buffered
+        long flushDeadline = 0;
+        while (true) {
+            String line = lines.poll();
+            if (line != null) {
+                queuedLines.decrementAndGet();
+                if (packet.position() == 0) {
+                    flushDeadline = System.nanoTime() + maxNanosBetweenFlushes;
+                }
+                write(line);
+                continue;
+            }
+            if (!running) {
+                break;
+            }
+            long untilDeadline = packet.position() > 0 ? flushDeadline - System.nanoTime() : maxNanosBetweenFlushes;
+            if (untilDeadline <= 0) {
+                flush();
+                continue;
+            }
+            publisherParked = true;
+            // re-check after announcing that we are about to park, so that a line
+            // offered concurrently either is seen here or unparks this thread
+            if (lines.isEmpty() && running) {
+                LockSupport.parkNanos(this, untilDeadline);
+            }
+            publisherParked = false;
+        }
+        flush();
+        closeChannel();
+    }
+
+    private void write(String line) {
+        if (buffered) {
+            if (!encode(line)) {
+                flush();
+                if (!encode(line)) {
+                    send(ByteBuffer.wrap((line + (char) DELIMITER).getBytes(StandardCharsets.UTF_8)));
+                }
+            }
+        }
+        else {
+            if (encode(line)) {
+                flush();
+            }
+            else {
+                send(ByteBuffer.wrap(line.getBytes(StandardCharsets.UTF_8)));
+            }
+        }
+    }
+
+    /**
+     * Encode a line, followed by a delimiter if buffered, into the remaining space of the
+     * packet.
+     * @return whether the line fit in the packet
+     */
+    private boolean encode(String line) {
+        int start = packet.position();
+        int length = line.length();
+        int delimiterLength = buffered ? 1 : 0;
+        // a line never has fewer bytes than chars
+        if (length + delimiterLength > packet.remaining()) {
+            return false;
+        }
+        for (int i = 0; i < length; i++) {
+            char c = line.charAt(i);
+            if (c >= 0x80) {
+                packet.position(start);
+                byte[] bytes = line.getBytes(StandardCharsets.UTF_8);
+                if (bytes.length + delimiterLength > packet.remaining()) {
+                    return false;
+                }
+                packet.put(bytes);
+                break;
+            }
+            packet.put((byte) c);
+        }
+        if (buffered) {
+            packet.put(DELIMITER);
+        }
+        return true;
+    }
+
+    private void flush() {
+        if (packet.position() > 0) {
+            packet.flip();
+            send(packet);
+            packet.clear();
+        }
+    }
+
+    private void send(ByteBuffer datagram) {
+        try {
+            if (address == null || address.isUnresolved()) {
+                address = new InetSocketAddress(host, port);
+            }
+            if (channel == null) {
+                channel = DatagramChannel.open();
+            }
+            channel.send(datagram, address);
+        }
+        catch (IOException | RuntimeException e) {
+            warnThenDebugLogger.log("Failed to send metrics to " + host + ":" + port + ".", e);
+            closeChannel();
+        }
+    }
+
+    private void closeChannel() {
+        if (channel != null) {
+            try {
+                channel.close();
+            }
+            catch (IOException ignored) {
+            }
+            channel = null;
+        }
+    }
+
+    @Override
+    public void complete() {
+        stop();
+    }
+
+    @Override
+    public void error(Throwable e) {
+        stop();
+    }
+
+    @Deprecated
+    @Override
+    public Context currentContext() {
+        return Context.empty();
+    }
+
+    @Override
+    public ContextView contextView() {
+        return Context.empty();
+    }
+
+    @Override
+    public long requestedFromDownstream() {
+        return Long.MAX_VALUE;
+    }
+
+    @Override
+    public boolean isCancelled() {
+        return false;
+    }
+
+    @Override
+    public FluxSink<String> onRequest(LongConsumer consumer) {
+        return this;
+    }
+
+    @Override
+    public FluxSink<String> onCancel(Disposable d) {
+        return this;
+    }
+
+    @Override
+    public FluxSink<String> onDispose(Disposable d) {
+        return this;
+    }
+
+}
@@ -0,0 +1,144 @@
+/*
+ * Copyright 2024 VMware, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micrometer.statsd.internal;
+
+import io.micrometer.core.instrument.util.NamedThreadFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.DatagramPacket;
+import java.net.DatagramSocket;
+import java.net.SocketTimeoutException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link DatagramChannelFluxSink}.
+ */
+class DatagramChannelFluxSinkTest {
+
+    private final DatagramSocket server = createServer();
+
+    @AfterEach
+    void closeServer() {
+        server.close();
+    }
+
+    @Test
+    void bufferLinesUpToMaxPacketLength() throws IOException {
+        DatagramChannelFluxSink sink = sink(28, true);
+        sink.start();
+        sink.next("twelve bytes").next("fourteen bytes").next("twelve bytes").next("fourteen bytes");
+        sink.complete();
+
+        assertThat(receivePackets()).containsExactly("twelve bytes\nfourteen bytes\n",
+                "twelve bytes\nfourteen bytes\n");
+    }
+
+    @Test
+    void flushBufferedLinesAfterMaxTimeBetweenFlushes() throws IOException {
+        DatagramChannelFluxSink sink = sink(1400, true);
+        sink.start();
+        sink.next("twelve bytes");
+
+        assertThat(receivePackets()).containsExactly("twelve bytes\n");
+        sink.complete();
+    }
+
+    @Test
+    void sendEachLineInItsOwnPacketWhenNotBuffered() throws IOException {
+        DatagramChannelFluxSink sink = sink(1400, false);
+        sink.start();
+        sink.next("twelve bytes").next("fourteen bytes");
+        sink.complete();
+
+        assertThat(receivePackets()).containsExactly("twelve bytes", "fourteen bytes");
+    }
+
+    @Test
+    void encodeNonAsciiLines() throws IOException {
+        DatagramChannelFluxSink sink = sink(1400, true);
+        sink.start();
+        sink.next("my.counter:1|c|#city:zürich");
+        sink.complete();
+
+        assertThat(receivePackets()).containsExactly("my.counter:1|c|#city:zürich\n");
+    }
+
+    @Test
+    void dropLinesWhenStopped() throws IOException {
+        DatagramChannelFluxSink sink = sink(1400, true);
+        sink.next("twelve bytes");
+        sink.start();
+        sink.next("fourteen bytes");
+        sink.complete();
+        sink.next("twelve bytes");
+
+        assertThat(receivePackets()).containsExactly("fourteen bytes\n");
+    }
+
+    @Test
+    void countLinesDroppedWhenTooManyAreWaiting() {
+        // the publishing thread never drains the queue
+        DatagramChannelFluxSink sink = new DatagramChannelFluxSink("localhost", server.getLocalPort(), 1400, true,
+                Duration.ofMillis(100), runnable -> new Thread(() -> {
+                }));
+        sink.start();
+        for (int i = 0; i < 65_538; i++) {
+            sink.next("twelve bytes");
+        }
+        sink.complete();
+
+        assertThat(sink.getDroppedLineCount()).isEqualTo(2);
+    }
+
+    private DatagramChannelFluxSink sink(int maxPacketLength, boolean buffered) {
+        return new DatagramChannelFluxSink("localhost", server.getLocalPort(), maxPacketLength, buffered,
+                Duration.ofMillis(100), new NamedThreadFactory("statsd-publisher-test"));
+    }
+
+    private List<String> receivePackets() throws IOException {
+        List<String> packets = new ArrayList<>();
+        byte[] buffer = new byte[1500];
+        try {
+            while (true) {
+                DatagramPacket packet = new DatagramPacket(buffer, buffer.length);
+                server.receive(packet);
+                packets.add(new String(packet.getData(), 0, packet.getLength(), StandardCharsets.UTF_8));
+            }
+        }
+        catch (SocketTimeoutException e) {
+            return packets;
+        }
+    }
+
+    private static DatagramSocket createServer() {
+        try {
+            DatagramSocket socket = new DatagramSocket(0);
+            socket.setSoTimeout(500);
+            return socket;
+        }
+        catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+}
@@ -27,13 +27,13 @@ import java.lang.annotation.Annotation;
  */
 class AnnotatedParameter {
 
-    final Annotation annotation;
+    final int parameterIndex;
 
-    final Object argument;
+    final Annotation annotation;
 
-    AnnotatedParameter(Annotation annotation, Object argument) {
+    AnnotatedParameter(int parameterIndex, Annotation annotation) {
+        this.parameterIndex = parameterIndex;
         this.annotation = annotation;
-        this.argument = argument;
     }
 
 }
@@ -23,14 +23,11 @@ import org.aspectj.lang.reflect.MethodSignature;
 
 import java.lang.annotation.Annotation;
 import java.lang.reflect.Method;
-import java.util.Arrays;
-import java.util.List;
-import java.util.Map;
+import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.BiConsumer;
 import java.util.function.BiFunction;
 import java.util.function.Function;
-import java.util.function.Predicate;
 
 /**
  * This class is able to find all methods annotated with the Micrometer annotations. All
@@ -39,7 +36,10 @@ import java.util.function.Predicate;
  * into one set of information.
  * <p>
  * This information is then used to add proper key-values to objects such as span or timer
- * from the method arguments that are annotated with a proper annotation.
+ * from the method arguments that are annotated with a proper annotation. The annotated
+ * parameters of a method are looked up once per target class and class of the proxy or
+ * woven object and then cached, so that only the arguments need to be resolved for each
+ * invocation.
  *
  * Code ported from Spring Cloud Sleuth.
  *
@@ -61,6 +61,8 @@ public class AnnotationHandler<T> {
 
     private final BiFunction<Annotation, Object, KeyValue> toKeyValue;
 
+    private final AnnotatedParametersCache annotatedParametersByTargetClass = new AnnotatedParametersCache();
+
     /**
      * Creates a new instance of {@link AnnotationHandler}.
      * @param keyValueConsumer consumer that takes a {@link KeyValue} and mutates the
@@ -92,20 +94,38 @@ public class AnnotationHandler<T> {
     public void addAnnotatedParameters(T objectToModify, ProceedingJoinPoint pjp) {
         try {
             Method method = ((MethodSignature) pjp.getSignature()).getMethod();
-            method = tryToTakeMethodFromTargetClass(pjp, method);
-            List<AnnotatedParameter> annotatedParameters = AnnotationUtils.findAnnotatedParameters(annotationClass,
-                    method, pjp.getArgs());
-            getAnnotationsFromInterfaces(pjp, method, annotatedParameters);
-            addAnnotatedArguments(objectToModify, annotatedParameters);
+            Class<?> targetClass = pjp.getTarget().getClass();
+            Class<?> thisClass = pjp.getThis().getClass();
+            Map<Method, Map<Class<?>, List<AnnotatedParameter>>> cache = annotatedParametersByTargetClass
+                .get(targetClass);
+            Map<Class<?>, List<AnnotatedParameter>> annotatedParametersByThisClass = cache.get(method);
+            if (annotatedParametersByThisClass == null) {
+                annotatedParametersByThisClass = cache.computeIfAbsent(method, key -> new ConcurrentHashMap<>());
+            }
+            List<AnnotatedParameter> annotatedParameters = annotatedParametersByThisClass.get(thisClass);
+            if (annotatedParameters == null) {
+                annotatedParameters = findAnnotatedParameters(targetClass, thisClass, method);
+                annotatedParametersByThisClass.put(thisClass, annotatedParameters);
+            }
+            addAnnotatedArguments(objectToModify, annotatedParameters, pjp.getArgs());
         }
         catch (Exception ex) {
             log.error("Exception occurred while trying to add annotated parameters", ex);
         }
     }
 
-    private static Method tryToTakeMethodFromTargetClass(ProceedingJoinPoint pjp, Method method) {
+    private List<AnnotatedParameter> findAnnotatedParameters(Class<?> targetClass, Class<?> thisClass,
+            Method method) {
+        Method mostSpecificMethod = tryToTakeMethodFromTargetClass(targetClass, method);
+        List<AnnotatedParameter> annotatedParameters = AnnotationUtils.findAnnotatedParameters(annotationClass,
+                mostSpecificMethod);
+        getAnnotationsFromInterfaces(thisClass, mostSpecificMethod, annotatedParameters);
+        return annotatedParameters;
+    }
+
+    private static Method tryToTakeMethodFromTargetClass(Class<?> targetClass, Method method) {
         try {
-            return pjp.getTarget().getClass().getDeclaredMethod(method.getName(), method.getParameterTypes());
+            return targetClass.getDeclaredMethod(method.getName(), method.getParameterTypes());
         }
         catch (NoSuchMethodException ex) {
             // matching method not found - will be taken from parent
@@ -113,14 +133,14 @@ public class AnnotationHandler<T> {
         return method;
     }
 
-    private void getAnnotationsFromInterfaces(ProceedingJoinPoint pjp, Method mostSpecificMethod,
+    private void getAnnotationsFromInterfaces(Class<?> thisClass, Method mostSpecificMethod,
             List<AnnotatedParameter> annotatedParameters) {
-        Class<?>[] implementedInterfaces = pjp.getThis().getClass().getInterfaces();
+        Class<?>[] implementedInterfaces = thisClass.getInterfaces();
         for (Class<?> implementedInterface : implementedInterfaces) {
             for (Method methodFromInterface : implementedInterface.getMethods()) {
                 if (methodsAreTheSame(mostSpecificMethod, methodFromInterface)) {
                     List<AnnotatedParameter> annotatedParametersForActualMethod = AnnotationUtils
-                        .findAnnotatedParameters(annotationClass, methodFromInterface, pjp.getArgs());
+                        .findAnnotatedParameters(annotationClass, methodFromInterface);
                     // annotations for a single parameter can be `duplicated` by the ones
                     // from parent interface,
                     // however later on during key-based deduplication the ones from
@@ -137,16 +157,18 @@ public class AnnotationHandler<T> {
                 && Arrays.equals(method.getParameterTypes(), mostSpecificMethod.getParameterTypes());
     }
 
-    private void addAnnotatedArguments(T objectToModify, List<AnnotatedParameter> toBeAdded) {
-        toBeAdded.stream()
-            .map(container -> toKeyValue.apply(container.annotation, container.argument))
-            .filter(distinctByKey(KeyValue::getKey))
-            .forEach(keyValue -> keyValueConsumer.accept(keyValue, objectToModify));
-    }
-
-    private static <T> Predicate<T> distinctByKey(Function<? super T, ?> keyExtractor) {
-        Map<Object, Boolean> seen = new ConcurrentHashMap<>();
-        return item -> seen.putIfAbsent(keyExtractor.apply(item), Boolean.TRUE) == null;
+    private void addAnnotatedArguments(T objectToModify, List<AnnotatedParameter> toBeAdded, Object[] args) {
+        if (toBeAdded.isEmpty()) {
+            return;
+        }
+        Set<String> seenKeys = new HashSet<>();
+        for (AnnotatedParameter annotatedParameter : toBeAdded) {
+            Object argument = args[annotatedParameter.parameterIndex];
+            KeyValue keyValue = toKeyValue.apply(annotatedParameter.annotation, argument);
+            if (seenKeys.add(keyValue.getKey())) {
+                keyValueConsumer.accept(keyValue, objectToModify);
+            }
+        }
     }
 
     public Function<Class<? extends ValueResolver>, ? extends ValueResolver> getResolverProvider() {
@@ -157,4 +179,20 @@ public class AnnotationHandler<T> {
         return expressionResolverProvider;
     }
 
+    /**
+     * Annotated parameters of the methods of a target class, by the class of the proxy or
+     * woven object the parameter annotations of interfaces are looked up from. A JDK
+     * proxy class can be shared by targets of different classes, and a target class can
+     * be proxied by different classes.
+     */
+    private static final class AnnotatedParametersCache
+            extends ClassValue<Map<Method, Map<Class<?>, List<AnnotatedParameter>>>> {
+
+        @Override
+        protected Map<Method, Map<Class<?>, List<AnnotatedParameter>>> computeValue(Class<?> type) {
+            return new ConcurrentHashMap<>();
+        }
+
+    }
+
 }
@@ -18,8 +18,7 @@ package io.micrometer.common.annotation;
 import java.lang.annotation.Annotation;
 import java.lang.reflect.Method;
 import java.lang.reflect.Parameter;
-import java.util.Arrays;
-import java.util.LinkedList;
+import java.util.ArrayList;
 import java.util.List;
 
 /**
@@ -36,17 +35,14 @@ final class AnnotationUtils {
 
     }
 
-    static List<AnnotatedParameter> findAnnotatedParameters(Class<? extends Annotation> annotationClazz, Method method,
-            Object[] args) {
+    static List<AnnotatedParameter> findAnnotatedParameters(Class<? extends Annotation> annotationClazz,
+            Method method) {
         Parameter[] parameters = method.getParameters();
-        List<AnnotatedParameter> result = new LinkedList<>();
+        List<AnnotatedParameter> result = new ArrayList<>();
         for (int i = 0; i < parameters.length; i++) {
-            Parameter parameter = parameters[i];
-            Annotation[] annotations = parameter.getAnnotationsByType(annotationClazz);
-            final int parameterIndex = i;
-            Arrays.stream(annotations)
-                .map(annotation -> new AnnotatedParameter(annotation, args[parameterIndex]))
-                .forEach(result::add);
+            for (Annotation annotation : parameters[i].getAnnotationsByType(annotationClazz)) {
+                result.add(new AnnotatedParameter(i, annotation));
+            }
         }
         return result;
     }
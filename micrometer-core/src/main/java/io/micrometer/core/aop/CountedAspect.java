@@ -111,6 +111,12 @@ public class CountedAspect {
      */
     private final Predicate<ProceedingJoinPoint> shouldSkip;
 
+    private final MethodMetadataCache<CountedMetadata> countedClassMetadata = new MethodMetadataCache<>(
+            CountedAspect::resolveCountedClass);
+
+    private final MethodMetadataCache<CountedMetadata> countedMethodMetadata = new MethodMetadataCache<>(
+            CountedAspect::resolveCountedMethod);
+
     private CountedMeterTagAnnotationHandler meterTagAnnotationHandler;
 
     /**
@@ -176,14 +182,15 @@ public class CountedAspect {
             return pjp.proceed();
         }
 
-        Method method = ((MethodSignature) pjp.getSignature()).getMethod();
+        return perform(pjp, countedClassMetadata.get(pjp));
+    }
+
+    private static CountedMetadata resolveCountedClass(Class<?> targetClass, Method method) {
         Class<?> declaringClass = method.getDeclaringClass();
         if (!declaringClass.isAnnotationPresent(Counted.class)) {
-            declaringClass = pjp.getTarget().getClass();
+            declaringClass = targetClass;
         }
-        Counted counted = declaringClass.getAnnotation(Counted.class);
-
-        return perform(pjp, counted);
+        return new CountedMetadata(declaringClass.getAnnotation(Counted.class), method);
     }
 
     /**
@@ -211,14 +218,25 @@ public class CountedAspect {
             return pjp.proceed();
         }
 
-        return perform(pjp, counted);
+        return perform(pjp, countedMethodMetadata.get(pjp).bind(counted, pjp));
     }
 
-    private Object perform(ProceedingJoinPoint pjp, Counted counted) throws Throwable {
-        final Method method = ((MethodSignature) pjp.getSignature()).getMethod();
-        final boolean stopWhenCompleted = CompletionStage.class.isAssignableFrom(method.getReturnType());
+    private static CountedMetadata resolveCountedMethod(Class<?> targetClass, Method method) {
+        Counted counted = method.getAnnotation(Counted.class);
+        if (counted == null) {
+            try {
+                method = targetClass.getMethod(method.getName(), method.getParameterTypes());
+            }
+            catch (NoSuchMethodException e) {
+                throw new IllegalStateException(e);
+            }
+            counted = method.getAnnotation(Counted.class);
+        }
+        return new CountedMetadata(counted, method);
+    }
 
-        if (stopWhenCompleted) {
+    private Object perform(ProceedingJoinPoint pjp, CountedMetadata counted) throws Throwable {
+        if (counted.stopWhenCompleted) {
             try {
                 return ((CompletionStage<?>) pjp.proceed())
                     .whenComplete((result, throwable) -> recordCompletionResult(pjp, counted, throwable));
@@ -231,7 +249,7 @@ public class CountedAspect {
 
         try {
             Object result = pjp.proceed();
-            if (!counted.recordFailuresOnly()) {
+            if (!counted.recordFailuresOnly) {
                 record(pjp, counted, DEFAULT_EXCEPTION_TAG_VALUE, RESULT_TAG_SUCCESS_VALUE);
             }
             return result;
@@ -242,32 +260,34 @@ public class CountedAspect {
         }
     }
 
-    private void recordCompletionResult(ProceedingJoinPoint pjp, Counted counted, Throwable throwable) {
+    private void recordCompletionResult(ProceedingJoinPoint pjp, CountedMetadata counted, Throwable throwable) {
 
         if (throwable != null) {
             String exceptionTagValue = throwable.getCause() == null ? throwable.getClass().getSimpleName()
                     : throwable.getCause().getClass().getSimpleName();
             record(pjp, counted, exceptionTagValue, RESULT_TAG_FAILURE_VALUE);
         }
-        else if (!counted.recordFailuresOnly()) {
+        else if (!counted.recordFailuresOnly) {
             record(pjp, counted, DEFAULT_EXCEPTION_TAG_VALUE, RESULT_TAG_SUCCESS_VALUE);
         }
 
     }
 
-    private void record(ProceedingJoinPoint pjp, Counted counted, String exception, String result) {
+    private void record(ProceedingJoinPoint pjp, CountedMetadata counted, String exception, String result) {
+        if (counted.extraTags == null) {
+            return;
+        }
         counter(pjp, counted).tag(EXCEPTION_TAG, exception)
             .tag(RESULT_TAG, result)
-            .tags(counted.extraTags())
+            .tags(counted.extraTags)
             .register(registry)
             .increment();
     }
 
-    private Counter.Builder counter(ProceedingJoinPoint pjp, Counted counted) {
-        Counter.Builder builder = Counter.builder(counted.value()).tags(tagsBasedOnJoinPoint.apply(pjp));
-        String description = counted.description();
-        if (!description.isEmpty()) {
-            builder.description(description);
+    private Counter.Builder counter(ProceedingJoinPoint pjp, CountedMetadata counted) {
+        Counter.Builder builder = Counter.builder(counted.metricName).tags(tagsBasedOnJoinPoint.apply(pjp));
+        if (counted.description != null) {
+            builder.description(counted.description);
         }
         if (meterTagAnnotationHandler != null) {
             meterTagAnnotationHandler.addAnnotatedParameters(builder, pjp);
@@ -283,4 +303,70 @@ public class CountedAspect {
         this.meterTagAnnotationHandler = meterTagAnnotationHandler;
     }
 
+    /**
+     * What is needed from a {@link Counted} annotation and the method it applies to in
+     * order to build the counter, resolved once per intercepted method.
+     */
+    private static final class CountedMetadata {
+
+        private final Counted counted;
+
+        private final String metricName;
+
+        @Nullable
+        private final String description;
+
+        /**
+         * {@code null} when the extra tags aren't key/value pairs, nothing is counted
+         * then.
+         */
+        @Nullable
+        private final Tags extraTags;
+
+        private final boolean recordFailuresOnly;
+
+        private final boolean stopWhenCompleted;
+
+        /**
+         * The metadata of the bound annotation when it isn't the one resolved from the
+         * method, e.g. when both the interface and the target class methods are
+         * annotated.
+         */
+        @Nullable
+        private volatile CountedMetadata bound;
+
+        private CountedMetadata(Counted counted, Method method) {
+            this.counted = counted;
+            this.metricName = counted.value();
+            this.description = counted.description().isEmpty() ? null : counted.description();
+            this.extraTags = extraTags(counted.extraTags());
+            this.recordFailuresOnly = counted.recordFailuresOnly();
+            this.stopWhenCompleted = CompletionStage.class.isAssignableFrom(method.getReturnType());
+        }
+
+        private CountedMetadata bind(Counted counted, ProceedingJoinPoint pjp) {
+            if (this.counted == counted) {
+                return this;
+            }
+            CountedMetadata bound = this.bound;
+            if (bound == null || bound.counted != counted) {
+                bound = new CountedMetadata(counted, ((MethodSignature) pjp.getSignature()).getMethod());
+                this.bound = bound;
+            }
+            return bound;
+        }
+
+        @Nullable
+        private static Tags extraTags(String[] extraTags) {
+            try {
+                return Tags.of(extraTags);
+            }
+            catch (IllegalArgumentException e) {
+                // resolved before the intercepted method runs, which must not fail
+                return null;
+            }
+        }
+
+    }
+
 }
@@ -0,0 +1,66 @@
+/*
+ * Copyright 2024 VMware, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micrometer.core.aop;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.reflect.MethodSignature;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiFunction;
+
+/**
+ * Caches what an aspect resolves reflectively for an intercepted method, such as its
+ * annotation, so that it is only looked up on the first invocation of the method on a
+ * given target class.
+ *
+ * @param <T> type of the cached metadata
+ */
+final class MethodMetadataCache<T> {
+
+    private final ClassValue<Map<Method, T>> metadataByTargetClass = new ClassValue<Map<Method, T>>() {
+        @Override
+        protected Map<Method, T> computeValue(Class<?> type) {
+            return new ConcurrentHashMap<>();
+        }
+    };
+
+    private final BiFunction<Class<?>, Method, T> resolver;
+
+    /**
+     * @param resolver resolves the metadata from the target class and the method of the
+     * join point signature
+     */
+    MethodMetadataCache(BiFunction<Class<?>, Method, T> resolver) {
+        this.resolver = resolver;
+    }
+
+    T get(ProceedingJoinPoint pjp) {
+        Method method = ((MethodSignature) pjp.getSignature()).getMethod();
+        Object target = pjp.getTarget();
+        Class<?> targetClass = target == null ? method.getDeclaringClass() : target.getClass();
+        Map<Method, T> metadataByMethod = metadataByTargetClass.get(targetClass);
+        T metadata = metadataByMethod.get(method);
+        if (metadata == null) {
+            // racing threads resolve the same metadata, so it doesn't matter which wins
+            metadata = resolver.apply(targetClass, method);
+            metadataByMethod.put(method, metadata);
+        }
+        return metadata;
+    }
+
+}
@@ -24,7 +24,6 @@ import io.micrometer.core.instrument.util.TimeUtils;
 import org.aspectj.lang.ProceedingJoinPoint;
 import org.aspectj.lang.annotation.Around;
 import org.aspectj.lang.annotation.Aspect;
-import org.aspectj.lang.reflect.MethodSignature;
 
 import java.lang.reflect.Method;
 import java.time.Duration;
@@ -107,6 +106,12 @@ public class TimedAspect {
 
     private final Predicate<ProceedingJoinPoint> shouldSkip;
 
+    private final MethodMetadataCache<TimedMetadata> timedClassMetadata = new MethodMetadataCache<>(
+            TimedAspect::resolveTimedClass);
+
+    private final MethodMetadataCache<TimedMetadata> timedMethodMetadata = new MethodMetadataCache<>(
+            TimedAspect::resolveTimedMethod);
+
     private MeterTagAnnotationHandler meterTagAnnotationHandler;
 
     /**
@@ -172,14 +177,15 @@ public class TimedAspect {
             return pjp.proceed();
         }
 
-        Method method = ((MethodSignature) pjp.getSignature()).getMethod();
+        return perform(pjp, timedClassMetadata.get(pjp));
+    }
+
+    private static TimedMetadata resolveTimedClass(Class<?> targetClass, Method method) {
         Class<?> declaringClass = method.getDeclaringClass();
         if (!declaringClass.isAnnotationPresent(Timed.class)) {
-            declaringClass = pjp.getTarget().getClass();
+            declaringClass = targetClass;
         }
-        Timed timed = declaringClass.getAnnotation(Timed.class);
-
-        return perform(pjp, timed, method);
+        return new TimedMetadata(declaringClass.getAnnotation(Timed.class), method);
     }
 
     @Around("execution (@io.micrometer.core.annotation.Timed * *.*(..))")
@@ -189,40 +195,43 @@ public class TimedAspect {
             return pjp.proceed();
         }
 
-        Method method = ((MethodSignature) pjp.getSignature()).getMethod();
+        return perform(pjp, timedMethodMetadata.get(pjp));
+    }
+
+    private static TimedMetadata resolveTimedMethod(Class<?> targetClass, Method method) {
         Timed timed = method.getAnnotation(Timed.class);
         if (timed == null) {
-            method = pjp.getTarget().getClass().getMethod(method.getName(), method.getParameterTypes());
+            try {
+                method = targetClass.getMethod(method.getName(), method.getParameterTypes());
+            }
+            catch (NoSuchMethodException e) {
+                throw new IllegalStateException(e);
+            }
             timed = method.getAnnotation(Timed.class);
         }
-
-        return perform(pjp, timed, method);
+        return new TimedMetadata(timed, method);
     }
 
-    private Object perform(ProceedingJoinPoint pjp, Timed timed, Method method) throws Throwable {
-        final String metricName = timed.value().isEmpty() ? DEFAULT_METRIC_NAME : timed.value();
-        final boolean stopWhenCompleted = CompletionStage.class.isAssignableFrom(method.getReturnType());
-
-        if (!timed.longTask()) {
-            return processWithTimer(pjp, timed, metricName, stopWhenCompleted);
+    private Object perform(ProceedingJoinPoint pjp, TimedMetadata timed) throws Throwable {
+        if (!timed.longTask) {
+            return processWithTimer(pjp, timed);
         }
         else {
-            return processWithLongTaskTimer(pjp, timed, metricName, stopWhenCompleted);
+            return processWithLongTaskTimer(pjp, timed);
         }
     }
 
-    private Object processWithTimer(ProceedingJoinPoint pjp, Timed timed, String metricName, boolean stopWhenCompleted)
-            throws Throwable {
+    private Object processWithTimer(ProceedingJoinPoint pjp, TimedMetadata timed) throws Throwable {
 
         Timer.Sample sample = Timer.start(registry);
 
-        if (stopWhenCompleted) {
+        if (timed.stopWhenCompleted) {
             try {
-                return ((CompletionStage<?>) pjp.proceed()).whenComplete(
-                        (result, throwable) -> record(pjp, timed, metricName, sample, getExceptionTag(throwable)));
+                return ((CompletionStage<?>) pjp.proceed())
+                    .whenComplete((result, throwable) -> record(pjp, timed, sample, getExceptionTag(throwable)));
             }
             catch (Exception ex) {
-                record(pjp, timed, metricName, sample, ex.getClass().getSimpleName());
+                record(pjp, timed, sample, ex.getClass().getSimpleName());
                 throw ex;
             }
         }
@@ -236,32 +245,30 @@ public class TimedAspect {
             throw ex;
         }
         finally {
-            record(pjp, timed, metricName, sample, exceptionClass);
+            record(pjp, timed, sample, exceptionClass);
         }
     }
 
-    private void record(ProceedingJoinPoint pjp, Timed timed, String metricName, Timer.Sample sample,
-            String exceptionClass) {
+    private void record(ProceedingJoinPoint pjp, TimedMetadata timed, Timer.Sample sample, String exceptionClass) {
+        if (timed.extraTags == null) {
+            return;
+        }
         try {
-            sample.stop(recordBuilder(pjp, timed, metricName, exceptionClass).register(registry));
+            sample.stop(recordBuilder(pjp, timed, exceptionClass).register(registry));
         }
         catch (Exception e) {
             // ignoring on purpose
         }
     }
 
-    private Timer.Builder recordBuilder(ProceedingJoinPoint pjp, Timed timed, String metricName,
-            String exceptionClass) {
-        Timer.Builder builder = Timer.builder(metricName)
-            .description(timed.description().isEmpty() ? null : timed.description())
-            .tags(timed.extraTags())
+    private Timer.Builder recordBuilder(ProceedingJoinPoint pjp, TimedMetadata timed, String exceptionClass) {
+        Timer.Builder builder = Timer.builder(timed.metricName)
+            .description(timed.description)
+            .tags(timed.extraTags)
             .tags(EXCEPTION_TAG, exceptionClass)
             .tags(tagsBasedOnJoinPoint.apply(pjp))
-            .publishPercentileHistogram(timed.histogram())
-            .serviceLevelObjectives(
-                    timed.serviceLevelObjectives().length > 0 ? Arrays.stream(timed.serviceLevelObjectives())
-                        .mapToObj(s -> Duration.ofNanos((long) TimeUtils.secondsToUnit(s, TimeUnit.NANOSECONDS)))
-                        .toArray(Duration[]::new) : null);
+            .publishPercentileHistogram(timed.histogram)
+            .serviceLevelObjectives(timed.serviceLevelObjectives);
 
         if (meterTagAnnotationHandler != null) {
             meterTagAnnotationHandler.addAnnotatedParameters(builder, pjp);
@@ -282,12 +289,11 @@ public class TimedAspect {
         return throwable.getCause().getClass().getSimpleName();
     }
 
-    private Object processWithLongTaskTimer(ProceedingJoinPoint pjp, Timed timed, String metricName,
-            boolean stopWhenCompleted) throws Throwable {
+    private Object processWithLongTaskTimer(ProceedingJoinPoint pjp, TimedMetadata timed) throws Throwable {
 
-        Optional<LongTaskTimer.Sample> sample = buildLongTaskTimer(pjp, timed, metricName).map(LongTaskTimer::start);
+        Optional<LongTaskTimer.Sample> sample = buildLongTaskTimer(pjp, timed).map(LongTaskTimer::start);
 
-        if (stopWhenCompleted) {
+        if (timed.stopWhenCompleted) {
             try {
                 return ((CompletionStage<?>) pjp.proceed())
                     .whenComplete((result, throwable) -> sample.ifPresent(this::stopTimer));
@@ -319,11 +325,14 @@ public class TimedAspect {
      * Secure long task timer creation - it should not disrupt the application flow in
      * case of exception
      */
-    private Optional<LongTaskTimer> buildLongTaskTimer(ProceedingJoinPoint pjp, Timed timed, String metricName) {
+    private Optional<LongTaskTimer> buildLongTaskTimer(ProceedingJoinPoint pjp, TimedMetadata timed) {
+        if (timed.extraTags == null) {
+            return Optional.empty();
+        }
         try {
-            return Optional.of(LongTaskTimer.builder(metricName)
-                .description(timed.description().isEmpty() ? null : timed.description())
-                .tags(timed.extraTags())
+            return Optional.of(LongTaskTimer.builder(timed.metricName)
+                .description(timed.description)
+                .tags(timed.extraTags)
                 .tags(tagsBasedOnJoinPoint.apply(pjp))
                 .register(registry));
         }
@@ -340,4 +349,58 @@ public class TimedAspect {
         this.meterTagAnnotationHandler = meterTagAnnotationHandler;
     }
 
+    /**
+     * What is needed from a {@link Timed} annotation and the method it applies to in
+     * order to build the timer, resolved once per intercepted method.
+     */
+    private static final class TimedMetadata {
+
+        private final String metricName;
+
+        @Nullable
+        private final String description;
+
+        /**
+         * {@code null} when the extra tags aren't key/value pairs, no timer is recorded
+         * then.
+         */
+        @Nullable
+        private final Tags extraTags;
+
+        private final boolean histogram;
+
+        @Nullable
+        private final Duration[] serviceLevelObjectives;
+
+        private final boolean longTask;
+
+        private final boolean stopWhenCompleted;
+
+        private TimedMetadata(Timed timed, Method method) {
+            this.metricName = timed.value().isEmpty() ? DEFAULT_METRIC_NAME : timed.value();
+            this.description = timed.description().isEmpty() ? null : timed.description();
+            this.extraTags = extraTags(timed.extraTags());
+            this.histogram = timed.histogram();
+            this.serviceLevelObjectives = timed.serviceLevelObjectives().length > 0
+                    ? Arrays.stream(timed.serviceLevelObjectives())
+                        .mapToObj(s -> Duration.ofNanos((long) TimeUtils.secondsToUnit(s, TimeUnit.NANOSECONDS)))
+                        .toArray(Duration[]::new)
+                    : null;
+            this.longTask = timed.longTask();
+            this.stopWhenCompleted = CompletionStage.class.isAssignableFrom(method.getReturnType());
+        }
+
+        @Nullable
+        private static Tags extraTags(String[] extraTags) {
+            try {
+                return Tags.of(extraTags);
+            }
+            catch (IllegalArgumentException e) {
+                // resolved before the intercepted method runs, which must not fail
+                return null;
+            }
+        }
+
+    }
+
 }
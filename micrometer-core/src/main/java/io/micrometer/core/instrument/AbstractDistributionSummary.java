@@ -81,4 +81,14 @@ public abstract class AbstractDistributionSummary extends AbstractMeter implemen
         return histogram.takeSnapshot(count(), totalAmount(), max());
     }
 
+    /**
+     * Subclasses which override {@link #takeSnapshot()} need to override this as well to
+     * publish the same statistics.
+     */
+    @Override
+    public void takeSnapshot(HistogramSnapshotBuffer buffer) {
+        buffer.reset(count(), totalAmount(), max());
+        histogram.takeSnapshot(buffer);
+    }
+
 }
@@ -277,6 +277,16 @@ public abstract class AbstractTimer extends AbstractMeter implements Timer {
         return histogram.takeSnapshot(count(), totalTime(TimeUnit.NANOSECONDS), max(TimeUnit.NANOSECONDS));
     }
 
+    /**
+     * Subclasses which override {@link #takeSnapshot()} need to override this as well to
+     * publish the same statistics.
+     */
+    @Override
+    public void takeSnapshot(HistogramSnapshotBuffer buffer) {
+        buffer.reset(count(), totalTime(TimeUnit.NANOSECONDS), max(TimeUnit.NANOSECONDS));
+        histogram.takeSnapshot(buffer);
+    }
+
     @Override
     public TimeUnit baseTimeUnit() {
         return baseTimeUnit;
@@ -26,8 +26,6 @@ import java.util.List;
 import java.util.Objects;
 import java.util.function.Consumer;
 import java.util.function.Function;
-import java.util.stream.Collectors;
-import java.util.stream.StreamSupport;
 
 import static java.util.Collections.singletonList;
 
@@ -197,6 +195,17 @@ public interface Meter {
         @Nullable
         private final String baseUnit;
 
+        // Registries use the same naming convention for every publish, so the
+        // convention name and tags are memoized for the last convention used only.
+        @Nullable
+        private volatile ConventionValue<String> conventionName;
+
+        @Nullable
+        private volatile ConventionValue<List<Tag>> conventionTags;
+
+        // ids are hashed on every registry lookup, zero means not computed yet
+        private int hash;
+
         @Incubating(since = "1.1.0")
         Id(String name, Tags tags, @Nullable String baseUnit, @Nullable String description, Type type,
                 @Nullable Meter.Id syntheticAssociation) {
@@ -320,7 +329,13 @@ public interface Meter {
          * expectations.
          */
         public String getConventionName(NamingConvention namingConvention) {
-            return namingConvention.name(name, type, baseUnit);
+            ConventionValue<String> conventionName = this.conventionName;
+            if (conventionName != null && conventionName.namingConvention == namingConvention) {
+                return conventionName.value;
+            }
+            String name = namingConvention.name(this.name, type, baseUnit);
+            this.conventionName = new ConventionValue<>(namingConvention, name);
+            return name;
         }
 
         /**
@@ -330,9 +345,17 @@ public interface Meter {
          * system's expectations.
          */
         public List<Tag> getConventionTags(NamingConvention namingConvention) {
-            return StreamSupport.stream(tags.spliterator(), false)
-                .map(t -> Tag.of(namingConvention.tagKey(t.getKey()), namingConvention.tagValue(t.getValue())))
-                .collect(Collectors.toList());
+            ConventionValue<List<Tag>> conventionTags = this.conventionTags;
+            if (conventionTags == null || conventionTags.namingConvention != namingConvention) {
+                List<Tag> tags = new ArrayList<>();
+                for (Tag tag : this.tags) {
+                    tags.add(Tag.of(namingConvention.tagKey(tag.getKey()), namingConvention.tagValue(tag.getValue())));
+                }
+                conventionTags = new ConventionValue<>(namingConvention, tags);
+                this.conventionTags = conventionTags;
+            }
+            // callers may add to the returned list, so only the converted tags are shared
+            return new ArrayList<>(conventionTags.value);
         }
 
         /**
@@ -361,8 +384,12 @@ public interface Meter {
 
         @Override
         public int hashCode() {
-            int result = name.hashCode();
-            result = 31 * result + tags.hashCode();
+            int result = hash;
+            if (result == 0) {
+                result = name.hashCode();
+                result = 31 * result + tags.hashCode();
+                hash = result;
+            }
             return result;
         }
 
@@ -393,6 +420,19 @@ public interface Meter {
             return syntheticAssociation;
         }
 
+        private static final class ConventionValue<T> {
+
+            private final NamingConvention namingConvention;
+
+            private final T value;
+
+            private ConventionValue(NamingConvention namingConvention, T value) {
+                this.namingConvention = namingConvention;
+                this.value = value;
+            }
+
+        }
+
     }
 
     /**
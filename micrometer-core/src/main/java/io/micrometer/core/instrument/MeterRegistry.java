@@ -88,6 +88,8 @@ public abstract class MeterRegistry {
 
     private final List<Consumer<Meter>> meterRemovedListeners = new CopyOnWriteArrayList<>();
 
+    private final List<Consumer<MeterFilter>> meterFilterAddedListeners = new CopyOnWriteArrayList<>();
+
     private final List<BiConsumer<Meter.Id, String>> meterRegistrationFailedListeners = new CopyOnWriteArrayList<>();
 
     private final Config config = new Config();
@@ -104,12 +106,17 @@ public abstract class MeterRegistry {
     /**
      * write/remove guarded by meterMapLock, read in
      * {@link #getOrCreateMeter(DistributionStatisticConfig, BiFunction, Id, Function)} is
-     * unguarded
+     * unguarded. We use CHM so that looking up an already registered meter never needs
+     * to take meterMapLock, even while other meters are being added or removed.
      */
-    private final Map<Id, Meter> preFilterIdToMeterMap = new HashMap<>();
+    private final Map<Id, Meter> preFilterIdToMeterMap = new ConcurrentHashMap<>();
 
-    // not thread safe; only needed when MeterFilter configured after Meters registered
-    private final Set<Id> stalePreFilterIds = new HashSet<>();
+    /**
+     * Only needed when MeterFilter configured after Meters registered. Write/remove
+     * guarded by meterMapLock (except for marking all IDs stale in
+     * {@link Config#meterFilter(MeterFilter)}), read unguarded.
+     */
+    private final Set<Id> stalePreFilterIds = ConcurrentHashMap.newKeySet();
 
     /**
      * Map of meter id whose associated meter contains synthetic counterparts to those
@@ -636,7 +643,15 @@ public abstract class MeterRegistry {
             // If the mapping exists and the meter is marked stale, then this meter is no
             // longer stale.
             if (isStaleId(originalId)) {
-                unmarkStaleId(originalId);
+                synchronized (meterMapLock) {
+                    // the pre-filter ID may still point to the meter it was mapped to
+                    // before the MeterFilter was configured, so repoint it unless the
+                    // meter got removed in the meantime
+                    if (meterMap.get(mappedId) == m && preFilterIdToMeterMap.containsKey(originalId)) {
+                        preFilterIdToMeterMap.put(originalId, m);
+                    }
+                    unmarkStaleId(originalId);
+                }
             }
         }
         else {
@@ -835,6 +850,9 @@ public abstract class MeterRegistry {
             System.arraycopy(filters, 0, newFilters, 0, filters.length);
             newFilters[filters.length] = filter;
             filters = newFilters;
+            for (Consumer<MeterFilter> onFilterAdded : meterFilterAddedListeners) {
+                onFilterAdded.accept(filter);
+            }
             return this;
         }
 
@@ -863,6 +881,20 @@ public abstract class MeterRegistry {
             return this;
         }
 
+        /**
+         * Register an event listener for each {@link MeterFilter} configured on the
+         * registry, for example to drop meters cached outside of the registry, since
+         * registering them again may now result in different meters.
+         * @param meterFilterAddedListener a meter-filter-added event listener to be added
+         * @return This configuration instance.
+         * @since 1.14.0
+         */
+        @Incubating(since = "1.14.0")
+        public Config onMeterFilterAdded(Consumer<MeterFilter> meterFilterAddedListener) {
+            meterFilterAddedListeners.add(meterFilterAddedListener);
+            return this;
+        }
+
         /**
          * Register an event listener for each meter removed from the registry.
          * @param meterRemovedListener a meter-removed event listener to be added
@@ -38,20 +38,33 @@ public final class Tags implements Iterable<Tag> {
 
     private final Tag[] tags;
 
-    private int last;
+    private final int last;
+
+    // Tags are used as part of meter ids, which are hashed on every registry lookup, so
+    // the hash is computed once. Zero means not computed yet, like String#hashCode.
+    private int hash;
 
     private Tags(Tag[] tags) {
         this.tags = tags;
         Arrays.sort(this.tags);
-        dedup();
+        this.last = dedup(tags);
+    }
+
+    private Tags(Tag[] sortedTags, int last) {
+        this.tags = sortedTags;
+        this.last = last;
     }
 
-    private void dedup() {
+    /**
+     * Remove all but the last of the tags sharing a key from the sorted array, moving the
+     * remaining tags to its start.
+     * @return the number of remaining tags
+     */
+    private static int dedup(Tag[] tags) {
         int n = tags.length;
 
         if (n == 0 || n == 1) {
-            last = n;
-            return;
+            return n;
         }
 
         // index of next unique element
@@ -62,7 +75,39 @@ public final class Tags implements Iterable<Tag> {
                 tags[j++] = tags[i];
 
         tags[j++] = tags[n - 1];
-        last = j;
+        return j;
+    }
+
+    /**
+     * Merge this collection with sorted and deduplicated tags in linear time, rather than
+     * sorting the concatenation of both. Tags from {@code otherTags} replace the tags of
+     * this collection that have the same key.
+     */
+    private Tags merge(Tag[] otherTags, int otherLast) {
+        Tag[] merged = new Tag[last + otherLast];
+        int i = 0;
+        int j = 0;
+        int k = 0;
+        while (i < last && j < otherLast) {
+            int comparison = tags[i].compareTo(otherTags[j]);
+            if (comparison < 0) {
+                merged[k++] = tags[i++];
+            }
+            else if (comparison > 0) {
+                merged[k++] = otherTags[j++];
+            }
+            else {
+                merged[k++] = otherTags[j++];
+                i++;
+            }
+        }
+        while (i < last) {
+            merged[k++] = tags[i++];
+        }
+        while (j < otherLast) {
+            merged[k++] = otherTags[j++];
+        }
+        return new Tags(merged, k);
     }
 
     /**
@@ -99,10 +144,11 @@ public final class Tags implements Iterable<Tag> {
         if (blankVarargs(tags)) {
             return this;
         }
-        Tag[] newTags = new Tag[last + tags.length];
-        System.arraycopy(this.tags, 0, newTags, 0, last);
-        System.arraycopy(tags, 0, newTags, last, tags.length);
-        return new Tags(newTags);
+        Tags other = new Tags(Arrays.copyOf(tags, tags.length));
+        if (last == 0) {
+            return other;
+        }
+        return merge(other.tags, other.last);
     }
 
     /**
@@ -116,11 +162,11 @@ public final class Tags implements Iterable<Tag> {
             return this;
         }
 
-        if (this.tags.length == 0) {
-            return Tags.of(tags);
+        Tags other = Tags.of(tags);
+        if (last == 0) {
+            return other;
         }
-
-        return and(Tags.of(tags).tags);
+        return merge(other.tags, other.last);
     }
 
     @Override
@@ -165,9 +211,13 @@ public final class Tags implements Iterable<Tag> {
 
     @Override
     public int hashCode() {
-        int result = 1;
-        for (int i = 0; i < last; i++) {
-            result = 31 * result + tags[i].hashCode();
+        int result = hash;
+        if (result == 0) {
+            result = 1;
+            for (int i = 0; i < last; i++) {
+                result = 31 * result + tags[i].hashCode();
+            }
+            hash = result;
         }
         return result;
     }
@@ -184,6 +234,10 @@ public final class Tags implements Iterable<Tag> {
         if (last != obj.last)
             return false;
 
+        // only compare hashes that are already computed
+        if (hash != 0 && obj.hash != 0 && hash != obj.hash)
+            return false;
+
         for (int i = 0; i < last; i++) {
             if (!tags[i].equals(obj.tags[i]))
                 return false;
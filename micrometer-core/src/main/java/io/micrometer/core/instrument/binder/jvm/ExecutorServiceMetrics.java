@@ -24,6 +24,7 @@ import io.micrometer.common.util.internal.logging.InternalLoggerFactory;
 import io.micrometer.core.instrument.*;
 import io.micrometer.core.instrument.binder.BaseUnits;
 import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.internal.CountedExecutorService;
 import io.micrometer.core.instrument.internal.TimedExecutor;
 import io.micrometer.core.instrument.internal.TimedExecutorService;
 import io.micrometer.core.instrument.internal.TimedScheduledExecutorService;
@@ -40,10 +41,13 @@ import static java.util.Arrays.asList;
  * {@link TimedExecutorService}.
  * <p>
  * Supports {@link ThreadPoolExecutor} and {@link ForkJoinPool} types of
- * {@link ExecutorService}. Some libraries may provide a wrapper type for
- * {@link ExecutorService}, like {@link TimedExecutorService}. Make sure to pass the
- * underlying, unwrapped ExecutorService to this MeterBinder, if it is wrapped in another
- * type.
+ * {@link ExecutorService}. Executors that start a new thread per task, like
+ * {@code Executors.newVirtualThreadPerTaskExecutor()}, don't keep track of their tasks,
+ * so they are supported by {@link #monitor(MeterRegistry, ExecutorService, String,
+ * Tag...) monitor} only, which counts the tasks as it wraps them. Some libraries may
+ * provide a wrapper type for {@link ExecutorService}, like {@link TimedExecutorService}.
+ * Make sure to pass the underlying, unwrapped ExecutorService to this MeterBinder, if it
+ * is wrapped in another type.
  *
  * @author Jon Schneider
  * @author Clint Checketts
@@ -177,10 +181,21 @@ public class ExecutorServiceMetrics implements MeterBinder {
         if (executor instanceof ScheduledExecutorService) {
             return monitor(registry, (ScheduledExecutorService) executor, executorServiceName, metricPrefix, tags);
         }
+        if (isThreadPerTaskExecutor(executor)) {
+            executor = new CountedExecutorService(executor);
+        }
         new ExecutorServiceMetrics(executor, executorServiceName, metricPrefix, tags).bindTo(registry);
         return new TimedExecutorService(registry, executor, executorServiceName, sanitizePrefix(metricPrefix), tags);
     }
 
+    /**
+     * Executors created by {@code Executors.newThreadPerTaskExecutor(ThreadFactory)} and
+     * {@code Executors.newVirtualThreadPerTaskExecutor()} on Java 21 and later.
+     */
+    private static boolean isThreadPerTaskExecutor(ExecutorService executor) {
+        return executor.getClass().getName().equals("java.util.concurrent.ThreadPerTaskExecutor");
+    }
+
     /**
      * Record metrics on the use of an {@link ExecutorService}.
      * @param registry The registry to bind metrics to.
@@ -294,6 +309,13 @@ public class ExecutorServiceMetrics implements MeterBinder {
         else if (executorService instanceof ForkJoinPool) {
             monitor(registry, (ForkJoinPool) executorService);
         }
+        else if (executorService instanceof CountedExecutorService) {
+            monitor(registry, (CountedExecutorService) executorService);
+        }
+        else if (isThreadPerTaskExecutor(executorService)) {
+            log.warn("Failed to bind as {} doesn't keep track of its tasks. Use ExecutorServiceMetrics#monitor"
+                    + " instead.", className);
+        }
         else if (allowIllegalReflectiveAccess) {
             if (className.equals("java.util.concurrent.Executors$DelegatedScheduledExecutorService")) {
                 monitor(registry, unwrapThreadPoolExecutor(executorService, executorService.getClass()));
@@ -418,6 +440,28 @@ public class ExecutorServiceMetrics implements MeterBinder {
             .register(registry);
     }
 
+    private void monitor(MeterRegistry registry, CountedExecutorService counted) {
+        FunctionCounter
+            .builder(metricPrefix + "executor.submitted", counted, CountedExecutorService::getSubmittedTaskCount)
+            .tags(tags)
+            .description("The total number of tasks that have been submitted for execution")
+            .baseUnit(BaseUnits.TASKS)
+            .register(registry);
+
+        FunctionCounter
+            .builder(metricPrefix + "executor.completed", counted, CountedExecutorService::getCompletedTaskCount)
+            .tags(tags)
+            .description("The total number of tasks that have completed execution")
+            .baseUnit(BaseUnits.TASKS)
+            .register(registry);
+
+        Gauge.builder(metricPrefix + "executor.active", counted, CountedExecutorService::getActiveCount)
+            .tags(tags)
+            .description("The number of threads that are executing tasks")
+            .baseUnit(BaseUnits.THREADS)
+            .register(registry);
+    }
+
     /**
      * Disable illegal reflective accesses.
      *
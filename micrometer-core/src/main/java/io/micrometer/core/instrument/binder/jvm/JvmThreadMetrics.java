@@ -17,6 +17,8 @@ package io.micrometer.core.instrument.binder.jvm;
 
 import io.micrometer.common.lang.NonNullApi;
 import io.micrometer.common.lang.NonNullFields;
+import io.micrometer.common.lang.Nullable;
+import io.micrometer.core.instrument.Clock;
 import io.micrometer.core.instrument.FunctionCounter;
 import io.micrometer.core.instrument.Gauge;
 import io.micrometer.core.instrument.MeterRegistry;
@@ -26,13 +28,22 @@ import io.micrometer.core.instrument.binder.BaseUnits;
 import io.micrometer.core.instrument.binder.MeterBinder;
 
 import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadInfo;
 import java.lang.management.ThreadMXBean;
+import java.time.Duration;
 import java.util.Arrays;
+import java.util.concurrent.ThreadLocalRandom;
 
 import static java.util.Collections.emptyList;
 
 /**
  * {@link MeterBinder} for JVM threads.
+ * <p>
+ * The {@code jvm.threads.states} gauges share a snapshot of the state of all threads,
+ * which is taken at most once per state refresh interval, since reading the state of
+ * every thread is costly when there are many of them. Optionally, the state of only a
+ * random sample of the threads is read and the counts are scaled up to the number of
+ * live threads.
  *
  * @author Jon Schneider
  * @author Johnny Lim
@@ -43,12 +54,46 @@ public class JvmThreadMetrics implements MeterBinder {
 
     private final Iterable<Tag> tags;
 
+    private final Duration stateRefreshInterval;
+
+    private final int maxSampledThreads;
+
     public JvmThreadMetrics() {
         this(emptyList());
     }
 
     public JvmThreadMetrics(Iterable<Tag> tags) {
+        this(tags, Duration.ofSeconds(1));
+    }
+
+    /**
+     * Create a {@code JvmThreadMetrics} instance.
+     * @param tags tags to apply to all recorded metrics
+     * @param stateRefreshInterval minimum time between two snapshots of the thread
+     * states
+     * @since 1.14.0
+     */
+    public JvmThreadMetrics(Iterable<Tag> tags, Duration stateRefreshInterval) {
+        this(tags, stateRefreshInterval, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Create a {@code JvmThreadMetrics} instance.
+     * @param tags tags to apply to all recorded metrics
+     * @param stateRefreshInterval minimum time between two snapshots of the thread
+     * states
+     * @param maxSampledThreads maximum number of threads whose state is read for a
+     * snapshot; when more threads are alive, the state counts are estimated from a
+     * random sample of this many threads
+     * @since 1.14.0
+     */
+    public JvmThreadMetrics(Iterable<Tag> tags, Duration stateRefreshInterval, int maxSampledThreads) {
+        if (maxSampledThreads <= 0) {
+            throw new IllegalArgumentException("maxSampledThreads must be positive");
+        }
         this.tags = tags;
+        this.stateRefreshInterval = stateRefreshInterval;
+        this.maxSampledThreads = maxSampledThreads;
     }
 
     @Override
@@ -81,11 +126,15 @@ public class JvmThreadMetrics implements MeterBinder {
 
         try {
             threadBean.getAllThreadIds();
+            ThreadStateSnapshot snapshot = new ThreadStateSnapshot(threadBean, Clock.SYSTEM, stateRefreshInterval,
+                    maxSampledThreads);
             for (Thread.State state : Thread.State.values()) {
-                Gauge.builder("jvm.threads.states", threadBean, (bean) -> getThreadStateCount(bean, state))
+                // the gauges hold the only reference to the snapshot
+                Gauge.builder("jvm.threads.states", snapshot, (s) -> s.getCount(state))
                     .tags(Tags.concat(tags, "state", getStateTagValue(state)))
                     .description("The current number of threads")
                     .baseUnit(BaseUnits.THREADS)
+                    .strongReference(true)
                     .register(registry);
             }
         }
@@ -97,13 +146,97 @@ public class JvmThreadMetrics implements MeterBinder {
 
     // VisibleForTesting
     static long getThreadStateCount(ThreadMXBean threadBean, Thread.State state) {
-        return Arrays.stream(threadBean.getThreadInfo(threadBean.getAllThreadIds()))
-            .filter(threadInfo -> threadInfo != null && threadInfo.getThreadState() == state)
-            .count();
+        return countThreadStates(threadBean.getThreadInfo(threadBean.getAllThreadIds()))[state.ordinal()];
+    }
+
+    private static long[] countThreadStates(ThreadInfo[] threadInfos) {
+        long[] counts = new long[Thread.State.values().length];
+        for (ThreadInfo threadInfo : threadInfos) {
+            // null if the thread is no longer alive
+            if (threadInfo != null) {
+                counts[threadInfo.getThreadState().ordinal()]++;
+            }
+        }
+        return counts;
     }
 
     private static String getStateTagValue(Thread.State state) {
         return state.name().toLowerCase().replace("_", "-");
     }
 
+    /**
+     * Number of threads per state, shared by the state gauges and refreshed at most
+     * once per refresh interval.
+     */
+    static class ThreadStateSnapshot {
+
+        private final ThreadMXBean threadBean;
+
+        private final Clock clock;
+
+        private final long refreshIntervalNanos;
+
+        private final int maxSampledThreads;
+
+        @Nullable
+        private volatile double[] counts;
+
+        private volatile long lastRefresh;
+
+        ThreadStateSnapshot(ThreadMXBean threadBean, Clock clock, Duration refreshInterval, int maxSampledThreads) {
+            this.threadBean = threadBean;
+            this.clock = clock;
+            this.refreshIntervalNanos = refreshInterval.toNanos();
+            this.maxSampledThreads = maxSampledThreads;
+        }
+
+        double getCount(Thread.State state) {
+            return getCounts()[state.ordinal()];
+        }
+
+        private double[] getCounts() {
+            double[] current = counts;
+            if (current != null && clock.monotonicTime() - lastRefresh < refreshIntervalNanos) {
+                return current;
+            }
+            synchronized (this) {
+                // another gauge may have refreshed the snapshot while we were waiting
+                current = counts;
+                long now = clock.monotonicTime();
+                if (current == null || now - lastRefresh >= refreshIntervalNanos) {
+                    current = takeSnapshot();
+                    counts = current;
+                    lastRefresh = now;
+                }
+                return current;
+            }
+        }
+
+        private double[] takeSnapshot() {
+            long[] threadIds = threadBean.getAllThreadIds();
+            long[] sampledIds = threadIds.length > maxSampledThreads ? sample(threadIds, maxSampledThreads)
+                    : threadIds;
+            long[] sampledCounts = countThreadStates(threadBean.getThreadInfo(sampledIds));
+            double scale = sampledIds.length == 0 ? 1 : (double) threadIds.length / sampledIds.length;
+            double[] snapshot = new double[sampledCounts.length];
+            for (int i = 0; i < sampledCounts.length; i++) {
+                snapshot[i] = sampledCounts[i] * scale;
+            }
+            return snapshot;
+        }
+
+        private static long[] sample(long[] threadIds, int sampleSize) {
+            // partial Fisher-Yates shuffle, the array is a fresh copy owned by us
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            for (int i = 0; i < sampleSize; i++) {
+                int j = i + random.nextInt(threadIds.length - i);
+                long id = threadIds[j];
+                threadIds[j] = threadIds[i];
+                threadIds[i] = id;
+            }
+            return Arrays.copyOf(threadIds, sampleSize);
+        }
+
+    }
+
 }
@@ -22,21 +22,29 @@ import io.micrometer.core.instrument.MeterRegistry;
 
 import java.util.Collections;
 import java.util.IdentityHashMap;
-import java.util.Iterator;
 import java.util.Map;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.IntFunction;
 
 abstract class AbstractCompositeMeter<T extends Meter> extends AbstractMeter implements CompositeMeter {
 
     private final AtomicBoolean childrenGuard = new AtomicBoolean();
 
+    private final IntFunction<T[]> arrayFactory;
+
     private Map<MeterRegistry, T> children = Collections.emptyMap();
 
+    // copy of the children, so that recording iterates over an array rather than
+    // allocating an iterator over the map every time
+    private volatile T[] childMeters;
+
     @Nullable
     private volatile T noopMeter;
 
-    AbstractCompositeMeter(Id id) {
+    AbstractCompositeMeter(Id id, IntFunction<T[]> arrayFactory) {
         super(id);
+        this.arrayFactory = arrayFactory;
+        this.childMeters = arrayFactory.apply(0);
     }
 
     abstract T newNoopMeter();
@@ -44,14 +52,14 @@ abstract class AbstractCompositeMeter<T extends Meter> extends AbstractMeter imp
     @Nullable
     abstract T registerNewMeter(MeterRegistry registry);
 
-    final Iterable<T> getChildren() {
-        return children.values();
+    final T[] getChildren() {
+        return childMeters;
     }
 
     T firstChild() {
-        final Iterator<T> i = children.values().iterator();
-        if (i.hasNext())
-            return i.next();
+        final T[] children = this.childMeters;
+        if (children.length > 0)
+            return children[0];
 
         // There are no child meters. Return a lazily instantiated no-op meter.
         final T noopMeter = this.noopMeter;
@@ -75,7 +83,7 @@ abstract class AbstractCompositeMeter<T extends Meter> extends AbstractMeter imp
                 try {
                     Map<MeterRegistry, T> newChildren = new IdentityHashMap<>(children);
                     newChildren.put(registry, newMeter);
-                    this.children = newChildren;
+                    setChildren(newChildren);
                     break;
                 }
                 finally {
@@ -97,7 +105,7 @@ abstract class AbstractCompositeMeter<T extends Meter> extends AbstractMeter imp
                 try {
                     Map<MeterRegistry, T> newChildren = new IdentityHashMap<>(children);
                     newChildren.remove(registry);
-                    this.children = newChildren;
+                    setChildren(newChildren);
                     break;
                 }
                 finally {
@@ -107,4 +115,9 @@ abstract class AbstractCompositeMeter<T extends Meter> extends AbstractMeter imp
         }
     }
 
+    private void setChildren(Map<MeterRegistry, T> children) {
+        this.children = children;
+        this.childMeters = children.values().toArray(arrayFactory.apply(children.size()));
+    }
+
 }
@@ -23,7 +23,7 @@ import io.micrometer.core.instrument.noop.NoopCounter;
 class CompositeCounter extends AbstractCompositeMeter<Counter> implements Counter {
 
     CompositeCounter(Meter.Id id) {
-        super(id);
+        super(id, Counter[]::new);
     }
 
     @Override
@@ -29,7 +29,7 @@ class CompositeDistributionSummary extends AbstractCompositeMeter<DistributionSu
     private final double scale;
 
     CompositeDistributionSummary(Meter.Id id, DistributionStatisticConfig distributionStatisticConfig, double scale) {
-        super(id);
+        super(id, DistributionSummary[]::new);
         this.distributionStatisticConfig = distributionStatisticConfig;
         this.scale = scale;
     }
@@ -30,7 +30,7 @@ public class CompositeFunctionCounter<T> extends AbstractCompositeMeter<Function
     private final ToDoubleFunction<T> f;
 
     CompositeFunctionCounter(Meter.Id id, T obj, ToDoubleFunction<T> f) {
-        super(id);
+        super(id, FunctionCounter[]::new);
         this.ref = new WeakReference<>(obj);
         this.f = f;
     }
@@ -31,7 +31,7 @@ class CompositeGauge<T> extends AbstractCompositeMeter<Gauge> implements Gauge {
     private final ToDoubleFunction<T> f;
 
     CompositeGauge(Meter.Id id, @Nullable T obj, ToDoubleFunction<T> f) {
-        super(id);
+        super(id, Gauge[]::new);
         ref = new WeakReference<>(obj);
         this.f = f;
     }
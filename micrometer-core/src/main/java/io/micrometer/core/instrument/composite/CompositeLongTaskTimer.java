@@ -32,14 +32,15 @@ class CompositeLongTaskTimer extends AbstractCompositeMeter<LongTaskTimer> imple
     private final DistributionStatisticConfig distributionStatisticConfig;
 
     CompositeLongTaskTimer(Meter.Id id, DistributionStatisticConfig distributionStatisticConfig) {
-        super(id);
+        super(id, LongTaskTimer[]::new);
         this.distributionStatisticConfig = distributionStatisticConfig;
     }
 
     @Override
     public Sample start() {
-        List<Sample> samples = new ArrayList<>();
-        for (LongTaskTimer ltt : getChildren()) {
+        LongTaskTimer[] children = getChildren();
+        List<Sample> samples = new ArrayList<>(children.length);
+        for (LongTaskTimer ltt : children) {
             samples.add(ltt.start());
         }
         return new CompositeSample(samples);
@@ -33,7 +33,7 @@ class CompositeTimeGauge<T> extends AbstractCompositeMeter<TimeGauge> implements
     private final TimeUnit fUnit;
 
     CompositeTimeGauge(Id id, @Nullable T obj, TimeUnit fUnit, ToDoubleFunction<T> f) {
-        super(id);
+        super(id, TimeGauge[]::new);
         ref = new WeakReference<>(obj);
         this.f = f;
         this.fUnit = fUnit;
@@ -42,7 +42,7 @@ class CompositeTimer extends AbstractCompositeMeter<Timer> implements Timer {
 
     CompositeTimer(Id id, Clock clock, DistributionStatisticConfig distributionStatisticConfig,
             PauseDetector pauseDetector) {
-        super(id);
+        super(id, Timer[]::new);
         this.clock = clock;
         this.distributionStatisticConfig = distributionStatisticConfig;
         this.pauseDetector = pauseDetector;
@@ -57,9 +57,8 @@ class CompositeTimer extends AbstractCompositeMeter<Timer> implements Timer {
 
     @Override
     public void record(Duration duration) {
-        for (Timer timer : getChildren()) {
-            timer.record(duration);
-        }
+        // convert once rather than in every child
+        record(duration.toNanos(), TimeUnit.NANOSECONDS);
     }
 
     @Override
@@ -21,7 +21,9 @@ import io.micrometer.core.instrument.distribution.DistributionStatisticConfig;
 
 import java.time.Duration;
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Function;
@@ -277,6 +279,89 @@ public interface MeterFilter {
         };
     }
 
+    /**
+     * Places an upper bound on the number of distinct tag sets of each meter name that
+     * begins with the given prefix, as they are registered. Once the bound is reached
+     * for a name, further tag sets of that name are replaced with the
+     * {@code otel.metric.overflow=true} tag, so their recordings are aggregated into a
+     * single overflow series.
+     * @param meterNamePrefix Apply filter to metrics that begin with this name.
+     * @param maximumTagSets The number of distinct tag sets allowed per meter name.
+     * @return A meter filter that limits the number of tag sets of matching metrics.
+     * @since 1.14.0
+     * @see #maximumAllowableTagSets(String, int, Iterable)
+     */
+    static MeterFilter maximumAllowableTagSets(String meterNamePrefix, int maximumTagSets) {
+        return maximumAllowableTagSets(meterNamePrefix, maximumTagSets, Tags.of("otel.metric.overflow", "true"));
+    }
+
+    /**
+     * Places an upper bound on the number of distinct tag sets of each meter name that
+     * begins with the given prefix, as they are registered. Once the bound is reached
+     * for a name, further tag sets of that name are replaced with the overflow tags, so
+     * their recordings are aggregated into a single overflow series.
+     * <p>
+     * A tag set is counted when this filter accepts its meter for registration, so
+     * looking up or removing a meter doesn't use up an allowed tag set. This filter has
+     * to be configured after filters that deny meters and before filters that accept
+     * them, since those filters decide on registration before or instead of this one.
+     * Meters registered concurrently while the bound is being reached can exceed it by
+     * the number of registering threads.
+     * <p>
+     * Only the allowed tag sets are remembered, so the memory used is bounded by the
+     * number of distinct meter names that begin with the prefix times the maximum number
+     * of tag sets. Use a prefix that matches a bounded set of names. Tag sets stay
+     * allowed after their meters are removed. The overflow series doesn't have any of
+     * the tags it replaces, including common tags added by filters configured before
+     * this one.
+     * @param meterNamePrefix Apply filter to metrics that begin with this name.
+     * @param maximumTagSets The number of distinct tag sets allowed per meter name.
+     * @param overflowTags The tags of the overflow series.
+     * @return A meter filter that limits the number of tag sets of matching metrics.
+     * @since 1.14.0
+     */
+    static MeterFilter maximumAllowableTagSets(String meterNamePrefix, int maximumTagSets,
+            Iterable<Tag> overflowTags) {
+        Tags overflow = Tags.of(overflowTags);
+        return new MeterFilter() {
+            private final Map<String, Set<Iterable<Tag>>> allowedTagSets = new ConcurrentHashMap<>();
+
+            @Override
+            public Meter.Id map(Meter.Id id) {
+                if (!id.getName().startsWith(meterNamePrefix)) {
+                    return id;
+                }
+                Set<Iterable<Tag>> tagSets = allowedTagSets.get(id.getName());
+                if (tagSets == null) {
+                    return id;
+                }
+                synchronized (tagSets) {
+                    if (tagSets.size() < maximumTagSets || tagSets.contains(id.getTagsAsIterable())) {
+                        return id;
+                    }
+                }
+                return id.replaceTags(overflow);
+            }
+
+            @Override
+            public MeterFilterReply accept(Meter.Id id) {
+                if (id.getName().startsWith(meterNamePrefix)) {
+                    Set<Iterable<Tag>> tagSets = allowedTagSets.computeIfAbsent(id.getName(),
+                            name -> new HashSet<>());
+                    // the id got mapped before the bound was reached, unless it's the
+                    // overflow series
+                    Iterable<Tag> tags = id.getTagsAsIterable();
+                    if (!overflow.equals(tags)) {
+                        synchronized (tagSets) {
+                            tagSets.add(tags);
+                        }
+                    }
+                }
+                return MeterFilterReply.NEUTRAL;
+            }
+        };
+    }
+
     /**
      * Meters that start with the provided name prefix should NOT be present in published
      * metrics.
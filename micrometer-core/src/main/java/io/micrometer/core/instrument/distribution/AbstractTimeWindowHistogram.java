@@ -21,13 +21,19 @@ import io.micrometer.core.instrument.config.InvalidConfigurationException;
 
 import java.io.PrintStream;
 import java.lang.reflect.Array;
-import java.util.Iterator;
-import java.util.Set;
+import java.util.Objects;
 import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
 
 /**
  * An abstract base class for histogram implementations who maintain samples in a ring
  * buffer to decay older samples and give greater weight to recent samples.
+ * <p>
+ * By default, every sample is recorded into each bucket of the ring buffer, and the
+ * bucket that was reset the longest time ago holds the whole time window. In single-write
+ * mode, a sample is only recorded into the current bucket, and the time window is merged
+ * from all buckets when a snapshot is taken. This makes recording cost independent of
+ * {@link DistributionStatisticConfig#getBufferLength()} at the price of more work per
+ * snapshot.
  *
  * @param <T> the type of the buckets in a ring buffer
  * @param <U> the type of accumulated histogram
@@ -49,6 +55,8 @@ abstract class AbstractTimeWindowHistogram<T, U> implements Histogram {
 
     private final T[] ringBuffer;
 
+    private final boolean singleWrite;
+
     private short currentBucket;
 
     private final long durationBetweenRotatesMillis;
@@ -63,12 +71,21 @@ abstract class AbstractTimeWindowHistogram<T, U> implements Histogram {
     @Nullable
     private U accumulatedHistogram;
 
-    @SuppressWarnings("unchecked")
+    @Nullable
+    private double[] monitoredValues;
+
     AbstractTimeWindowHistogram(Clock clock, DistributionStatisticConfig distributionStatisticConfig,
             Class<T> bucketType, boolean supportsAggregablePercentiles) {
+        this(clock, distributionStatisticConfig, bucketType, supportsAggregablePercentiles, false);
+    }
+
+    @SuppressWarnings("unchecked")
+    AbstractTimeWindowHistogram(Clock clock, DistributionStatisticConfig distributionStatisticConfig,
+            Class<T> bucketType, boolean supportsAggregablePercentiles, boolean singleWrite) {
         this.clock = clock;
         this.distributionStatisticConfig = validateDistributionConfig(distributionStatisticConfig);
         this.supportsAggregablePercentiles = supportsAggregablePercentiles;
+        this.singleWrite = singleWrite;
 
         final int ageBuckets = distributionStatisticConfig.getBufferLength();
 
@@ -117,6 +134,16 @@ abstract class AbstractTimeWindowHistogram<T, U> implements Histogram {
 
     abstract void resetBucket(T bucket);
 
+    /**
+     * Reset the bucket at the given index of the ring buffer. Implementations which keep
+     * additional state per bucket can override this to reset it as well.
+     * @param bucket the bucket to reset
+     * @param index the index of the bucket in the ring buffer
+     */
+    void resetBucket(T bucket, int index) {
+        resetBucket(bucket);
+    }
+
     abstract U newAccumulatedHistogram(T[] ringBuffer);
 
     abstract void accumulate();
@@ -125,7 +152,13 @@ abstract class AbstractTimeWindowHistogram<T, U> implements Histogram {
 
     abstract double valueAtPercentile(double percentile);
 
-    abstract Iterator<CountAtBucket> countsAtValues(Iterator<Double> values);
+    /**
+     * Compute the counts at the given bucket boundaries.
+     * @param values bucket boundaries in ascending order
+     * @param counts array to write the count at each bucket to
+     * @param offset index in {@code counts} of the count at the first bucket
+     */
+    abstract void countsAtValues(double[] values, double[] counts, int offset);
 
     void outputSummary(PrintStream out, double bucketScaling) {
     }
@@ -145,6 +178,28 @@ abstract class AbstractTimeWindowHistogram<T, U> implements Histogram {
         return new HistogramSnapshot(count, total, max, values, counts, this::outputSummary);
     }
 
+    @Override
+    public final void takeSnapshot(HistogramSnapshotBuffer buffer) {
+        rotate();
+
+        synchronized (this) {
+            accumulateIfStale();
+
+            double[] monitoredPercentiles = distributionStatisticConfig.getPercentiles();
+            if (monitoredPercentiles != null) {
+                for (double p : monitoredPercentiles) {
+                    buffer.addPercentileValue(p, valueAtPercentile(p * 100));
+                }
+            }
+
+            double[] monitoredValues = monitoredValues();
+            if (monitoredValues.length > 0) {
+                int offset = buffer.addBuckets(monitoredValues);
+                countsAtValues(monitoredValues, buffer.bucketCounts(), offset);
+            }
+        }
+    }
+
     private void accumulateIfStale() {
         if (accumulatedHistogramStale) {
             accumulate();
@@ -167,29 +222,51 @@ abstract class AbstractTimeWindowHistogram<T, U> implements Histogram {
     }
 
     private CountAtBucket[] takeCountSnapshot() {
-        if (!distributionStatisticConfig.isPublishingHistogram()) {
+        final double[] monitoredValues = monitoredValues();
+        if (monitoredValues.length == 0) {
             return null;
         }
 
-        final Set<Double> monitoredValues = distributionStatisticConfig
-            .getHistogramBuckets(supportsAggregablePercentiles);
-        if (monitoredValues.isEmpty()) {
-            return null;
-        }
+        final double[] bucketCounts = new double[monitoredValues.length];
+        countsAtValues(monitoredValues, bucketCounts, 0);
 
-        final CountAtBucket[] counts = new CountAtBucket[monitoredValues.size()];
-        final Iterator<CountAtBucket> iterator = countsAtValues(monitoredValues.iterator());
+        final CountAtBucket[] counts = new CountAtBucket[monitoredValues.length];
         for (int i = 0; i < counts.length; i++) {
-            counts[i] = iterator.next();
+            counts[i] = new CountAtBucket(monitoredValues[i], bucketCounts[i]);
         }
         return counts;
     }
 
+    /**
+     * The histogram buckets are computed from the configuration on the first snapshot
+     * rather than on each one. Must be called while holding the lock on this histogram.
+     */
+    private double[] monitoredValues() {
+        if (monitoredValues == null) {
+            if (distributionStatisticConfig.isPublishingHistogram()) {
+                monitoredValues = distributionStatisticConfig.getHistogramBuckets(supportsAggregablePercentiles)
+                    .stream()
+                    .filter(Objects::nonNull)
+                    .mapToDouble(Double::doubleValue)
+                    .toArray();
+            }
+            else {
+                monitoredValues = new double[0];
+            }
+        }
+        return monitoredValues;
+    }
+
     public void recordLong(long value) {
         rotate();
         try {
-            for (T bucket : ringBuffer) {
-                recordLong(bucket, value);
+            if (singleWrite) {
+                recordLong(ringBuffer[currentBucket], value);
+            }
+            else {
+                for (T bucket : ringBuffer) {
+                    recordLong(bucket, value);
+                }
             }
         }
         catch (IndexOutOfBoundsException ignored) {
@@ -204,8 +281,13 @@ abstract class AbstractTimeWindowHistogram<T, U> implements Histogram {
     public void recordDouble(double value) {
         rotate();
         try {
-            for (T bucket : ringBuffer) {
-                recordDouble(bucket, value);
+            if (singleWrite) {
+                recordDouble(ringBuffer[currentBucket], value);
+            }
+            else {
+                for (T bucket : ringBuffer) {
+                    recordDouble(bucket, value);
+                }
             }
         }
         catch (IndexOutOfBoundsException ignored) {
@@ -233,9 +315,17 @@ abstract class AbstractTimeWindowHistogram<T, U> implements Histogram {
             int iterations = 0;
             synchronized (this) {
                 do {
-                    resetBucket(ringBuffer[currentBucket]);
-                    if (++currentBucket >= ringBuffer.length) {
-                        currentBucket = 0;
+                    if (singleWrite) {
+                        // reset the oldest bucket before making it the one recorded into
+                        short nextBucket = (short) (currentBucket + 1 >= ringBuffer.length ? 0 : currentBucket + 1);
+                        resetBucket(ringBuffer[nextBucket], nextBucket);
+                        currentBucket = nextBucket;
+                    }
+                    else {
+                        resetBucket(ringBuffer[currentBucket], currentBucket);
+                        if (++currentBucket >= ringBuffer.length) {
+                            currentBucket = 0;
+                        }
                     }
                     timeSinceLastRotateMillis -= durationBetweenRotatesMillis;
                     lastRotateTimestampMillis += durationBetweenRotatesMillis;
@@ -259,4 +349,16 @@ abstract class AbstractTimeWindowHistogram<T, U> implements Histogram {
         return ringBuffer[currentBucket];
     }
 
+    /**
+     * @return whether samples are only recorded into the current bucket, in which case
+     * the time window has to be merged from all buckets of {@link #ringBuffer()}
+     */
+    boolean isSingleWrite() {
+        return singleWrite;
+    }
+
+    T[] ringBuffer() {
+        return ringBuffer;
+    }
+
 }
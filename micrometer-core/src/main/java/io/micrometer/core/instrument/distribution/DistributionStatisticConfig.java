@@ -71,6 +71,9 @@ public class DistributionStatisticConfig implements Mergeable<DistributionStatis
     @Nullable
     private Integer bufferLength;
 
+    @Nullable
+    private Integer maxStripes;
+
     public static Builder builder() {
         return new Builder();
     }
@@ -98,6 +101,7 @@ public class DistributionStatisticConfig implements Mergeable<DistributionStatis
                     this.maximumExpectedValue == null ? parent.maximumExpectedValue : this.maximumExpectedValue)
             .expiry(this.expiry == null ? parent.expiry : this.expiry)
             .bufferLength(this.bufferLength == null ? parent.bufferLength : this.bufferLength)
+            .maxStripes(this.maxStripes == null ? parent.maxStripes : this.maxStripes)
             .build();
     }
 
@@ -238,6 +242,19 @@ public class DistributionStatisticConfig implements Mergeable<DistributionStatis
         return bufferLength;
     }
 
+    /**
+     * The decaying max is tracked in ring buffers that can be split into stripes, each
+     * recorded to by a different subset of threads, so that concurrent recordings of new
+     * maximums don't contend with each other. Polling the max combines all stripes.
+     * @return The number of stripes the max is tracked in. A single stripe is used if
+     * {@code null}.
+     * @since 1.14.0
+     */
+    @Nullable
+    public Integer getMaxStripes() {
+        return maxStripes;
+    }
+
     /**
      * Publish at a minimum a histogram containing your defined SLA boundaries. When used
      * in conjunction with {@link #percentileHistogram}, the boundaries defined here are
@@ -453,6 +470,22 @@ public class DistributionStatisticConfig implements Mergeable<DistributionStatis
             return this;
         }
 
+        /**
+         * The decaying max is tracked in ring buffers that can be split into stripes,
+         * each recorded to by a different subset of threads, so that concurrent
+         * recordings of new maximums don't contend with each other. Worth raising for
+         * meters recorded to by many threads at once, at the cost of more memory per
+         * meter.
+         * @param maxStripes The number of stripes the max is tracked in, rounded up to a
+         * power of two.
+         * @return This builder.
+         * @since 1.14.0
+         */
+        public Builder maxStripes(@Nullable Integer maxStripes) {
+            config.maxStripes = maxStripes;
+            return this;
+        }
+
         /**
          * @return A new immutable distribution configuration.
          */
@@ -466,6 +499,10 @@ public class DistributionStatisticConfig implements Mergeable<DistributionStatis
                 rejectConfig("bufferLength (" + config.bufferLength + ") must be greater than zero");
             }
 
+            if (config.maxStripes != null && config.maxStripes <= 0) {
+                rejectConfig("maxStripes (" + config.maxStripes + ") must be greater than zero");
+            }
+
             if (config.percentiles != null) {
                 for (double p : config.percentiles) {
                     if (p < 0 || p > 1) {
@@ -15,29 +15,91 @@
  */
 package io.micrometer.core.instrument.distribution;
 
+import io.micrometer.common.lang.Nullable;
+
 import java.util.Arrays;
-import java.util.Iterator;
 import java.util.concurrent.atomic.AtomicLongArray;
 
 class FixedBoundaryHistogram {
 
-    final AtomicLongArray values;
+    /**
+     * Number of longs (one cache line) used to pad stripes of bucket counts from each
+     * other.
+     */
+    private static final int STRIPE_PADDING = 8;
+
+    private static final int MAX_STRIPES = 64;
+
+    /**
+     * Bucket counts, laid out as {@code stripes} consecutive blocks of {@code stride}
+     * counts each when striped.
+     */
+    private final AtomicLongArray values;
 
     private final double[] buckets;
 
+    private final Boundaries boundaries;
+
     private final boolean isCumulativeBucketCounts;
 
+    private final int stride;
+
+    private final int stripeMask;
+
     FixedBoundaryHistogram(double[] buckets, boolean isCumulativeBucketCounts) {
+        this(buckets, isCumulativeBucketCounts, false);
+    }
+
+    /**
+     * Create a {@code FixedBoundaryHistogram}.
+     * @param buckets bucket boundaries
+     * @param isCumulativeBucketCounts whether it uses cumulative bucket counts
+     * @param striped whether bucket counts are spread over several stripes, similar to
+     * {@link java.util.concurrent.atomic.LongAdder}, so that concurrently recording
+     * threads do not contend on the same cache lines. This trades memory proportional
+     * to the number of available processors for recording throughput.
+     */
+    FixedBoundaryHistogram(double[] buckets, boolean isCumulativeBucketCounts, boolean striped) {
+        this(new Boundaries(buckets), isCumulativeBucketCounts, striped);
+    }
+
+    /**
+     * Create a {@code FixedBoundaryHistogram} with bucket boundaries that can be shared
+     * with other histograms, e.g. the other buckets of a ring buffer.
+     * @param boundaries bucket boundaries
+     * @param isCumulativeBucketCounts whether it uses cumulative bucket counts
+     * @param striped whether bucket counts are spread over several stripes
+     */
+    FixedBoundaryHistogram(Boundaries boundaries, boolean isCumulativeBucketCounts, boolean striped) {
+        double[] buckets = boundaries.buckets;
         this.buckets = buckets;
-        this.values = new AtomicLongArray(buckets.length);
+        this.boundaries = boundaries;
         this.isCumulativeBucketCounts = isCumulativeBucketCounts;
+        int stripes = striped ? stripes() : 1;
+        this.stride = stripes == 1 ? buckets.length
+                : ((buckets.length + STRIPE_PADDING - 1) & -STRIPE_PADDING) + STRIPE_PADDING;
+        this.stripeMask = stripes - 1;
+        this.values = new AtomicLongArray(stride * stripes);
+    }
+
+    private static int stripes() {
+        int processors = Math.min(Runtime.getRuntime().availableProcessors(), MAX_STRIPES);
+        return processors <= 1 ? 1 : Integer.highestOneBit(processors - 1) << 1;
     }
 
     long countAtValue(double value) {
         int index = Arrays.binarySearch(buckets, value);
         if (index < 0)
             return 0;
-        return values.get(index);
+        return countAtIndex(index);
+    }
+
+    long countAtIndex(int index) {
+        long count = 0;
+        for (int i = index; i < values.length(); i += stride) {
+            count += values.get(i);
+        }
+        return count;
     }
 
     void reset() {
@@ -47,54 +109,131 @@ class FixedBoundaryHistogram {
     }
 
     void record(long value) {
-        int index = leastLessThanOrEqualTo(value);
-        if (index > -1)
-            values.incrementAndGet(index);
+        int index = boundaries.leastLessThanOrEqualTo(value);
+        if (index > -1) {
+            if (stripeMask == 0) {
+                values.incrementAndGet(index);
+            }
+            else {
+                int i = (StripeProbe.get() & stripeMask) * stride + index;
+                long count = values.get(i);
+                if (!values.compareAndSet(i, count, count + 1)) {
+                    // contended, move this thread to another stripe for later recordings
+                    values.incrementAndGet((StripeProbe.advance() & stripeMask) * stride + index);
+                }
+            }
+        }
     }
 
     /**
      * The least bucket that is less than or equal to a sample.
      */
     int leastLessThanOrEqualTo(double key) {
-        int low = 0;
-        int high = buckets.length - 1;
-
-        while (low <= high) {
-            int mid = (low + high) >>> 1;
-            double value = buckets[mid];
-            if (value < key)
-                low = mid + 1;
-            else if (value > key)
-                high = mid - 1;
-            else
-                return mid; // exact match
-        }
+        return boundaries.binarySearch(key);
+    }
 
-        return low < buckets.length ? low : -1;
+    void countsAtValues(double[] values, double[] counts, int offset) {
+        double cumulativeCount = 0.0;
+        for (int i = 0; i < values.length; i++) {
+            double count = countAtValue(values[i]);
+            if (isCumulativeBucketCounts) {
+                cumulativeCount += count;
+                counts[offset + i] = cumulativeCount;
+            }
+            else {
+                counts[offset + i] = count;
+            }
+        }
     }
 
-    Iterator<CountAtBucket> countsAtValues(Iterator<Double> values) {
-        return new Iterator<CountAtBucket>() {
-            private double cumulativeCount = 0.0;
+    /**
+     * Bucket boundaries, along with a lookup table for finding the bucket of a sample in
+     * constant time where the boundaries coincide with {@link PercentileHistogramBuckets}.
+     */
+    static final class Boundaries {
+
+        private static final int SEARCH = -2;
+
+        final double[] buckets;
+
+        /**
+         * For each percentile bucket from {@code lookupOffset} on, the index of the least
+         * bucket greater than or equal to it, or {@link #SEARCH} if a bucket lies
+         * between it and the previous percentile bucket, in which case we fall back to a
+         * binary search. Percentile buckets before {@code lookupOffset} are less than the
+         * first bucket, those after the table are greater than the last bucket.
+         */
+        @Nullable
+        private final int[] lookup;
+
+        private final int lookupOffset;
+
+        Boundaries(double[] buckets) {
+            this.buckets = buckets;
+            if (buckets.length == 0) {
+                this.lookup = null;
+                this.lookupOffset = 0;
+                return;
+            }
 
-            @Override
-            public boolean hasNext() {
-                return values.hasNext();
+            double[] percentileBuckets = PercentileHistogramBuckets.bucketValues();
+            int first = 0;
+            while (percentileBuckets[first] < buckets[0]) {
+                first++;
+            }
+            int last = first;
+            while (percentileBuckets[last] < buckets[buckets.length - 1]) {
+                last++;
             }
 
-            @Override
-            public CountAtBucket next() {
-                double value = values.next();
-                double count = countAtValue(value);
-                if (isCumulativeBucketCounts) {
-                    cumulativeCount += count;
-                    return new CountAtBucket(value, cumulativeCount);
+            int[] lookup = new int[last - first + 1];
+            int index = 0;
+            for (int i = first; i <= last; i++) {
+                double lower = i == 0 ? Double.NEGATIVE_INFINITY : percentileBuckets[i - 1];
+                while (buckets[index] <= lower) {
+                    index++;
                 }
-                else {
-                    return new CountAtBucket(value, count);
+                lookup[i - first] = buckets[index] < percentileBuckets[i] ? SEARCH : index;
+            }
+            this.lookup = lookup;
+            this.lookupOffset = first;
+        }
+
+        int leastLessThanOrEqualTo(long value) {
+            if (lookup != null && value < PercentileHistogramBuckets.MAX_INDEXED_VALUE) {
+                int i = PercentileHistogramBuckets.indexOf(value) - lookupOffset;
+                if (i < 0) {
+                    return 0;
+                }
+                if (i >= lookup.length) {
+                    return -1;
+                }
+                int index = lookup[i];
+                if (index != SEARCH) {
+                    return index;
                 }
             }
-        };
+            return binarySearch(value);
+        }
+
+        int binarySearch(double key) {
+            int low = 0;
+            int high = buckets.length - 1;
+
+            while (low <= high) {
+                int mid = (low + high) >>> 1;
+                double value = buckets[mid];
+                if (value < key)
+                    low = mid + 1;
+                else if (value > key)
+                    high = mid - 1;
+                else
+                    return mid; // exact match
+            }
+
+            return low < buckets.length ? low : -1;
+        }
+
     }
 
 }
@@ -33,6 +33,19 @@ public interface Histogram extends AutoCloseable {
 
     HistogramSnapshot takeSnapshot(long count, double total, double max);
 
+    /**
+     * Append the percentile values and bucket counts of this histogram to a buffer whose
+     * count, total and max have already been {@link HistogramSnapshotBuffer#reset set} by
+     * the owning meter. Implementations should override the default, which goes through
+     * {@link #takeSnapshot(long, double, double)}, to fill the buffer without allocating
+     * an object per percentile or bucket.
+     * @param buffer buffer to append to
+     * @since 1.14.0
+     */
+    default void takeSnapshot(HistogramSnapshotBuffer buffer) {
+        buffer.addAll(takeSnapshot(buffer.count(), buffer.total(), buffer.max()));
+    }
+
     @Override
     default void close() {
     }
@@ -0,0 +1,287 @@
+/*
+ * Copyright 2024 VMware, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micrometer.core.instrument.distribution;
+
+import io.micrometer.core.instrument.util.TimeUtils;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A reusable, mutable counterpart of {@link HistogramSnapshot} backed by primitive
+ * arrays. Publishing a histogram through a buffer via
+ * {@link HistogramSupport#takeSnapshot(HistogramSnapshotBuffer)} avoids allocating a
+ * {@link ValueAtPercentile} per percentile and a {@link CountAtBucket} per bucket, which
+ * adds up when exporting many histograms at once.
+ * <p>
+ * Filling a buffer copies what a histogram has already computed, so it doesn't allocate
+ * per snapshot. Histograms that capture their counts once per step, such as
+ * {@link StepBucketHistogram}, still allocate when a step rolls over.
+ * <p>
+ * A buffer is not thread safe. It is meant to be used by one exporting thread at a time
+ * and refilled for every meter, so its arrays only grow to fit the largest histogram
+ * unless {@link #trim(int) trimmed}.
+ *
+ * @since 1.14.0
+ */
+public final class HistogramSnapshotBuffer {
+
+    private static final double[] EMPTY = new double[0];
+
+    private long count;
+
+    private double total;
+
+    private double max;
+
+    private double[] percentiles = EMPTY;
+
+    private double[] percentileValues = EMPTY;
+
+    private int percentileCount;
+
+    private double[] buckets = EMPTY;
+
+    private double[] bucketCounts = EMPTY;
+
+    private int bucketCount;
+
+    /**
+     * Discard all percentiles and buckets and set the summary statistics of the next
+     * snapshot.
+     * @param count Total number of recordings
+     * @param total In nanos if a unit of time
+     * @param max In nanos if a unit of time
+     */
+    public void reset(long count, double total, double max) {
+        this.count = count;
+        this.total = total;
+        this.max = max;
+        this.percentileCount = 0;
+        this.bucketCount = 0;
+    }
+
+    /**
+     * Replace the contents of this buffer with those of a snapshot.
+     * @param snapshot snapshot to copy
+     */
+    public void set(HistogramSnapshot snapshot) {
+        reset(snapshot.count(), snapshot.total(), snapshot.max());
+        addAll(snapshot);
+    }
+
+    /**
+     * Drop the arrays of this buffer if they have grown beyond the given capacity, so
+     * that a buffer kept for reuse doesn't hold on to the memory of an exceptionally
+     * large histogram. Dropped percentiles or buckets are discarded.
+     * @param maxCapacity largest number of percentiles or buckets to keep room for
+     */
+    public void trim(int maxCapacity) {
+        if (percentiles.length > maxCapacity) {
+            percentiles = EMPTY;
+            percentileValues = EMPTY;
+            percentileCount = 0;
+        }
+        if (buckets.length > maxCapacity) {
+            buckets = EMPTY;
+            bucketCounts = EMPTY;
+            bucketCount = 0;
+        }
+    }
+
+    /**
+     * Append the percentiles and buckets of a snapshot, leaving the summary statistics
+     * untouched.
+     */
+    void addAll(HistogramSnapshot snapshot) {
+        for (ValueAtPercentile valueAtPercentile : snapshot.percentileValues()) {
+            addPercentileValue(valueAtPercentile.percentile(), valueAtPercentile.value());
+        }
+        for (CountAtBucket countAtBucket : snapshot.histogramCounts()) {
+            addCountAtBucket(countAtBucket.bucket(), countAtBucket.count());
+        }
+    }
+
+    /**
+     * Append a precomputed percentile.
+     * @param percentile percentile in the range 0 to 1
+     * @param value In nanos if a unit of time
+     */
+    public void addPercentileValue(double percentile, double value) {
+        if (percentileCount == percentiles.length) {
+            int capacity = Math.max(8, percentileCount * 2);
+            percentiles = Arrays.copyOf(percentiles, capacity);
+            percentileValues = Arrays.copyOf(percentileValues, capacity);
+        }
+        percentiles[percentileCount] = percentile;
+        percentileValues[percentileCount] = value;
+        percentileCount++;
+    }
+
+    /**
+     * Append the count of a bucket.
+     * @param bucket In nanos if a unit of time
+     * @param count count
+     */
+    public void addCountAtBucket(double bucket, double count) {
+        ensureBucketCapacity(bucketCount + 1);
+        buckets[bucketCount] = bucket;
+        bucketCounts[bucketCount] = count;
+        bucketCount++;
+    }
+
+    /**
+     * Append buckets whose counts are to be filled in by the caller through
+     * {@link #bucketCounts()}.
+     * @param buckets bucket boundaries to append
+     * @return the index in {@link #bucketCounts()} of the count of the first appended
+     * bucket
+     */
+    int addBuckets(double[] buckets) {
+        int offset = bucketCount;
+        ensureBucketCapacity(offset + buckets.length);
+        System.arraycopy(buckets, 0, this.buckets, offset, buckets.length);
+        Arrays.fill(bucketCounts, offset, offset + buckets.length, 0);
+        bucketCount += buckets.length;
+        return offset;
+    }
+
+    double[] bucketCounts() {
+        return bucketCounts;
+    }
+
+    private void ensureBucketCapacity(int capacity) {
+        if (capacity > buckets.length) {
+            int newCapacity = Math.max(capacity, Math.max(8, buckets.length * 2));
+            buckets = Arrays.copyOf(buckets, newCapacity);
+            bucketCounts = Arrays.copyOf(bucketCounts, newCapacity);
+        }
+    }
+
+    public long count() {
+        return count;
+    }
+
+    public double total() {
+        return total;
+    }
+
+    public double total(TimeUnit unit) {
+        return TimeUtils.nanosToUnit(total, unit);
+    }
+
+    public double max() {
+        return max;
+    }
+
+    public double max(TimeUnit unit) {
+        return TimeUtils.nanosToUnit(max, unit);
+    }
+
+    public double mean() {
+        return count == 0 ? 0 : total / count;
+    }
+
+    public double mean(TimeUnit unit) {
+        return TimeUtils.nanosToUnit(mean(), unit);
+    }
+
+    /**
+     * @return the number of precomputed percentiles
+     */
+    public int percentileCount() {
+        return percentileCount;
+    }
+
+    /**
+     * @param index index of the percentile, less than {@link #percentileCount()}
+     * @return percentile in the range 0 to 1
+     */
+    public double percentile(int index) {
+        checkIndex(index, percentileCount);
+        return percentiles[index];
+    }
+
+    /**
+     * @param index index of the percentile, less than {@link #percentileCount()}
+     * @return the value at the percentile, in nanos if a unit of time
+     */
+    public double percentileValue(int index) {
+        checkIndex(index, percentileCount);
+        return percentileValues[index];
+    }
+
+    public double percentileValue(int index, TimeUnit unit) {
+        return TimeUtils.nanosToUnit(percentileValue(index), unit);
+    }
+
+    /**
+     * @return the number of histogram buckets
+     */
+    public int bucketCount() {
+        return bucketCount;
+    }
+
+    /**
+     * @param index index of the bucket, less than {@link #bucketCount()}
+     * @return the upper bound of the bucket, in nanos if a unit of time
+     */
+    public double bucket(int index) {
+        checkIndex(index, bucketCount);
+        return buckets[index];
+    }
+
+    public double bucket(int index, TimeUnit unit) {
+        return TimeUtils.nanosToUnit(bucket(index), unit);
+    }
+
+    /**
+     * @param index index of the bucket, less than {@link #bucketCount()}
+     * @return the count of events less than or equal to the bucket, or in the bucket for
+     * histograms that don't use cumulative bucket counts
+     */
+    public double countAtBucket(int index) {
+        checkIndex(index, bucketCount);
+        return bucketCounts[index];
+    }
+
+    /**
+     * @return a {@link HistogramSnapshot} with the same contents as this buffer
+     */
+    public HistogramSnapshot toSnapshot() {
+        ValueAtPercentile[] values = new ValueAtPercentile[percentileCount];
+        for (int i = 0; i < percentileCount; i++) {
+            values[i] = new ValueAtPercentile(percentiles[i], percentileValues[i]);
+        }
+        CountAtBucket[] counts = new CountAtBucket[bucketCount];
+        for (int i = 0; i < bucketCount; i++) {
+            counts[i] = new CountAtBucket(buckets[i], bucketCounts[i]);
+        }
+        return new HistogramSnapshot(count, total, max, values, counts, null);
+    }
+
+    private static void checkIndex(int index, int size) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return toSnapshot().toString();
+    }
+
+}
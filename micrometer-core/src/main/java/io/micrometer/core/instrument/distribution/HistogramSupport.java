@@ -27,6 +27,17 @@ public interface HistogramSupport extends Meter {
      */
     HistogramSnapshot takeSnapshot();
 
+    /**
+     * Like {@link #takeSnapshot()}, but fills a reusable buffer with primitive values
+     * instead of allocating a new snapshot with an object per percentile and bucket.
+     * Anything previously held by the buffer is discarded.
+     * @param buffer buffer to fill
+     * @since 1.14.0
+     */
+    default void takeSnapshot(HistogramSnapshotBuffer buffer) {
+        buffer.set(takeSnapshot());
+    }
+
     /**
      * Summary statistics should be published off of a single snapshot instance so that,
      * for example, there isn't disagreement between the distribution's bucket counts
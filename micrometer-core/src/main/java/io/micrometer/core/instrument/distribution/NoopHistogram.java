@@ -35,4 +35,8 @@ public class NoopHistogram implements Histogram {
         return HistogramSnapshot.empty(count, total, max);
     }
 
+    @Override
+    public void takeSnapshot(HistogramSnapshotBuffer buffer) {
+    }
+
 }
@@ -31,6 +31,21 @@ public class PercentileHistogramBuckets {
     // Bucket values to use, see static block for initialization.
     private static final NavigableSet<Double> PERCENTILE_BUCKETS;
 
+    // Same as PERCENTILE_BUCKETS, indexed by position.
+    private static final double[] PERCENTILE_BUCKET_VALUES;
+
+    // Samples at or above this value are not guaranteed to convert to double exactly,
+    // see indexOf(long).
+    static final long MAX_INDEXED_VALUE = 1L << 53;
+
+    // For each power of 4, the index of the first bucket, the delta between buckets and
+    // the number of buckets, see static block for initialization.
+    private static final int[] GROUP_START_INDEX = new int[64 / DIGITS + 1];
+
+    private static final long[] GROUP_DELTA = new long[64 / DIGITS];
+
+    private static final int[] GROUP_SIZE = new int[64 / DIGITS];
+
     // The set of buckets is generated by using powers of 4 and incrementing by one-third
     // of the previous power of 4 in between as long as the value is less than the next
     // power of 4 minus the delta.
@@ -59,13 +74,20 @@ public class PercentileHistogramBuckets {
             long delta = current / 3;
             long next = (current << DIGITS) - delta;
 
+            int group = exp / DIGITS;
+            GROUP_START_INDEX[group] = PERCENTILE_BUCKETS.size();
+            GROUP_DELTA[group] = delta;
             while (current < next) {
                 PERCENTILE_BUCKETS.add((double) current);
+                GROUP_SIZE[group]++;
                 current += delta;
             }
             exp += DIGITS;
         }
+        GROUP_START_INDEX[64 / DIGITS] = PERCENTILE_BUCKETS.size();
         PERCENTILE_BUCKETS.add(Double.POSITIVE_INFINITY);
+
+        PERCENTILE_BUCKET_VALUES = PERCENTILE_BUCKETS.stream().mapToDouble(Double::doubleValue).toArray();
     }
 
     /**
@@ -82,4 +104,33 @@ public class PercentileHistogramBuckets {
                 distributionStatisticConfig.getMaximumExpectedValueAsDouble(), true);
     }
 
+    /**
+     * Returns the position of the least percentile bucket that is greater than or equal
+     * to the given sample. Since the buckets are spaced log-linearly, this is computed in
+     * constant time from the highest set bit of the sample instead of searching.
+     * @param value sample, must be less than {@link #MAX_INDEXED_VALUE}
+     * @return index into {@link #bucketValues()}
+     */
+    static int indexOf(long value) {
+        if (value <= 3) {
+            return value <= 1 ? 0 : (int) value - 1;
+        }
+        // the greatest power of 4 less than or equal to the value
+        int group = (63 - Long.numberOfLeadingZeros(value)) / DIGITS;
+        long offset = value - (1L << (group * DIGITS));
+        long delta = GROUP_DELTA[group];
+        long position = (offset + delta - 1) / delta;
+        if (position >= GROUP_SIZE[group]) {
+            return GROUP_START_INDEX[group + 1];
+        }
+        return GROUP_START_INDEX[group] + (int) position;
+    }
+
+    /**
+     * @return all percentile buckets in ascending order, must not be modified
+     */
+    static double[] bucketValues() {
+        return PERCENTILE_BUCKET_VALUES;
+    }
+
 }
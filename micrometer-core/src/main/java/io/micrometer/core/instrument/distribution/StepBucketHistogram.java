@@ -19,8 +19,6 @@ import io.micrometer.core.instrument.Clock;
 import io.micrometer.core.instrument.config.InvalidConfigurationException;
 import io.micrometer.core.instrument.step.StepValue;
 
-import java.util.Arrays;
-import java.util.Iterator;
 import java.util.NavigableSet;
 import java.util.Objects;
 import java.util.function.Supplier;
@@ -40,12 +38,30 @@ public class StepBucketHistogram extends StepValue<CountAtBucket[]> implements H
 
     public StepBucketHistogram(Clock clock, long stepMillis, DistributionStatisticConfig distributionStatisticConfig,
             boolean supportsAggregablePercentiles, boolean isCumulativeBucketCounts) {
+        this(clock, stepMillis, distributionStatisticConfig, supportsAggregablePercentiles, isCumulativeBucketCounts,
+                false);
+    }
+
+    /**
+     * Create a {@code StepBucketHistogram} instance.
+     * @param clock clock
+     * @param stepMillis step in milliseconds
+     * @param distributionStatisticConfig distribution statistic configuration
+     * @param supportsAggregablePercentiles whether it supports aggregable percentiles
+     * @param isCumulativeBucketCounts whether it uses cumulative bucket counts
+     * @param striped whether bucket counts are striped across recording threads. Striping
+     * reduces contention for meters recorded from many threads concurrently at the cost
+     * of a larger memory footprint.
+     * @since 1.14.0
+     */
+    public StepBucketHistogram(Clock clock, long stepMillis, DistributionStatisticConfig distributionStatisticConfig,
+            boolean supportsAggregablePercentiles, boolean isCumulativeBucketCounts, boolean striped) {
         super(clock, stepMillis, getEmptyCounts(
                 getBucketsFromDistributionStatisticConfig(distributionStatisticConfig, supportsAggregablePercentiles)));
 
         this.buckets = getBucketsFromDistributionStatisticConfig(distributionStatisticConfig,
                 supportsAggregablePercentiles);
-        this.fixedBoundaryHistogram = new FixedBoundaryHistogram(buckets, isCumulativeBucketCounts);
+        this.fixedBoundaryHistogram = new FixedBoundaryHistogram(buckets, isCumulativeBucketCounts, striped);
     }
 
     @Override
@@ -63,18 +79,29 @@ public class StepBucketHistogram extends StepValue<CountAtBucket[]> implements H
         return new HistogramSnapshot(count, total, max, null, poll(), null);
     }
 
+    /**
+     * Copy the bucket counts of the last completed step. They are captured when the step
+     * rolls over, which allocates once per step, not per snapshot.
+     */
+    @Override
+    public void takeSnapshot(HistogramSnapshotBuffer buffer) {
+        for (CountAtBucket countAtBucket : poll()) {
+            buffer.addCountAtBucket(countAtBucket.bucket(), countAtBucket.count());
+        }
+    }
+
     @Override
     protected Supplier<CountAtBucket[]> valueSupplier() {
         return () -> {
-            CountAtBucket[] countAtBuckets = new CountAtBucket[buckets.length];
+            double[] counts = new double[buckets.length];
             synchronized (fixedBoundaryHistogram) {
-                final Iterator<CountAtBucket> iterator = fixedBoundaryHistogram
-                    .countsAtValues(Arrays.stream(buckets).iterator());
-                for (int i = 0; i < countAtBuckets.length; i++) {
-                    countAtBuckets[i] = iterator.next();
-                }
+                fixedBoundaryHistogram.countsAtValues(buckets, counts, 0);
                 fixedBoundaryHistogram.reset();
             }
+            CountAtBucket[] countAtBuckets = new CountAtBucket[buckets.length];
+            for (int i = 0; i < countAtBuckets.length; i++) {
+                countAtBuckets[i] = new CountAtBucket(buckets[i], counts[i]);
+            }
             return countAtBuckets;
         };
     }
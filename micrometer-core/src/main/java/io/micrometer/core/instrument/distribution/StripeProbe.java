@@ -0,0 +1,65 @@
+/*
+ * Copyright 2024 VMware, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micrometer.core.instrument.distribution;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * A per-thread probe picking the stripe a thread records to, like the one of
+ * {@link java.util.concurrent.atomic.LongAdder}. Probes are seeded randomly, so threads
+ * are spread over the stripes no matter how their ids were assigned, and a thread that
+ * contends on its stripe advances its probe to move on to another one.
+ */
+final class StripeProbe {
+
+    /**
+     * Holds an {@code int[]} rather than a class of this library, so that pooled threads
+     * don't keep the class loader of an undeployed application reachable.
+     */
+    private static final ThreadLocal<int[]> PROBE = ThreadLocal.withInitial(() -> new int[] { seed() });
+
+    private StripeProbe() {
+    }
+
+    /**
+     * @return the probe of the current thread, never zero
+     */
+    static int get() {
+        return PROBE.get()[0];
+    }
+
+    /**
+     * Move the current thread to a pseudo-random other probe, after it contended on the
+     * stripe of its current one.
+     * @return the new probe of the current thread
+     */
+    static int advance() {
+        int[] holder = PROBE.get();
+        int probe = holder[0];
+        // xorshift, as used by LongAdder
+        probe ^= probe << 13;
+        probe ^= probe >>> 17;
+        probe ^= probe << 5;
+        holder[0] = probe;
+        return probe;
+    }
+
+    private static int seed() {
+        int seed = ThreadLocalRandom.current().nextInt();
+        return seed == 0 ? 1 : seed;
+    }
+
+}
@@ -18,7 +18,6 @@ package io.micrometer.core.instrument.distribution;
 import io.micrometer.core.instrument.Clock;
 
 import java.io.PrintStream;
-import java.util.Iterator;
 import java.util.Locale;
 import java.util.NavigableSet;
 import java.util.Objects;
@@ -36,8 +35,12 @@ public class TimeWindowFixedBoundaryHistogram extends AbstractTimeWindowHistogra
 
     private final double[] buckets;
 
+    private final FixedBoundaryHistogram.Boundaries boundaries;
+
     private final boolean isCumulativeBucketCounts;
 
+    private final boolean striped;
+
     public TimeWindowFixedBoundaryHistogram(Clock clock, DistributionStatisticConfig config,
             boolean supportsAggregablePercentiles) {
         this(clock, config, supportsAggregablePercentiles, true);
@@ -53,20 +56,56 @@ public class TimeWindowFixedBoundaryHistogram extends AbstractTimeWindowHistogra
      */
     public TimeWindowFixedBoundaryHistogram(Clock clock, DistributionStatisticConfig config,
             boolean supportsAggregablePercentiles, boolean isCumulativeBucketCounts) {
-        super(clock, config, FixedBoundaryHistogram.class, supportsAggregablePercentiles);
+        this(clock, config, supportsAggregablePercentiles, isCumulativeBucketCounts, false);
+    }
+
+    /**
+     * Create a {@code TimeWindowFixedBoundaryHistogram} instance.
+     * @param clock clock
+     * @param config distribution statistic configuration
+     * @param supportsAggregablePercentiles whether it supports aggregable percentiles
+     * @param isCumulativeBucketCounts whether it uses cumulative bucket counts
+     * @param striped whether bucket counts are striped across recording threads. Striping
+     * reduces contention for meters recorded from many threads concurrently at the cost
+     * of a larger memory footprint.
+     * @since 1.14.0
+     */
+    public TimeWindowFixedBoundaryHistogram(Clock clock, DistributionStatisticConfig config,
+            boolean supportsAggregablePercentiles, boolean isCumulativeBucketCounts, boolean striped) {
+        this(clock, config, supportsAggregablePercentiles, isCumulativeBucketCounts, striped, false);
+    }
+
+    /**
+     * Create a {@code TimeWindowFixedBoundaryHistogram} instance.
+     * @param clock clock
+     * @param config distribution statistic configuration
+     * @param supportsAggregablePercentiles whether it supports aggregable percentiles
+     * @param isCumulativeBucketCounts whether it uses cumulative bucket counts
+     * @param striped whether bucket counts are striped across recording threads
+     * @param singleWrite whether samples are recorded into the current bucket of the ring
+     * buffer only, instead of into all of them. The time window is then merged from all
+     * buckets when taking a snapshot.
+     * @since 1.14.0
+     */
+    public TimeWindowFixedBoundaryHistogram(Clock clock, DistributionStatisticConfig config,
+            boolean supportsAggregablePercentiles, boolean isCumulativeBucketCounts, boolean striped,
+            boolean singleWrite) {
+        super(clock, config, FixedBoundaryHistogram.class, supportsAggregablePercentiles, singleWrite);
 
         this.isCumulativeBucketCounts = isCumulativeBucketCounts;
+        this.striped = striped;
 
         NavigableSet<Double> histogramBuckets = distributionStatisticConfig
             .getHistogramBuckets(supportsAggregablePercentiles);
 
         this.buckets = histogramBuckets.stream().filter(Objects::nonNull).mapToDouble(Double::doubleValue).toArray();
+        this.boundaries = new FixedBoundaryHistogram.Boundaries(buckets);
         initRingBuffer();
     }
 
     @Override
     FixedBoundaryHistogram newBucket() {
-        return new FixedBoundaryHistogram(this.buckets, isCumulativeBucketCounts);
+        return new FixedBoundaryHistogram(this.boundaries, isCumulativeBucketCounts, striped);
     }
 
     @Override
@@ -105,11 +144,41 @@ public class TimeWindowFixedBoundaryHistogram extends AbstractTimeWindowHistogra
 
     /**
      * For recording efficiency, we turn normal histogram into cumulative count histogram
-     * only on calls to {@link FixedBoundaryHistogram#countsAtValues(Iterator)}.
+     * only on calls to {@link FixedBoundaryHistogram#countsAtValues(double[], double[], int)}.
      */
     @Override
-    Iterator<CountAtBucket> countsAtValues(Iterator<Double> values) {
-        return currentHistogram().countsAtValues(values);
+    void countsAtValues(double[] values, double[] counts, int offset) {
+        if (!isSingleWrite()) {
+            currentHistogram().countsAtValues(values, counts, offset);
+            return;
+        }
+
+        FixedBoundaryHistogram[] ringBuffer = ringBuffer();
+        double cumulativeCount = 0.0;
+        for (int i = 0; i < values.length; i++) {
+            double count = 0;
+            for (FixedBoundaryHistogram bucket : ringBuffer) {
+                count += bucket.countAtValue(values[i]);
+            }
+            if (isCumulativeBucketCounts) {
+                cumulativeCount += count;
+                counts[offset + i] = cumulativeCount;
+            }
+            else {
+                counts[offset + i] = count;
+            }
+        }
+    }
+
+    private long countAtIndex(int index) {
+        if (!isSingleWrite()) {
+            return currentHistogram().countAtIndex(index);
+        }
+        long count = 0;
+        for (FixedBoundaryHistogram bucket : ringBuffer()) {
+            count += bucket.countAtIndex(index);
+        }
+        return count;
     }
 
     @Override
@@ -118,10 +187,8 @@ public class TimeWindowFixedBoundaryHistogram extends AbstractTimeWindowHistogra
 
         String bucketFormatString = "%14.1f %10d\n";
 
-        FixedBoundaryHistogram currentHistogram = currentHistogram();
         for (int i = 0; i < buckets.length; i++) {
-            printStream.format(Locale.US, bucketFormatString, buckets[i] / bucketScaling,
-                    currentHistogram.values.get(i));
+            printStream.format(Locale.US, bucketFormatString, buckets[i] / bucketScaling, countAtIndex(i));
         }
 
         printStream.write('\n');
@@ -20,48 +20,84 @@ import io.micrometer.core.instrument.util.TimeUtils;
 
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
-import java.util.concurrent.atomic.AtomicLong;
-import java.util.function.DoubleSupplier;
+import java.util.concurrent.atomic.AtomicLongArray;
 
 /**
  * An implementation of a decaying maximum for a distribution based on a configurable ring
  * buffer.
+ * <p>
+ * The ring buffer can be split into stripes, each recorded to by a different subset of
+ * threads and combined when polling, so that concurrent recordings of new maximums don't
+ * contend on the same values. A single stripe is the most compact and suits meters that
+ * aren't recorded to by many threads at once.
  *
  * @author Jon Schneider
  */
 public class TimeWindowMax {
 
-    private static final AtomicIntegerFieldUpdater<TimeWindowMax> rotatingUpdater = AtomicIntegerFieldUpdater
-        .newUpdater(TimeWindowMax.class, "rotating");
+    private static final AtomicIntegerFieldUpdater<TimeWindowMax> rotationsUpdater = AtomicIntegerFieldUpdater
+        .newUpdater(TimeWindowMax.class, "rotations");
+
+    /**
+     * Number of longs in a cache line, used to keep the ring buffers of different stripes
+     * apart.
+     */
+    private static final int PADDING = 8;
 
     private final Clock clock;
 
     private final long durationBetweenRotatesMillis;
 
-    private final AtomicLong[] ringBuffer;
+    private final int bufferLength;
+
+    private final int stripeMask;
+
+    private final int stripeLength;
 
-    private int currentBucket;
+    /**
+     * The ring buffer of every stripe, one after the other.
+     */
+    private final AtomicLongArray ringBuffers;
+
+    private volatile int currentBucket;
 
     private volatile long lastRotateTimestampMillis;
 
-    @SuppressWarnings({ "unused", "FieldCanBeLocal" })
-    private volatile int rotating; // 0 - not rotating, 1 - rotating
+    /**
+     * Incremented when a rotation starts and again when it ends, so it is odd while the
+     * ring buffer is being rotated.
+     */
+    private volatile int rotations;
 
     @SuppressWarnings("ConstantConditions")
     public TimeWindowMax(Clock clock, DistributionStatisticConfig config) {
-        this(clock, config.getExpiry().toMillis(), config.getBufferLength());
+        this(clock, config.getExpiry().toMillis(), config.getBufferLength(),
+                config.getMaxStripes() == null ? 1 : config.getMaxStripes());
     }
 
     public TimeWindowMax(Clock clock, long rotateFrequencyMillis, int bufferLength) {
+        this(clock, rotateFrequencyMillis, bufferLength, 1);
+    }
+
+    /**
+     * Create a time window max whose ring buffer is split into stripes.
+     * @param clock clock
+     * @param rotateFrequencyMillis how often the ring buffer rotates
+     * @param bufferLength length of the ring buffer
+     * @param stripes number of stripes, rounded up to a power of two
+     * @since 1.14.0
+     */
+    public TimeWindowMax(Clock clock, long rotateFrequencyMillis, int bufferLength, int stripes) {
         this.clock = clock;
         this.durationBetweenRotatesMillis = checkPositive(rotateFrequencyMillis);
         this.lastRotateTimestampMillis = clock.wallTime();
         this.currentBucket = 0;
+        this.bufferLength = bufferLength;
 
-        this.ringBuffer = new AtomicLong[bufferLength];
-        for (int i = 0; i < bufferLength; i++) {
-            this.ringBuffer[i] = new AtomicLong();
-        }
+        int stripeCount = stripes <= 1 ? 1 : Integer.highestOneBit(stripes - 1) << 1;
+        this.stripeMask = stripeCount - 1;
+        this.stripeLength = stripeCount == 1 ? bufferLength : bufferLength + PADDING;
+        this.ringBuffers = new AtomicLongArray(stripeCount * stripeLength);
     }
 
     private static long checkPositive(long rotateFrequencyMillis) {
@@ -82,8 +118,12 @@ public class TimeWindowMax {
 
     private void record(long sample) {
         rotate();
-        for (AtomicLong max : ringBuffer) {
-            updateMax(max, sample);
+        int start = stripeMask == 0 ? 0 : (StripeProbe.get() & stripeMask) * stripeLength;
+        for (int i = 0; i < bufferLength; i++) {
+            if (!updateMax(start + i, sample) && stripeMask != 0) {
+                // contended, move this thread to another stripe for the remaining buckets
+                start = (StripeProbe.advance() & stripeMask) * stripeLength;
+            }
         }
     }
 
@@ -92,21 +132,35 @@ public class TimeWindowMax {
      * @return A max scaled to the base unit of time. For use by timer implementations.
      */
     public double poll(TimeUnit timeUnit) {
-        return poll(() -> TimeUtils.nanosToUnit(ringBuffer[currentBucket].get(), timeUnit));
-    }
-
-    private double poll(DoubleSupplier maxSupplier) {
-        rotate();
-        synchronized (this) {
-            return maxSupplier.getAsDouble();
-        }
+        return TimeUtils.nanosToUnit(pollMax(), timeUnit);
     }
 
     /**
      * @return An unscaled max. For use by distribution summary implementations.
      */
     public double poll() {
-        return poll(() -> Double.longBitsToDouble(ringBuffer[currentBucket].get()));
+        return Double.longBitsToDouble(pollMax());
+    }
+
+    private long pollMax() {
+        rotate();
+        while (true) {
+            int rotations = this.rotations;
+            if ((rotations & 1) != 0) {
+                // wait for the rotation by another thread, the buckets may be expired
+                Thread.yield();
+                continue;
+            }
+            int bucket = currentBucket;
+            long max = 0;
+            for (int i = bucket; i < ringBuffers.length(); i += stripeLength) {
+                max = Math.max(max, ringBuffers.get(i));
+            }
+            // the max is only current if no rotation started while reading it
+            if (rotations == this.rotations) {
+                return max;
+            }
+        }
     }
 
     /**
@@ -117,53 +171,68 @@ public class TimeWindowMax {
         record(Double.doubleToLongBits(sample));
     }
 
-    private void updateMax(AtomicLong max, long sample) {
+    /**
+     * @return {@code false} if updating contended with another thread
+     */
+    private boolean updateMax(int index, long sample) {
+        boolean uncontended = true;
         long curMax;
-        do {
-            curMax = max.get();
+        while ((curMax = ringBuffers.get(index)) < sample) {
+            if (ringBuffers.compareAndSet(index, curMax, sample)) {
+                break;
+            }
+            uncontended = false;
+        }
+        return uncontended;
+    }
+
+    private void clearBucket(int bucket) {
+        for (int i = bucket; i < ringBuffers.length(); i += stripeLength) {
+            ringBuffers.set(i, 0);
         }
-        while (curMax < sample && !max.compareAndSet(curMax, sample));
     }
 
     private void rotate() {
         long wallTime = clock.wallTime();
-        long timeSinceLastRotateMillis = wallTime - lastRotateTimestampMillis;
-        if (timeSinceLastRotateMillis < durationBetweenRotatesMillis) {
+        if (wallTime - lastRotateTimestampMillis < durationBetweenRotatesMillis) {
             // Need to wait more for next rotation.
             return;
         }
 
-        if (!rotatingUpdater.compareAndSet(this, 0, 1)) {
+        int rotations = this.rotations;
+        if ((rotations & 1) != 0 || !rotationsUpdater.compareAndSet(this, rotations, rotations + 1)) {
             // Being rotated by other thread already.
             return;
         }
 
         try {
-            synchronized (this) {
-                if (timeSinceLastRotateMillis >= durationBetweenRotatesMillis * ringBuffer.length) {
-                    // time since last rotation is enough to clear whole ring buffer
-                    for (AtomicLong bufferItem : ringBuffer) {
-                        bufferItem.set(0);
-                    }
-                    currentBucket = 0;
-                    lastRotateTimestampMillis = wallTime - timeSinceLastRotateMillis % durationBetweenRotatesMillis;
-                    return;
-                }
+            // another thread may have rotated since the time was checked
+            long timeSinceLastRotateMillis = wallTime - lastRotateTimestampMillis;
+            if (timeSinceLastRotateMillis < durationBetweenRotatesMillis) {
+                return;
+            }
 
-                int iterations = 0;
-                do {
-                    ringBuffer[currentBucket].set(0);
-                    if (++currentBucket >= ringBuffer.length) {
-                        currentBucket = 0;
-                    }
-                    timeSinceLastRotateMillis -= durationBetweenRotatesMillis;
-                    lastRotateTimestampMillis += durationBetweenRotatesMillis;
+            if (timeSinceLastRotateMillis >= durationBetweenRotatesMillis * bufferLength) {
+                // time since last rotation is enough to clear whole ring buffer
+                for (int i = 0; i < bufferLength; i++) {
+                    clearBucket(i);
                 }
-                while (timeSinceLastRotateMillis >= durationBetweenRotatesMillis && ++iterations < ringBuffer.length);
+                currentBucket = 0;
+                lastRotateTimestampMillis = wallTime - timeSinceLastRotateMillis % durationBetweenRotatesMillis;
+                return;
+            }
+
+            int iterations = 0;
+            do {
+                clearBucket(currentBucket);
+                currentBucket = currentBucket + 1 >= bufferLength ? 0 : currentBucket + 1;
+                timeSinceLastRotateMillis -= durationBetweenRotatesMillis;
+                lastRotateTimestampMillis += durationBetweenRotatesMillis;
             }
+            while (timeSinceLastRotateMillis >= durationBetweenRotatesMillis && ++iterations < bufferLength);
         }
         finally {
-            rotating = 0;
+            this.rotations = rotations + 2;
         }
     }
 
@@ -15,12 +15,12 @@
  */
 package io.micrometer.core.instrument.distribution;
 
+import io.micrometer.common.lang.Nullable;
 import io.micrometer.core.instrument.Clock;
 import org.HdrHistogram.DoubleHistogram;
 import org.HdrHistogram.DoubleRecorder;
 
 import java.io.PrintStream;
-import java.util.Iterator;
 
 /**
  * <b>NOTE: This class is intended for internal use as an implementation detail. You
@@ -37,10 +37,41 @@ public class TimeWindowPercentileHistogram extends AbstractTimeWindowHistogram<D
 
     private final DoubleHistogram intervalHistogram;
 
+    /**
+     * Samples drained from each bucket of the ring buffer. Only used in single-write
+     * mode, where the time window is merged from all buckets.
+     */
+    @Nullable
+    private final DoubleHistogram[] bucketHistograms;
+
     public TimeWindowPercentileHistogram(Clock clock, DistributionStatisticConfig distributionStatisticConfig,
             boolean supportsAggregablePercentiles) {
-        super(clock, distributionStatisticConfig, DoubleRecorder.class, supportsAggregablePercentiles);
+        this(clock, distributionStatisticConfig, supportsAggregablePercentiles, false);
+    }
+
+    /**
+     * Create a {@code TimeWindowPercentileHistogram} instance.
+     * @param clock clock
+     * @param distributionStatisticConfig distribution statistic configuration
+     * @param supportsAggregablePercentiles whether it supports aggregable percentiles
+     * @param singleWrite whether samples are recorded into the current bucket of the ring
+     * buffer only, instead of into all of them. The time window is then merged from all
+     * buckets when taking a snapshot.
+     * @since 1.14.0
+     */
+    public TimeWindowPercentileHistogram(Clock clock, DistributionStatisticConfig distributionStatisticConfig,
+            boolean supportsAggregablePercentiles, boolean singleWrite) {
+        super(clock, distributionStatisticConfig, DoubleRecorder.class, supportsAggregablePercentiles, singleWrite);
         intervalHistogram = new DoubleHistogram(percentilePrecision(distributionStatisticConfig));
+        if (singleWrite) {
+            bucketHistograms = new DoubleHistogram[distributionStatisticConfig.getBufferLength()];
+            for (int i = 0; i < bucketHistograms.length; i++) {
+                bucketHistograms[i] = new DoubleHistogram(percentilePrecision(distributionStatisticConfig));
+            }
+        }
+        else {
+            bucketHistograms = null;
+        }
         initRingBuffer();
     }
 
@@ -64,6 +95,14 @@ public class TimeWindowPercentileHistogram extends AbstractTimeWindowHistogram<D
         bucket.reset();
     }
 
+    @Override
+    void resetBucket(DoubleRecorder bucket, int index) {
+        resetBucket(bucket);
+        if (bucketHistograms != null) {
+            bucketHistograms[index].reset();
+        }
+    }
+
     @Override
     DoubleHistogram newAccumulatedHistogram(DoubleRecorder[] ringBuffer) {
         return new DoubleHistogram(percentilePrecision(distributionStatisticConfig));
@@ -71,8 +110,20 @@ public class TimeWindowPercentileHistogram extends AbstractTimeWindowHistogram<D
 
     @Override
     void accumulate() {
-        currentHistogram().getIntervalHistogramInto(intervalHistogram);
-        accumulatedHistogram().add(intervalHistogram);
+        if (bucketHistograms == null) {
+            currentHistogram().getIntervalHistogramInto(intervalHistogram);
+            accumulatedHistogram().add(intervalHistogram);
+            return;
+        }
+
+        DoubleRecorder[] ringBuffer = ringBuffer();
+        DoubleHistogram accumulatedHistogram = accumulatedHistogram();
+        accumulatedHistogram.reset();
+        for (int i = 0; i < ringBuffer.length; i++) {
+            ringBuffer[i].getIntervalHistogramInto(intervalHistogram);
+            bucketHistograms[i].add(intervalHistogram);
+            accumulatedHistogram.add(bucketHistograms[i]);
+        }
     }
 
     @Override
@@ -86,26 +137,16 @@ public class TimeWindowPercentileHistogram extends AbstractTimeWindowHistogram<D
     }
 
     @Override
-    Iterator<CountAtBucket> countsAtValues(Iterator<Double> values) {
-        return new Iterator<CountAtBucket>() {
-            private double cumulativeCount = 0.0;
-
-            private double lowerBoundValue = 0.0;
-
-            @Override
-            public boolean hasNext() {
-                return values.hasNext();
-            }
-
-            @Override
-            public CountAtBucket next() {
-                double higherBoundValue = values.next();
-                double count = accumulatedHistogram().getCountBetweenValues(lowerBoundValue, higherBoundValue);
-                lowerBoundValue = accumulatedHistogram().nextNonEquivalentValue(higherBoundValue);
-                cumulativeCount += count;
-                return new CountAtBucket(higherBoundValue, cumulativeCount);
-            }
-        };
+    void countsAtValues(double[] values, double[] counts, int offset) {
+        DoubleHistogram accumulatedHistogram = accumulatedHistogram();
+        double cumulativeCount = 0.0;
+        double lowerBoundValue = 0.0;
+        for (int i = 0; i < values.length; i++) {
+            double higherBoundValue = values[i];
+            cumulativeCount += accumulatedHistogram.getCountBetweenValues(lowerBoundValue, higherBoundValue);
+            lowerBoundValue = accumulatedHistogram.nextNonEquivalentValue(higherBoundValue);
+            counts[offset + i] = cumulativeCount;
+        }
     }
 
     private int percentilePrecision(DistributionStatisticConfig config) {
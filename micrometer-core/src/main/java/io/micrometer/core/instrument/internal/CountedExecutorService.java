@@ -0,0 +1,192 @@
+/*
+ * Copyright 2024 VMware, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micrometer.core.instrument.internal;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+import static java.util.stream.Collectors.toList;
+
+/**
+ * An {@link ExecutorService} that counts the tasks submitted to it, executing and
+ * completed, for executors that don't keep track of them, like those that start a new
+ * thread per task. This class is for internal use.
+ *
+ * @since 1.14.0
+ * @see io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics
+ */
+public class CountedExecutorService implements ExecutorService {
+
+    private final ExecutorService delegate;
+
+    private final LongAdder submitted = new LongAdder();
+
+    private final AtomicInteger active = new AtomicInteger();
+
+    private final LongAdder completed = new LongAdder();
+
+    public CountedExecutorService(ExecutorService delegate) {
+        this.delegate = delegate;
+    }
+
+    /**
+     * @return the total number of tasks accepted by the executor, where the tasks of
+     * {@code invokeAll} and {@code invokeAny} are only counted once they start, since
+     * those that aren't needed may never run
+     */
+    public long getSubmittedTaskCount() {
+        return submitted.sum();
+    }
+
+    /**
+     * @return the number of tasks that are executing
+     */
+    public int getActiveCount() {
+        return active.get();
+    }
+
+    /**
+     * @return the total number of tasks that have completed execution
+     */
+    public long getCompletedTaskCount() {
+        return completed.sum();
+    }
+
+    @Override
+    public void shutdown() {
+        delegate.shutdown();
+    }
+
+    @Override
+    public List<Runnable> shutdownNow() {
+        return delegate.shutdownNow();
+    }
+
+    @Override
+    public boolean isShutdown() {
+        return delegate.isShutdown();
+    }
+
+    @Override
+    public boolean isTerminated() {
+        return delegate.isTerminated();
+    }
+
+    @Override
+    public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+        return delegate.awaitTermination(timeout, unit);
+    }
+
+    @Override
+    public <T> Future<T> submit(Callable<T> task) {
+        return countSubmitted(() -> delegate.submit(wrap(task)));
+    }
+
+    @Override
+    public <T> Future<T> submit(Runnable task, T result) {
+        return countSubmitted(() -> delegate.submit(wrap(task), result));
+    }
+
+    @Override
+    public Future<?> submit(Runnable task) {
+        return countSubmitted(() -> delegate.submit(wrap(task)));
+    }
+
+    @Override
+    public <T> List<Future<T>> invokeAll(Collection<? extends Callable<T>> tasks) throws InterruptedException {
+        return delegate.invokeAll(wrapAll(tasks));
+    }
+
+    @Override
+    public <T> List<Future<T>> invokeAll(Collection<? extends Callable<T>> tasks, long timeout, TimeUnit unit)
+            throws InterruptedException {
+        return delegate.invokeAll(wrapAll(tasks), timeout, unit);
+    }
+
+    @Override
+    public <T> T invokeAny(Collection<? extends Callable<T>> tasks) throws InterruptedException, ExecutionException {
+        return delegate.invokeAny(wrapAll(tasks));
+    }
+
+    @Override
+    public <T> T invokeAny(Collection<? extends Callable<T>> tasks, long timeout, TimeUnit unit)
+            throws InterruptedException, ExecutionException, TimeoutException {
+        return delegate.invokeAny(wrapAll(tasks), timeout, unit);
+    }
+
+    @Override
+    public void execute(Runnable command) {
+        countSubmitted(() -> {
+            delegate.execute(wrap(command));
+            return null;
+        });
+    }
+
+    private <R> R countSubmitted(Supplier<R> submission) {
+        // counted before the task can complete, so that there are never more completed
+        // tasks than submitted ones
+        submitted.increment();
+        try {
+            return submission.get();
+        }
+        catch (RejectedExecutionException e) {
+            submitted.decrement();
+            throw e;
+        }
+    }
+
+    private Runnable wrap(Runnable task) {
+        return () -> {
+            active.incrementAndGet();
+            try {
+                task.run();
+            }
+            finally {
+                active.decrementAndGet();
+                completed.increment();
+            }
+        };
+    }
+
+    private <T> Callable<T> wrap(Callable<T> task) {
+        return () -> {
+            active.incrementAndGet();
+            try {
+                return task.call();
+            }
+            finally {
+                active.decrementAndGet();
+                completed.increment();
+            }
+        };
+    }
+
+    private <T> Collection<? extends Callable<T>> wrapAll(Collection<? extends Callable<T>> tasks) {
+        return tasks.stream().map(this::wrap).map(this::countOnStart).collect(toList());
+    }
+
+    private <T> Callable<T> countOnStart(Callable<T> task) {
+        return () -> {
+            submitted.increment();
+            return task.call();
+        };
+    }
+
+}
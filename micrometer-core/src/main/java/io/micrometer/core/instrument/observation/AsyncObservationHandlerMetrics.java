@@ -0,0 +1,68 @@
+/*
+ * Copyright 2024 VMware, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micrometer.core.instrument.observation;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.observation.AsyncObservationHandler;
+
+/**
+ * {@link MeterBinder} for the queue of an {@link AsyncObservationHandler}.
+ *
+ * @since 1.14.0
+ */
+public class AsyncObservationHandlerMetrics implements MeterBinder {
+
+    private final AsyncObservationHandler handler;
+
+    private final Iterable<Tag> tags;
+
+    /**
+     * Creates a new instance of {@code AsyncObservationHandlerMetrics}.
+     * @param handler the handler to instrument
+     * @param handlerName name of the handler, used as the {@code name} tag
+     * @param tags tags to apply to all recorded metrics
+     */
+    public AsyncObservationHandlerMetrics(AsyncObservationHandler handler, String handlerName, Iterable<Tag> tags) {
+        this.handler = handler;
+        this.tags = Tags.concat(tags, "name", handlerName);
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("observation.handler.async.queued", handler, AsyncObservationHandler::getQueueSize)
+            .tags(tags)
+            .description("The number of stopped observations waiting to be handled")
+            .register(registry);
+
+        Gauge.builder("observation.handler.async.capacity", handler, AsyncObservationHandler::getQueueCapacity)
+            .tags(tags)
+            .description("The maximum number of stopped observations that can wait to be handled")
+            .register(registry);
+
+        FunctionCounter
+            .builder("observation.handler.async.dropped", handler, AsyncObservationHandler::getDroppedCount)
+            .tags(tags)
+            .description("The number of stopped observations that were not handled because the queue was full, "
+                    + "the handler was closed or the other handler doesn't support their snapshot")
+            .register(registry);
+    }
+
+}
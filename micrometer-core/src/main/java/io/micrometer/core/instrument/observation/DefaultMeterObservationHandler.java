@@ -16,12 +16,22 @@
 package io.micrometer.core.instrument.observation;
 
 import io.micrometer.common.KeyValue;
+import io.micrometer.common.KeyValues;
+import io.micrometer.common.lang.Nullable;
 import io.micrometer.core.instrument.*;
 import io.micrometer.observation.Observation;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
 
 /**
  * Handler for {@link Timer.Sample} and {@link Counter}.
@@ -33,6 +43,12 @@ import java.util.List;
  * the {@link LongTaskTimer}. Likewise, since the {@code KeyValuesProvider} is evaluated
  * in the {@code stop} method of the {@link Observation} (after start), those
  * {@code KeyValue} instances will not be used for the {@link LongTaskTimer}.
+ * <p>
+ * Meters are cached by observation name and low cardinality key values so that handling
+ * an {@link Observation} does not need to build and look up the same meters over and over
+ * again. The cache is shared by all handlers of the same {@link MeterRegistry}. Cached
+ * meters are evicted when they are removed from the registry, and the whole cache is
+ * cleared when a {@code MeterFilter} is configured on it.
  *
  * @author Marcin Grzejszczak
  * @author Tommy Ludwig
@@ -41,10 +57,27 @@ import java.util.List;
  */
 public class DefaultMeterObservationHandler implements MeterObservationHandler<Observation.Context> {
 
+    /**
+     * Upper bound on the number of meters cached per meter type, so that a high
+     * cardinality key value can't make the cache grow without limit. Meters that do not
+     * fit into the cache are looked up in the registry.
+     */
+    private static final int MAX_CACHED_METERS = 10_000;
+
+    /**
+     * Meter caches by registry, so that only a single meter removed listener is
+     * registered per registry no matter how many handlers are created for it. Cached
+     * meters don't reference their registry, so registries can still be collected.
+     */
+    private static final Map<MeterRegistry, MeterCache> METER_CACHES = Collections
+        .synchronizedMap(new WeakHashMap<>());
+
     private final MeterRegistry meterRegistry;
 
     private final boolean shouldCreateLongTaskTimer;
 
+    private final MeterCache meterCache;
+
     /**
      * Creates the handler with the default configuration.
      * @param meterRegistry the MeterRegistry to use
@@ -52,6 +85,7 @@ public class DefaultMeterObservationHandler implements MeterObservationHandler<O
     public DefaultMeterObservationHandler(MeterRegistry meterRegistry) {
         this.meterRegistry = meterRegistry;
         this.shouldCreateLongTaskTimer = true;
+        this.meterCache = meterCache(meterRegistry);
     }
 
     /**
@@ -66,16 +100,27 @@ public class DefaultMeterObservationHandler implements MeterObservationHandler<O
         this.meterRegistry = meterRegistry;
         this.shouldCreateLongTaskTimer = Arrays.stream(metersToIgnore)
             .noneMatch(ignored -> ignored == IgnoredMeters.LONG_TASK_TIMER);
+        this.meterCache = meterCache(meterRegistry);
+    }
+
+    private static MeterCache meterCache(MeterRegistry meterRegistry) {
+        return METER_CACHES.computeIfAbsent(meterRegistry, registry -> {
+            MeterCache meterCache = new MeterCache();
+            registry.config().onMeterRemoved(meterCache::evict).onMeterFilterAdded(filter -> meterCache.clear());
+            return meterCache;
+        });
     }
 
     @Override
     public void onStart(Observation.Context context) {
         if (shouldCreateLongTaskTimer) {
-            LongTaskTimer.Sample longTaskSample = LongTaskTimer.builder(context.getName() + ".active")
-                .tags(createTags(context))
-                .register(meterRegistry)
-                .start();
-            context.put(LongTaskTimer.Sample.class, longTaskSample);
+            String name = context.getName();
+            LongTaskTimer longTaskTimer = meterCache.longTaskTimers.getOrCreate(
+                    new MeterKey(name, context.getLowCardinalityKeyValues(), null),
+                    key -> LongTaskTimer.builder(name + ".active")
+                        .tags(createTags(key.keyValues))
+                        .register(meterRegistry));
+            context.put(LongTaskTimer.Sample.class, longTaskTimer.start());
         }
 
         Timer.Sample sample = Timer.start(meterRegistry);
@@ -84,10 +129,15 @@ public class DefaultMeterObservationHandler implements MeterObservationHandler<O
 
     @Override
     public void onStop(Observation.Context context) {
-        List<Tag> tags = createTags(context);
-        tags.add(Tag.of("error", getErrorValue(context)));
+        String name = context.getName();
+        Timer timer = meterCache.timers.getOrCreate(
+                new MeterKey(name, context.getLowCardinalityKeyValues(), getErrorValue(context)), key -> {
+                    List<Tag> tags = createTags(key.keyValues);
+                    tags.add(Tag.of("error", Objects.requireNonNull(key.qualifier)));
+                    return Timer.builder(name).tags(tags).register(this.meterRegistry);
+                });
         Timer.Sample sample = context.getRequired(Timer.Sample.class);
-        sample.stop(Timer.builder(context.getName()).tags(tags).register(this.meterRegistry));
+        sample.stop(timer);
 
         if (shouldCreateLongTaskTimer) {
             LongTaskTimer.Sample longTaskSample = context.getRequired(LongTaskTimer.Sample.class);
@@ -97,9 +147,10 @@ public class DefaultMeterObservationHandler implements MeterObservationHandler<O
 
     @Override
     public void onEvent(Observation.Event event, Observation.Context context) {
-        Counter.builder(context.getName() + "." + event.getName())
-            .tags(createTags(context))
-            .register(meterRegistry)
+        String name = context.getName();
+        String eventName = event.getName();
+        meterCache.counters.getOrCreate(new MeterKey(name, context.getLowCardinalityKeyValues(), eventName),
+                key -> Counter.builder(name + "." + eventName).tags(createTags(key.keyValues)).register(meterRegistry))
             .increment();
     }
 
@@ -108,14 +159,15 @@ public class DefaultMeterObservationHandler implements MeterObservationHandler<O
         return error != null ? error.getClass().getSimpleName() : "none";
     }
 
-    private List<Tag> createTags(Observation.Context context) {
+    private List<Tag> createTags(KeyValues keyValues) {
         List<Tag> tags = new ArrayList<>();
-        for (KeyValue keyValue : context.getLowCardinalityKeyValues()) {
+        for (KeyValue keyValue : keyValues) {
             tags.add(Tag.of(keyValue.getKey(), keyValue.getValue()));
         }
         return tags;
     }
 
+
     /**
      * Meter types to ignore.
      *
@@ -127,4 +179,138 @@ public class DefaultMeterObservationHandler implements MeterObservationHandler<O
 
     }
 
+    private static final class MeterCache {
+
+        private final CachedMeters<Timer> timers = new CachedMeters<>();
+
+        private final CachedMeters<LongTaskTimer> longTaskTimers = new CachedMeters<>();
+
+        private final CachedMeters<Counter> counters = new CachedMeters<>();
+
+        private void evict(Meter meter) {
+            if (meter instanceof Timer) {
+                timers.evict(meter);
+            }
+            else if (meter instanceof LongTaskTimer) {
+                longTaskTimers.evict(meter);
+            }
+            else if (meter instanceof Counter) {
+                counters.evict(meter);
+            }
+        }
+
+        private void clear() {
+            timers.clear();
+            longTaskTimers.clear();
+            counters.clear();
+        }
+
+    }
+
+    private static final class CachedMeters<M extends Meter> {
+
+        private final Map<MeterKey, M> meters = new ConcurrentHashMap<>();
+
+        /**
+         * Keys by the id of the meter they are cached for, several keys map to the same
+         * meter when a {@code MeterFilter} drops the tags they differ in.
+         */
+        private final Map<Meter.Id, Set<MeterKey>> keys = new ConcurrentHashMap<>();
+
+        /**
+         * Incremented before meters are evicted, so that a meter cached while it was
+         * evicted is not kept.
+         */
+        private final AtomicLong evictions = new AtomicLong();
+
+        /**
+         * Registering happens outside of the lock of {@link #meters}, since the registry
+         * calls {@link #evict(Meter)} while holding its own lock. Meters denied by a
+         * {@code MeterFilter} are cached too, so that they are not registered again.
+         */
+        private M getOrCreate(MeterKey key, Function<MeterKey, M> creator) {
+            M meter = meters.get(key);
+            if (meter != null) {
+                return meter;
+            }
+            long evictions = this.evictions.get();
+            meter = creator.apply(key);
+            if (meters.size() >= MAX_CACHED_METERS) {
+                return meter;
+            }
+            M cached = meters.putIfAbsent(key, meter);
+            if (cached != null) {
+                return cached;
+            }
+            keys.computeIfAbsent(meter.getId(), id -> ConcurrentHashMap.newKeySet()).add(key);
+            if (this.evictions.get() != evictions) {
+                // the meter could have been removed before its key was known to evict it
+                meters.remove(key, meter);
+                Set<MeterKey> meterKeys = keys.get(meter.getId());
+                if (meterKeys != null) {
+                    meterKeys.remove(key);
+                }
+            }
+            return meter;
+        }
+
+        private void evict(Meter meter) {
+            evictions.incrementAndGet();
+            Set<MeterKey> meterKeys = keys.remove(meter.getId());
+            if (meterKeys != null) {
+                for (MeterKey key : meterKeys) {
+                    meters.remove(key, meter);
+                }
+            }
+        }
+
+        private void clear() {
+            evictions.incrementAndGet();
+            meters.clear();
+            keys.clear();
+        }
+
+    }
+
+    private static final class MeterKey {
+
+        private final String name;
+
+        private final KeyValues keyValues;
+
+        /**
+         * The error value for timers or the event name for counters.
+         */
+        @Nullable
+        private final String qualifier;
+
+        private final int hashCode;
+
+        MeterKey(String name, KeyValues keyValues, @Nullable String qualifier) {
+            this.name = name;
+            this.keyValues = keyValues;
+            this.qualifier = qualifier;
+            this.hashCode = 31 * (31 * name.hashCode() + keyValues.hashCode()) + Objects.hashCode(qualifier);
+        }
+
+        @Override
+        public boolean equals(@Nullable Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (o == null || getClass() != o.getClass()) {
+                return false;
+            }
+            MeterKey that = (MeterKey) o;
+            return name.equals(that.name) && keyValues.equals(that.keyValues)
+                    && Objects.equals(qualifier, that.qualifier);
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+
+    }
+
 }
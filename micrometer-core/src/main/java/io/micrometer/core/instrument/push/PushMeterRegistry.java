@@ -19,11 +19,15 @@ import io.micrometer.common.lang.Nullable;
 import io.micrometer.common.util.internal.logging.InternalLogger;
 import io.micrometer.common.util.internal.logging.InternalLoggerFactory;
 import io.micrometer.core.instrument.Clock;
+import io.micrometer.core.instrument.Meter;
 import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.util.MeterPartition;
 import io.micrometer.core.instrument.util.TimeUtils;
 
+import java.util.List;
 import java.util.Random;
 import java.util.concurrent.*;
+import java.util.function.Consumer;
 
 public abstract class PushMeterRegistry extends MeterRegistry {
 
@@ -42,6 +46,9 @@ public abstract class PushMeterRegistry extends MeterRegistry {
     @Nullable
     private ScheduledExecutorService scheduledExecutorService;
 
+    @Nullable
+    private volatile ExecutorService batchPublishingExecutorService;
+
     protected PushMeterRegistry(PushRegistryConfig config, Clock clock) {
         super(clock);
 
@@ -76,6 +83,60 @@ public abstract class PushMeterRegistry extends MeterRegistry {
         }
     }
 
+    /**
+     * Publish all meters in batches of {@link PushRegistryConfig#batchSize()}, handing
+     * each batch to {@code batchPublisher}. Up to
+     * {@link PushRegistryConfig#batchesInFlight()} batches are published concurrently, so
+     * that a batch can be serialized while previous ones are still being sent. This
+     * method returns once all batches have been published. An exception thrown for one
+     * batch is logged and doesn't prevent the other batches from being published.
+     * @param batchPublisher serializes and sends a batch of meters. It must be thread
+     * safe if more than one batch can be in flight.
+     * @since 1.14.0
+     */
+    protected void publishBatches(Consumer<List<Meter>> batchPublisher) {
+        ExecutorService executorService = this.batchPublishingExecutorService;
+        if (executorService == null) {
+            for (List<Meter> batch : MeterPartition.partition(this, config.batchSize())) {
+                publishBatchSafely(batchPublisher, batch);
+            }
+            return;
+        }
+
+        int batchesInFlight = config.batchesInFlight();
+        Semaphore inFlight = new Semaphore(batchesInFlight);
+        for (List<Meter> batch : MeterPartition.partition(this, config.batchSize())) {
+            inFlight.acquireUninterruptibly();
+            try {
+                executorService.execute(() -> {
+                    try {
+                        publishBatchSafely(batchPublisher, batch);
+                    }
+                    finally {
+                        inFlight.release();
+                    }
+                });
+            }
+            catch (RejectedExecutionException e) {
+                // the registry was stopped while publishing
+                inFlight.release();
+                publishBatchSafely(batchPublisher, batch);
+            }
+        }
+        // wait for the batches still in flight
+        inFlight.acquireUninterruptibly(batchesInFlight);
+    }
+
+    private void publishBatchSafely(Consumer<List<Meter>> batchPublisher, List<Meter> batch) {
+        try {
+            batchPublisher.accept(batch);
+        }
+        catch (Throwable e) {
+            logger.warn("Unexpected exception thrown while publishing a batch of metrics for "
+                    + getClass().getSimpleName(), e);
+        }
+    }
+
     /**
      * Returns if scheduled publishing of metrics is in progress.
      * @return if scheduled publishing of metrics is in progress
@@ -114,6 +175,11 @@ public abstract class PushMeterRegistry extends MeterRegistry {
             long initialDelayMillis = calculateInitialDelay();
             scheduledExecutorService.scheduleAtFixedRate(this::publishSafelyOrSkipIfInProgress, initialDelayMillis,
                     stepMillis, TimeUnit.MILLISECONDS);
+
+            if (config.batchesInFlight() > 1) {
+                batchPublishingExecutorService = Executors.newFixedThreadPool(config.batchesInFlight(),
+                        threadFactory);
+            }
         }
     }
 
@@ -134,6 +200,12 @@ public abstract class PushMeterRegistry extends MeterRegistry {
             scheduledExecutorService.shutdown();
             scheduledExecutorService = null;
         }
+        ExecutorService executorService = batchPublishingExecutorService;
+        if (executorService != null) {
+            // batches that are already in flight are still published
+            executorService.shutdown();
+            batchPublishingExecutorService = null;
+        }
     }
 
     @Override
@@ -16,6 +16,7 @@
 package io.micrometer.core.instrument.push;
 
 import io.micrometer.core.instrument.config.MeterRegistryConfig;
+import io.micrometer.core.instrument.config.validate.InvalidReason;
 import io.micrometer.core.instrument.config.validate.Validated;
 import io.micrometer.core.ipc.http.HttpSender;
 
@@ -90,6 +91,19 @@ public interface PushRegistryConfig extends MeterRegistryConfig {
         return getInteger(this, "batchSize").orElse(10000);
     }
 
+    /**
+     * Return the maximum number of batches that are published concurrently by registries
+     * which publish through {@link PushMeterRegistry#publishBatches}. With more than one
+     * batch in flight, batches are serialized while previous ones are still being sent,
+     * so a push with many batches is no longer bound by the sum of their round trips.
+     * @return The maximum number of batches in flight. The default is 1, which publishes
+     * one batch after another.
+     * @since 1.14.0
+     */
+    default int batchesInFlight() {
+        return getInteger(this, "batchesInFlight").orElse(1);
+    }
+
     @Override
     default Validated<?> validate() {
         return validate(this);
@@ -105,7 +119,9 @@ public interface PushRegistryConfig extends MeterRegistryConfig {
         return checkAll(config, check("step", PushRegistryConfig::step),
                 check("connectTimeout", PushRegistryConfig::connectTimeout),
                 check("readTimeout", PushRegistryConfig::readTimeout),
-                check("batchSize", PushRegistryConfig::batchSize), check("numThreads", PushRegistryConfig::numThreads));
+                check("batchSize", PushRegistryConfig::batchSize), check("numThreads", PushRegistryConfig::numThreads),
+                check("batchesInFlight", PushRegistryConfig::batchesInFlight)
+                    .andThen(v -> v.invalidateWhen(b -> b < 1, "must be greater than 0", InvalidReason.MALFORMED)));
     }
 
 }
@@ -28,6 +28,8 @@ import java.nio.charset.StandardCharsets;
 import java.util.Base64;
 import java.util.LinkedHashMap;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
 import java.util.function.Consumer;
 import java.util.function.Supplier;
 import java.util.zip.GZIPOutputStream;
@@ -46,6 +48,28 @@ public interface HttpSender {
 
     Response send(Request request) throws Throwable;
 
+    /**
+     * Send a request without waiting for its response. Implementations backed by a
+     * non-blocking HTTP client return before the request has been sent, so callers such
+     * as push registries can hand off a batch of metrics and move on to serializing the
+     * next one. The default implementation sends the request synchronously on the calling
+     * thread.
+     * @param request The request to send.
+     * @return A stage completed with the response, or completed exceptionally if the
+     * request could not be sent.
+     * @since 1.14.0
+     */
+    default CompletionStage<Response> sendAsync(Request request) {
+        CompletableFuture<Response> response = new CompletableFuture<>();
+        try {
+            response.complete(send(request));
+        }
+        catch (Throwable e) {
+            response.completeExceptionally(e);
+        }
+        return response;
+    }
+
     default Request.Builder post(String uri) {
         return newRequest(uri).withMethod(Method.POST);
     }
@@ -306,6 +330,16 @@ public interface HttpSender {
                 return sender.send(new Request(url, entity, method, requestHeaders));
             }
 
+            /**
+             * Send the request without waiting for its response.
+             * @return A stage completed with the response.
+             * @see HttpSender#sendAsync(Request)
+             * @since 1.14.0
+             */
+            public CompletionStage<Response> sendAsync() {
+                return sender.sendAsync(new Request(url, entity, method, requestHeaders));
+            }
+
         }
 
     }
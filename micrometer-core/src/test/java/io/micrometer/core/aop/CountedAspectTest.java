@@ -82,6 +82,13 @@ class CountedAspectTest {
         assertThat(meterRegistry.find("metric.success").counter()).isNull();
     }
 
+    @Test
+    void countedWithOddExtraTagsStillCallsMethod() {
+        assertThat(countedService.oddExtraTags()).isEqualTo("called");
+
+        assertThat(meterRegistry.find("metric.odd").counter()).isNull();
+    }
+
     @Test
     void countedWithFailure() {
         try {
@@ -226,6 +233,11 @@ class CountedAspectTest {
             throw new RuntimeException("This is it");
         }
 
+        @Counted(value = "metric.odd", extraTags = { "extra" })
+        String oddExtraTags() {
+            return "called";
+        }
+
     }
 
     private <T> T getAdvisedService(T countedService) {
@@ -349,6 +361,110 @@ class CountedAspectTest {
             .count()).isEqualTo(1);
     }
 
+    @Test
+    void countedOnInterfaceMethod() {
+        CountedInterface service = getAdvisedService((CountedInterface) new CountedImpl());
+
+        service.annotatedOnInterface();
+
+        assertThat(meterRegistry.get("interface.counted")
+            .tag("method", "annotatedOnInterface")
+            .tag("result", "success")
+            .counter()
+            .count()).isEqualTo(1);
+    }
+
+    @Test
+    void countedOnTargetClassMethod() {
+        CountedInterface service = getAdvisedService((CountedInterface) new CountedImpl());
+
+        service.annotatedOnImplementation();
+
+        assertThat(meterRegistry.get("impl.counted")
+            .tag("method", "annotatedOnImplementation")
+            .tag("result", "success")
+            .counter()
+            .count()).isEqualTo(1);
+    }
+
+    @Test
+    void countedOnTargetClassMethodWinsOverInterfaceMethod() {
+        CountedInterface service = getAdvisedService((CountedInterface) new CountedImpl());
+
+        service.annotatedOnBoth();
+        service.annotatedOnBoth();
+
+        assertThat(meterRegistry.find("interface.counted").counter()).isNull();
+        assertThat(meterRegistry.get("impl.counted")
+            .tag("method", "annotatedOnBoth")
+            .tag("result", "success")
+            .counter()
+            .count()).isEqualTo(2);
+    }
+
+    @Test
+    void countClassImplementingInterface() {
+        CountedClassInterface service = getAdvisedService((CountedClassInterface) new CountedClassImpl());
+
+        service.hello();
+
+        assertThat(meterRegistry.get("class.counted")
+            .tag("class", "io.micrometer.core.aop.CountedAspectTest$CountedClassInterface")
+            .tag("method", "hello")
+            .tag("result", "success")
+            .counter()
+            .count()).isEqualTo(1);
+    }
+
+    interface CountedInterface {
+
+        @Counted("interface.counted")
+        String annotatedOnInterface();
+
+        String annotatedOnImplementation();
+
+        @Counted("interface.counted")
+        String annotatedOnBoth();
+
+    }
+
+    static class CountedImpl implements CountedInterface {
+
+        @Override
+        public String annotatedOnInterface() {
+            return "hello";
+        }
+
+        @Counted("impl.counted")
+        @Override
+        public String annotatedOnImplementation() {
+            return "hello";
+        }
+
+        @Counted("impl.counted")
+        @Override
+        public String annotatedOnBoth() {
+            return "hello";
+        }
+
+    }
+
+    interface CountedClassInterface {
+
+        String hello();
+
+    }
+
+    @Counted("class.counted")
+    static class CountedClassImpl implements CountedClassInterface {
+
+        @Override
+        public String hello() {
+            return "hello";
+        }
+
+    }
+
     @Counted("class.counted")
     static class CountedClassService {
 
@@ -97,6 +97,22 @@ class TimedAspectTest {
             .size()).isEqualTo(1);
     }
 
+    @Test
+    void timeMethodWithOddExtraTagsStillCallsMethod() {
+        MeterRegistry registry = new SimpleMeterRegistry();
+
+        AspectJProxyFactory pf = new AspectJProxyFactory(new TimedService());
+        pf.addAspect(new TimedAspect(registry));
+
+        TimedService service = pf.getProxy();
+
+        assertThat(service.oddExtraTagsCall()).isEqualTo("called");
+        assertThat(service.oddExtraTagsLongCall()).isEqualTo("called");
+
+        assertThat(registry.find("oddExtraTagsCall").timer()).isNull();
+        assertThat(registry.find("oddExtraTagsLongCall").longTaskTimer()).isNull();
+    }
+
     @Test
     void timeMethodWithSloTimer() {
         MeterRegistry registry = new SimpleMeterRegistry();
@@ -445,6 +461,26 @@ class TimedAspectTest {
             assertThat(registry.get("method.timed").tag("test", "15").timer().count()).isEqualTo(1);
         }
 
+        @ParameterizedTest
+        @EnumSource(AnnotatedTestClass.class)
+        void meterTagsResolvedForEachInvocation(AnnotatedTestClass annotatedClass) {
+            MeterRegistry registry = new SimpleMeterRegistry();
+            TimedAspect timedAspect = new TimedAspect(registry);
+            timedAspect.setMeterTagAnnotationHandler(meterTagAnnotationHandler);
+
+            AspectJProxyFactory pf = new AspectJProxyFactory(annotatedClass.newInstance());
+            pf.addAspect(timedAspect);
+
+            MeterTagClassInterface service = pf.getProxy();
+
+            service.getAnnotationForArgumentToString(15L);
+            service.getAnnotationForArgumentToString(16L);
+            service.getAnnotationForArgumentToString(15L);
+
+            assertThat(registry.get("method.timed").tag("test", "15").timer().count()).isEqualTo(2);
+            assertThat(registry.get("method.timed").tag("test", "16").timer().count()).isEqualTo(1);
+        }
+
         @ParameterizedTest
         @EnumSource(AnnotatedTestClass.class)
         void meterTagsWithResolver(AnnotatedTestClass annotatedClass) {
@@ -736,6 +772,16 @@ class TimedAspectTest {
         void sloCall() {
         }
 
+        @Timed(value = "oddExtraTagsCall", extraTags = { "extra" })
+        String oddExtraTagsCall() {
+            return "called";
+        }
+
+        @Timed(value = "oddExtraTagsLongCall", extraTags = { "extra" }, longTask = true)
+        String oddExtraTagsLongCall() {
+            return "called";
+        }
+
     }
 
     static class AsyncTimedService {
@@ -191,6 +191,59 @@ class MeterFilterTest {
         verifyNoMoreInteractions(onMaxReached);
     }
 
+    @Test
+    void maximumAllowableTagSets() {
+        MeterFilter filter = MeterFilter.maximumAllowableTagSets("name", 2);
+
+        Meter.Id id1 = new Meter.Id("name", Tags.of("k", "1"), null, null, Meter.Type.COUNTER);
+        Meter.Id id2 = new Meter.Id("name", Tags.of("k", "2"), null, null, Meter.Type.COUNTER);
+        Meter.Id id3 = new Meter.Id("name", Tags.of("k", "3"), null, null, Meter.Type.COUNTER);
+        Meter.Id otherName = new Meter.Id("name2", Tags.of("k", "3"), null, null, Meter.Type.COUNTER);
+        Meter.Id notMatching = new Meter.Id("other", Tags.of("k", "3"), null, null, Meter.Type.COUNTER);
+
+        assertThat(filter.map(id1)).isSameAs(id1);
+        assertThat(filter.accept(id1)).isEqualTo(MeterFilterReply.NEUTRAL);
+        // only counted once accepted for registration
+        assertThat(filter.map(id3)).isSameAs(id3);
+        assertThat(filter.map(id2)).isSameAs(id2);
+        assertThat(filter.accept(id2)).isEqualTo(MeterFilterReply.NEUTRAL);
+
+        assertThat(filter.map(id3)).has(tag("otel.metric.overflow", "true")).doesNotHave(tag("k"));
+        assertThat(filter.map(id1)).isSameAs(id1);
+        assertThat(filter.map(otherName)).isSameAs(otherName);
+        assertThat(filter.map(notMatching)).isSameAs(notMatching);
+    }
+
+    @Test
+    void maximumAllowableTagSetsAggregatesOverflowIntoOneSeries() {
+        MeterRegistry registry = new SimpleMeterRegistry();
+        registry.config().meterFilter(MeterFilter.maximumAllowableTagSets("requests", 2, Tags.of("user", "other")));
+
+        for (int i = 0; i < 10; i++) {
+            registry.counter("requests", "user", Integer.toString(i)).increment();
+        }
+
+        assertThat(registry.find("requests").counters()).hasSize(3);
+        assertThat(registry.get("requests").tag("user", "0").counter().count()).isEqualTo(1);
+        assertThat(registry.get("requests").tag("user", "other").counter().count()).isEqualTo(8);
+    }
+
+    @Test
+    void maximumAllowableTagSetsOnlyCountsRegisteredTagSets() {
+        MeterRegistry registry = new SimpleMeterRegistry();
+        registry.config().meterFilter(MeterFilter.maximumAllowableTagSets("requests", 2, Tags.of("user", "other")));
+
+        registry.counter("requests", "user", "0");
+        for (int i = 1; i < 10; i++) {
+            registry.removeByPreFilterId(
+                    new Meter.Id("requests", Tags.of("user", Integer.toString(i)), null, null, Meter.Type.COUNTER));
+        }
+        registry.counter("requests", "user", "10");
+
+        assertThat(registry.find("requests").tag("user", "10").counter()).isNotNull();
+        assertThat(registry.find("requests").tag("user", "other").counter()).isNull();
+    }
+
     @Test
     void minExpectedOnSummary() {
         MeterFilter filter = MeterFilter.minExpected("name", 100.0);
@@ -15,8 +15,11 @@
  */
 package io.micrometer.core.instrument;
 
+import io.micrometer.core.instrument.config.NamingConvention;
 import org.junit.jupiter.api.Test;
 
+import java.util.List;
+
 import static org.assertj.core.api.Assertions.assertThat;
 
 /**
@@ -56,4 +59,25 @@ class MeterIdTest {
         assertThat(newId.getTags()).containsExactlyElementsOf(Tags.of("k1", "n1", "k", "n"));
     }
 
+    @Test
+    void conventionNameAndTagsAreMemoizedPerNamingConvention() {
+        Meter.Id id = new Meter.Id("my.id", Tags.of("tag.key", "v1"), null, null, Meter.Type.COUNTER);
+
+        List<Tag> snakeCaseTags = id.getConventionTags(NamingConvention.snakeCase);
+        assertThat(snakeCaseTags).containsExactly(Tag.of("tag_key", "v1"));
+        assertThat(id.getConventionTags(NamingConvention.snakeCase)).first().isSameAs(snakeCaseTags.get(0));
+        assertThat(id.getConventionName(NamingConvention.snakeCase)).isEqualTo("my_id");
+
+        assertThat(id.getConventionTags(NamingConvention.camelCase)).containsExactly(Tag.of("tagKey", "v1"));
+        assertThat(id.getConventionName(NamingConvention.camelCase)).isEqualTo("myId");
+        assertThat(id.getConventionName(NamingConvention.snakeCase)).isEqualTo("my_id");
+    }
+
+    @Test
+    void modifyingConventionTagsDoesNotAffectMemoizedTags() {
+        Meter.Id id = new Meter.Id("my.id", Tags.of("k1", "v1"), null, null, Meter.Type.COUNTER);
+        id.getConventionTags(NamingConvention.dot).add(Tag.of("k2", "v2"));
+        assertThat(id.getConventionTags(NamingConvention.dot)).containsExactly(Tag.of("k1", "v1"));
+    }
+
 }
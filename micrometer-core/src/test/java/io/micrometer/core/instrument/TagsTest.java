@@ -265,6 +265,16 @@ class TagsTest {
         assertTags(merged, "t1", "v3", "t2", "v2");
     }
 
+    @Test
+    void andInterleavedTagsShouldKeepLastValuePerKey() {
+        Tags source = Tags.of("t1", "v1", "t3", "v3", "t5", "v5");
+        Tags merged = source.and("t4", "v4", "t3", "w3", "t0", "v0", "t3", "x3", "t6", "v6");
+        assertTags(source, "t1", "v1", "t3", "v3", "t5", "v5");
+        assertTags(merged, "t0", "v0", "t1", "v1", "t3", "x3", "t4", "v4", "t5", "v5", "t6", "v6");
+        assertThat(merged).isEqualTo(Tags.of("t6", "v6", "t5", "v5", "t4", "v4", "t3", "x3", "t1", "v1", "t0", "v0"))
+            .hasSameHashCodeAs(Tags.of("t6", "v6", "t5", "v5", "t4", "v4", "t3", "x3", "t1", "v1", "t0", "v0"));
+    }
+
     @Test
     void iteratorShouldIterateTags() {
         Tags tags = Tags.of("t1", "v1");
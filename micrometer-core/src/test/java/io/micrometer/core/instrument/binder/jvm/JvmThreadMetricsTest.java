@@ -16,16 +16,17 @@
 package io.micrometer.core.instrument.binder.jvm;
 
 import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.MockClock;
 import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.Test;
 
 import java.lang.management.ThreadInfo;
 import java.lang.management.ThreadMXBean;
+import java.time.Duration;
 import java.util.concurrent.TimeUnit;
 
 import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
-import static org.mockito.Mockito.mock;
-import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.*;
 
 /**
  * Tests for {@link JvmThreadMetrics}.
@@ -55,6 +56,16 @@ class JvmThreadMetricsTest {
         assertThat(registry.get("jvm.threads.started").functionCounter().count()).isGreaterThan(initialThreadCount);
     }
 
+    @Test
+    void threadStateGaugesSurviveGarbageCollection() {
+        MeterRegistry registry = new SimpleMeterRegistry();
+        new JvmThreadMetrics().bindTo(registry);
+
+        System.gc();
+
+        assertThat(registry.get("jvm.threads.states").tag("state", "runnable").gauge().value()).isPositive();
+    }
+
     @Test
     void getThreadStateCountWhenThreadInfoIsNullShouldWork() {
         ThreadMXBean threadBean = mock(ThreadMXBean.class);
@@ -66,6 +77,44 @@ class JvmThreadMetricsTest {
         assertThat(JvmThreadMetrics.getThreadStateCount(threadBean, Thread.State.RUNNABLE)).isEqualTo(1);
     }
 
+    @Test
+    void threadStateSnapshotIsSharedUntilRefreshInterval() {
+        ThreadMXBean threadBean = mock(ThreadMXBean.class);
+        long[] threadIds = { 1L, 2L };
+        when(threadBean.getAllThreadIds()).thenReturn(threadIds);
+        ThreadInfo runnable = mock(ThreadInfo.class);
+        when(runnable.getThreadState()).thenReturn(Thread.State.RUNNABLE);
+        ThreadInfo blocked = mock(ThreadInfo.class);
+        when(blocked.getThreadState()).thenReturn(Thread.State.BLOCKED);
+        when(threadBean.getThreadInfo(threadIds)).thenReturn(new ThreadInfo[] { runnable, blocked });
+        MockClock clock = new MockClock();
+        JvmThreadMetrics.ThreadStateSnapshot snapshot = new JvmThreadMetrics.ThreadStateSnapshot(threadBean, clock,
+                Duration.ofSeconds(1), Integer.MAX_VALUE);
+
+        assertThat(snapshot.getCount(Thread.State.RUNNABLE)).isEqualTo(1);
+        assertThat(snapshot.getCount(Thread.State.BLOCKED)).isEqualTo(1);
+        assertThat(snapshot.getCount(Thread.State.WAITING)).isZero();
+        verify(threadBean, times(1)).getThreadInfo(threadIds);
+
+        clock.add(Duration.ofSeconds(1));
+        assertThat(snapshot.getCount(Thread.State.RUNNABLE)).isEqualTo(1);
+        verify(threadBean, times(2)).getThreadInfo(threadIds);
+    }
+
+    @Test
+    void sampledThreadStateCountsAreScaledToAllThreads() {
+        ThreadMXBean threadBean = mock(ThreadMXBean.class);
+        when(threadBean.getAllThreadIds()).thenAnswer(invocation -> new long[] { 1L, 2L, 3L, 4L, 5L, 6L, 7L, 8L });
+        ThreadInfo runnable = mock(ThreadInfo.class);
+        when(runnable.getThreadState()).thenReturn(Thread.State.RUNNABLE);
+        when(threadBean.getThreadInfo(any(long[].class))).thenReturn(new ThreadInfo[] { runnable, runnable });
+        JvmThreadMetrics.ThreadStateSnapshot snapshot = new JvmThreadMetrics.ThreadStateSnapshot(threadBean,
+                new MockClock(), Duration.ofSeconds(1), 2);
+
+        assertThat(snapshot.getCount(Thread.State.RUNNABLE)).isEqualTo(8);
+        verify(threadBean).getThreadInfo(argThat((long[] ids) -> ids.length == 2));
+    }
+
     private void createTimedWaitingThread() {
         new Thread(() -> {
             sleep(5);
@@ -46,6 +46,12 @@ class DistributionStatisticConfigTest {
             .satisfies(cause -> assertThat(cause.getMessage()).startsWith("Invalid distribution configuration:"));
     }
 
+    @Test
+    void maxStripesValidation() {
+        assertThatThrownBy(() -> DistributionStatisticConfig.builder().maxStripes(0).build())
+            .satisfies(cause -> assertThat(cause.getMessage()).startsWith("Invalid distribution configuration:"));
+    }
+
     @Test
     void serviceLevelObjectiveBoundariesValidation() {
         assertThatThrownBy(() -> DistributionStatisticConfig.builder().serviceLevelObjectives(0.0).build())
@@ -19,6 +19,8 @@ import io.micrometer.core.instrument.Clock;
 import io.micrometer.core.instrument.MockClock;
 import org.junit.jupiter.api.Test;
 
+import java.time.Duration;
+
 import static org.assertj.core.api.Assertions.assertThat;
 
 class TimeWindowFixedBoundaryHistogramTest {
@@ -70,4 +72,90 @@ class TimeWindowFixedBoundaryHistogramTest {
         }
     }
 
+    @Test
+    void stripedHistogramsAreCumulative() throws InterruptedException {
+        try (TimeWindowFixedBoundaryHistogram histogram = new TimeWindowFixedBoundaryHistogram(new MockClock(),
+                DistributionStatisticConfig.builder()
+                    .serviceLevelObjectives(3.0, 6, 7)
+                    .bufferLength(1)
+                    .build()
+                    .merge(DistributionStatisticConfig.DEFAULT),
+                false, true, true)) {
+
+            Thread[] threads = new Thread[4];
+            for (int i = 0; i < threads.length; i++) {
+                threads[i] = new Thread(() -> {
+                    histogram.recordDouble(3);
+                    histogram.recordDouble(6);
+                    histogram.recordDouble(7);
+                });
+                threads[i].start();
+            }
+            for (Thread thread : threads) {
+                thread.join();
+            }
+
+            assertThat(histogram.takeSnapshot(0, 0, 0).histogramCounts()).containsExactly(new CountAtBucket(3.0, 4),
+                    new CountAtBucket(6.0, 8), new CountAtBucket(7.0, 12));
+        }
+    }
+
+    @Test
+    void singleWriteHistogramsMergeAllBuckets() {
+        MockClock clock = new MockClock();
+        try (TimeWindowFixedBoundaryHistogram histogram = new TimeWindowFixedBoundaryHistogram(clock,
+                DistributionStatisticConfig.builder()
+                    .serviceLevelObjectives(3.0, 6, 7)
+                    .expiry(Duration.ofSeconds(3))
+                    .bufferLength(3)
+                    .build()
+                    .merge(DistributionStatisticConfig.DEFAULT),
+                false, true, false, true)) {
+
+            histogram.recordDouble(3);
+            clock.add(Duration.ofSeconds(1));
+            histogram.recordDouble(6);
+            clock.add(Duration.ofSeconds(1));
+            histogram.recordDouble(7);
+
+            assertThat(histogram.takeSnapshot(0, 0, 0).histogramCounts()).containsExactly(new CountAtBucket(3.0, 1),
+                    new CountAtBucket(6.0, 2), new CountAtBucket(7.0, 3));
+
+            clock.add(Duration.ofSeconds(1));
+
+            assertThat(histogram.takeSnapshot(0, 0, 0).histogramCounts()).containsExactly(new CountAtBucket(3.0, 0),
+                    new CountAtBucket(6.0, 1), new CountAtBucket(7.0, 2));
+
+            clock.add(Duration.ofSeconds(2));
+
+            assertThat(histogram.takeSnapshot(0, 0, 0).histogramCounts()).containsExactly(new CountAtBucket(3.0, 0),
+                    new CountAtBucket(6.0, 0), new CountAtBucket(7.0, 0));
+        }
+    }
+
+    @Test
+    void lookupOfPercentileHistogramBucketsMatchesBinarySearch() {
+        DistributionStatisticConfig statisticConfig = DistributionStatisticConfig.builder()
+            .percentilesHistogram(true)
+            .serviceLevelObjectives(2.5, 100, 1000.5, Duration.ofMillis(300).toNanos())
+            .minimumExpectedValue(3.0)
+            .maximumExpectedValue((double) Duration.ofSeconds(30).toNanos())
+            .build();
+        double[] buckets = statisticConfig.getHistogramBuckets(true)
+            .stream()
+            .mapToDouble(Double::doubleValue)
+            .toArray();
+        FixedBoundaryHistogram.Boundaries boundaries = new FixedBoundaryHistogram.Boundaries(buckets);
+
+        for (long value = -1; value < 100_000; value++) {
+            assertThat(boundaries.leastLessThanOrEqualTo(value)).isEqualTo(boundaries.binarySearch(value));
+        }
+        for (double bucket : buckets) {
+            for (long value = (long) bucket - 1; value <= (long) bucket + 1; value++) {
+                assertThat(boundaries.leastLessThanOrEqualTo(value)).isEqualTo(boundaries.binarySearch(value));
+            }
+        }
+        assertThat(boundaries.leastLessThanOrEqualTo(Duration.ofSeconds(31).toNanos())).isEqualTo(-1);
+    }
+
 }
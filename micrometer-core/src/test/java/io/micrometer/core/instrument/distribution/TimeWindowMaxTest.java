@@ -19,6 +19,12 @@ import io.micrometer.core.instrument.MockClock;
 import org.junit.jupiter.api.Test;
 
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -69,6 +75,73 @@ class TimeWindowMaxTest {
         assertThat(timeWindowMax.poll()).isEqualTo(100500); // 666 | 500 | 100500
     }
 
+    @Test
+    void stripedDecaysToZero() {
+        int bufferLength = 3;
+        long rotateFrequencyMillis = Duration.ofMinutes(1).toMillis();
+        timeWindowMax = new TimeWindowMax(clock, rotateFrequencyMillis, bufferLength, 4);
+        timeWindowMax.record(100);
+
+        for (int i = 0; i < bufferLength; i++) {
+            assertThat(timeWindowMax.poll()).isEqualTo(100);
+            clock.add(rotateFrequencyMillis, TimeUnit.MILLISECONDS);
+        }
+
+        assertThat(timeWindowMax.poll()).isZero();
+    }
+
+    @Test
+    void stripedCombinesRecordingsOfAllThreads() throws InterruptedException {
+        timeWindowMax = new TimeWindowMax(clock, 60_000, 3, 8);
+        List<Thread> threads = new ArrayList<>();
+        for (int i = 1; i <= 16; i++) {
+            int sample = i;
+            threads.add(new Thread(() -> timeWindowMax.record(sample, TimeUnit.SECONDS)));
+        }
+        for (Thread thread : threads) {
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        assertThat(timeWindowMax.poll(TimeUnit.SECONDS)).isEqualTo(16);
+
+        clock.add(Duration.ofSeconds(61));
+        timeWindowMax.record(5, TimeUnit.SECONDS);
+        assertThat(timeWindowMax.poll(TimeUnit.SECONDS)).isEqualTo(16);
+
+        clock.add(Duration.ofMinutes(2));
+        assertThat(timeWindowMax.poll(TimeUnit.SECONDS)).isEqualTo(5);
+    }
+
+    @Test
+    void concurrentPollsDoNotReadMaxExpiredByClearingWholeBuffer() throws Exception {
+        timeWindowMax = new TimeWindowMax(clock, 60_000, 3, 4);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            for (int i = 0; i < 1000; i++) {
+                timeWindowMax.record(100);
+                clock.add(Duration.ofMinutes(10));
+
+                CyclicBarrier barrier = new CyclicBarrier(4);
+                List<Future<Double>> polls = new ArrayList<>();
+                for (int j = 0; j < 4; j++) {
+                    polls.add(executor.submit(() -> {
+                        barrier.await();
+                        return timeWindowMax.poll();
+                    }));
+                }
+                for (Future<Double> poll : polls) {
+                    assertThat(poll.get()).isZero();
+                }
+            }
+        }
+        finally {
+            executor.shutdownNow();
+        }
+    }
+
     @Test
     void throwsExceptionWhenRotateFrequency0() {
         assertThatThrownBy(() -> new TimeWindowMax(clock, 0, 3)).isInstanceOf(IllegalArgumentException.class)
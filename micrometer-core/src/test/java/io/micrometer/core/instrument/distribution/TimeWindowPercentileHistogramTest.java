@@ -17,6 +17,8 @@ package io.micrometer.core.instrument.distribution;
 
 import io.micrometer.core.instrument.MockClock;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
 
 import java.time.Duration;
 import java.util.concurrent.TimeUnit;
@@ -51,6 +53,36 @@ class TimeWindowPercentileHistogramTest {
         }
     }
 
+    @Test
+    void snapshotBufferMatchesSnapshot() {
+        try (TimeWindowPercentileHistogram histogram = new TimeWindowPercentileHistogram(new MockClock(),
+                DistributionStatisticConfig.builder()
+                    .percentiles(0.5, 0.9)
+                    .serviceLevelObjectives(3.0, 6, 7)
+                    .build()
+                    .merge(DistributionStatisticConfig.DEFAULT),
+                false)) {
+
+            histogram.recordDouble(3);
+            histogram.recordDouble(6);
+
+            HistogramSnapshotBuffer buffer = new HistogramSnapshotBuffer();
+            // contents of a previous snapshot are discarded on reset
+            buffer.addPercentileValue(0.99, 1);
+            buffer.addCountAtBucket(1, 1);
+            buffer.reset(2, 9, 6);
+            histogram.takeSnapshot(buffer);
+
+            HistogramSnapshot snapshot = histogram.takeSnapshot(2, 9, 6);
+            assertThat(buffer.count()).isEqualTo(2);
+            assertThat(buffer.total()).isEqualTo(9);
+            assertThat(buffer.max()).isEqualTo(6);
+            assertThat(buffer.toSnapshot().percentileValues()).containsExactly(snapshot.percentileValues());
+            assertThat(buffer.toSnapshot().histogramCounts()).containsExactly(new CountAtBucket(3.0, 1),
+                    new CountAtBucket(6.0, 2), new CountAtBucket(7.0, 2));
+        }
+    }
+
     @Test
     void sampleValueAboveMaximumExpectedValue() {
         try (TimeWindowPercentileHistogram histogram = new TimeWindowPercentileHistogram(new MockClock(),
@@ -158,8 +190,9 @@ class TimeWindowPercentileHistogramTest {
         return eps < 0.05;
     }
 
-    @Test
-    void timeBasedSlidingWindow() {
+    @ParameterizedTest
+    @ValueSource(booleans = { false, true })
+    void timeBasedSlidingWindow(boolean singleWrite) {
         final DistributionStatisticConfig config = DistributionStatisticConfig.builder()
             .percentiles(0.0, 0.5, 0.75, 0.9, 0.99, 0.999, 1.0)
             .expiry(Duration.ofSeconds(4))
@@ -172,7 +205,7 @@ class TimeWindowPercentileHistogramTest {
         clock.add(-1, TimeUnit.NANOSECONDS);
         assertThat(clock.wallTime()).isZero();
 
-        Histogram histogram = new TimeWindowPercentileHistogram(clock, config, false);
+        Histogram histogram = new TimeWindowPercentileHistogram(clock, config, false, singleWrite);
 
         histogram.recordLong(10);
         histogram.recordLong(20);
@@ -0,0 +1,78 @@
+/*
+ * Copyright 2024 VMware, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micrometer.core.instrument.internal;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.concurrent.*;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+/**
+ * Tests for {@link CountedExecutorService}.
+ */
+class CountedExecutorServiceTest {
+
+    @Test
+    void shouldNotCountRejectedTasks() throws InterruptedException {
+        ThreadPoolExecutor delegate = new ThreadPoolExecutor(1, 1, 0, TimeUnit.SECONDS, new SynchronousQueue<>());
+        CountedExecutorService executor = new CountedExecutorService(delegate);
+        CountDownLatch release = new CountDownLatch(1);
+        try {
+            executor.execute(() -> {
+                try {
+                    release.await(5, TimeUnit.SECONDS);
+                }
+                catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+
+            assertThatExceptionOfType(RejectedExecutionException.class).isThrownBy(() -> executor.execute(() -> {
+            }));
+            assertThatExceptionOfType(RejectedExecutionException.class).isThrownBy(() -> executor.submit(() -> 1));
+
+            assertThat(executor.getSubmittedTaskCount()).isOne();
+        }
+        finally {
+            release.countDown();
+            delegate.shutdown();
+            assertThat(delegate.awaitTermination(5, TimeUnit.SECONDS)).isTrue();
+        }
+
+        assertThat(executor.getCompletedTaskCount()).isOne();
+    }
+
+    @Test
+    void shouldCountInvokedTasks() throws InterruptedException {
+        ExecutorService delegate = Executors.newSingleThreadExecutor();
+        CountedExecutorService executor = new CountedExecutorService(delegate);
+        try {
+            executor.invokeAll(Arrays.<Callable<Integer>>asList(() -> 1, () -> 2));
+        }
+        finally {
+            delegate.shutdown();
+            assertThat(delegate.awaitTermination(5, TimeUnit.SECONDS)).isTrue();
+        }
+
+        assertThat(executor.getSubmittedTaskCount()).isEqualTo(2);
+        assertThat(executor.getCompletedTaskCount()).isEqualTo(2);
+        assertThat(executor.getActiveCount()).isZero();
+    }
+
+}
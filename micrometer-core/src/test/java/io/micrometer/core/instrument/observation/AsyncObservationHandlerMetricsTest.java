@@ -0,0 +1,98 @@
+/*
+ * Copyright 2024 VMware, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micrometer.core.instrument.observation;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.micrometer.observation.AsyncObservationHandler;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationHandler;
+import io.micrometer.observation.ObservationRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link AsyncObservationHandlerMetrics}.
+ */
+class AsyncObservationHandlerMetricsTest {
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private final ObservationRegistry observationRegistry = ObservationRegistry.create();
+
+    @Test
+    void shouldReportQueueAndDroppedObservations() throws InterruptedException {
+        CountDownLatch blocked = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ObservationHandler<Observation.Context> delegate = new ObservationHandler<Observation.Context>() {
+            @Override
+            public void onStop(Observation.Context context) {
+                blocked.countDown();
+                try {
+                    release.await(5, TimeUnit.SECONDS);
+                }
+                catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+
+            @Override
+            public boolean supportsContext(Observation.Context context) {
+                return true;
+            }
+        };
+        AsyncObservationHandler handler = new AsyncObservationHandler(delegate, 2,
+                AsyncObservationHandler.OverflowPolicy.DROP);
+        new AsyncObservationHandlerMetrics(handler, "test", Tags.of("key", "value")).bindTo(meterRegistry);
+        observationRegistry.observationConfig().observationHandler(handler);
+
+        try {
+            Observation.start("first", observationRegistry).stop();
+            assertThat(blocked.await(5, TimeUnit.SECONDS)).isTrue();
+            Observation.start("queued", observationRegistry).stop();
+            Observation.start("queued", observationRegistry).stop();
+            Observation.start("dropped", observationRegistry).stop();
+
+            assertThat(meterRegistry.get("observation.handler.async.queued")
+                .tags("name", "test", "key", "value")
+                .gauge()
+                .value()).isEqualTo(2);
+            assertThat(meterRegistry.get("observation.handler.async.capacity")
+                .tags("name", "test", "key", "value")
+                .gauge()
+                .value()).isEqualTo(2);
+            assertThat(meterRegistry.get("observation.handler.async.dropped")
+                .tags("name", "test", "key", "value")
+                .functionCounter()
+                .count()).isEqualTo(1);
+        }
+        finally {
+            release.countDown();
+            handler.close();
+        }
+
+        Observation.start("closed", observationRegistry).stop();
+
+        assertThat(meterRegistry.get("observation.handler.async.queued").gauge().value()).isZero();
+        assertThat(meterRegistry.get("observation.handler.async.dropped").functionCounter().count()).isEqualTo(2);
+    }
+
+}
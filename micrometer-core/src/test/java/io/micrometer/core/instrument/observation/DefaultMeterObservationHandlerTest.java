@@ -15,7 +15,12 @@
  */
 package io.micrometer.core.instrument.observation;
 
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Meter;
 import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.config.MeterFilter;
+import io.micrometer.core.instrument.config.MeterFilterReply;
 import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import io.micrometer.observation.Observation;
 import io.micrometer.observation.Observation.Event;
@@ -24,6 +29,7 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
 import java.net.SocketTimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static io.micrometer.core.instrument.observation.DefaultMeterObservationHandler.IgnoredMeters.LONG_TASK_TIMER;
 import static org.assertj.core.api.Assertions.assertThat;
@@ -115,4 +121,149 @@ class DefaultMeterObservationHandlerTest {
         assertThat(meterRegistry.find("test.observation.active").longTaskTimers()).isEmpty();
     }
 
+    @Test
+    void shouldReuseMetersForTheSameKeyValues() {
+        Observation.createNotStarted("test.observation", observationRegistry)
+            .lowCardinalityKeyValue("low", "1")
+            .start()
+            .event(Event.of("test.event"))
+            .stop();
+        Observation.createNotStarted("test.observation", observationRegistry)
+            .lowCardinalityKeyValue("low", "1")
+            .start()
+            .event(Event.of("test.event"))
+            .stop();
+        Observation.createNotStarted("test.observation", observationRegistry)
+            .lowCardinalityKeyValue("low", "2")
+            .start()
+            .stop();
+
+        assertThat(meterRegistry.get("test.observation").tags("low", "1", "error", "none").timer().count())
+            .isEqualTo(2);
+        assertThat(meterRegistry.get("test.observation").tags("low", "2", "error", "none").timer().count())
+            .isEqualTo(1);
+        assertThat(meterRegistry.get("test.observation.test.event").tags("low", "1").counter().count()).isEqualTo(2);
+    }
+
+    @Test
+    void shouldRegisterMetersOnlyOnceForTheSameKeyValues() {
+        AtomicInteger accepted = new AtomicInteger();
+        meterRegistry.config().meterFilter(new MeterFilter() {
+            @Override
+            public MeterFilterReply accept(Meter.Id id) {
+                accepted.incrementAndGet();
+                return id.getName().startsWith("denied") ? MeterFilterReply.DENY : MeterFilterReply.NEUTRAL;
+            }
+        });
+
+        for (int i = 0; i < 3; i++) {
+            Observation.createNotStarted("test.observation", observationRegistry)
+                .start()
+                .event(Event.of("test.event"))
+                .stop();
+            Observation.createNotStarted("denied.observation", observationRegistry)
+                .start()
+                .event(Event.of("test.event"))
+                .stop();
+        }
+
+        // a long task timer, a timer and a counter for each observation name
+        assertThat(accepted).hasValue(6);
+        assertThat(meterRegistry.get("test.observation.test.event").counter().count()).isEqualTo(3);
+        assertThat(meterRegistry.find("denied.observation").meters()).isEmpty();
+    }
+
+    @Test
+    void shouldEvictEveryKeyValuesOfARemovedMeter() {
+        meterRegistry.config().meterFilter(MeterFilter.ignoreTags("low"));
+        Observation.createNotStarted("test.observation", observationRegistry)
+            .lowCardinalityKeyValue("low", "1")
+            .start()
+            .event(Event.of("test.event"))
+            .stop();
+        Observation.createNotStarted("test.observation", observationRegistry)
+            .lowCardinalityKeyValue("low", "2")
+            .start()
+            .event(Event.of("test.event"))
+            .stop();
+        Counter removed = meterRegistry.get("test.observation.test.event").counter();
+        meterRegistry.remove(removed);
+
+        Observation.createNotStarted("test.observation", observationRegistry)
+            .lowCardinalityKeyValue("low", "1")
+            .start()
+            .event(Event.of("test.event"))
+            .stop();
+        Observation.createNotStarted("test.observation", observationRegistry)
+            .lowCardinalityKeyValue("low", "2")
+            .start()
+            .event(Event.of("test.event"))
+            .stop();
+
+        Counter counter = meterRegistry.get("test.observation.test.event").counter();
+        assertThat(counter).isNotSameAs(removed);
+        assertThat(counter.count()).isEqualTo(2);
+        assertThat(removed.count()).isEqualTo(2);
+    }
+
+    @Test
+    void shouldApplyMeterFiltersConfiguredAfterMetersWereCached() {
+        Observation.createNotStarted("test.observation", observationRegistry)
+            .start()
+            .event(Event.of("test.event"))
+            .stop();
+        meterRegistry.config().meterFilter(MeterFilter.commonTags(Tags.of("common", "tag")));
+
+        Observation.createNotStarted("test.observation", observationRegistry)
+            .start()
+            .event(Event.of("test.event"))
+            .stop();
+
+        assertThat(meterRegistry.get("test.observation.test.event").tag("common", "tag").counter().count())
+            .isEqualTo(1);
+    }
+
+    @Test
+    void shouldRecreateMetersAfterTheyWereRemoved() {
+        Observation.createNotStarted("test.observation", observationRegistry)
+            .lowCardinalityKeyValue("low", "1")
+            .start()
+            .event(Event.of("test.event"))
+            .stop();
+        meterRegistry.clear();
+
+        Observation.createNotStarted("test.observation", observationRegistry)
+            .lowCardinalityKeyValue("low", "1")
+            .start()
+            .event(Event.of("test.event"))
+            .stop();
+
+        assertThat(meterRegistry.get("test.observation").tags("low", "1", "error", "none").timer().count())
+            .isEqualTo(1);
+        assertThat(meterRegistry.get("test.observation.active").tags("low", "1").longTaskTimer().activeTasks())
+            .isEqualTo(0);
+        assertThat(meterRegistry.get("test.observation.test.event").tags("low", "1").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldRecreateRemovedMetersForEveryHandlerOfTheRegistry() {
+        DefaultMeterObservationHandler handler = new DefaultMeterObservationHandler(meterRegistry);
+        Observation.Context context = new Observation.Context();
+        context.setName("test.observation");
+        handler.onEvent(Event.of("test.event"), context);
+        Observation.createNotStarted("test.observation", observationRegistry)
+            .start()
+            .event(Event.of("test.event"))
+            .stop();
+        meterRegistry.clear();
+
+        handler.onEvent(Event.of("test.event"), context);
+        Observation.createNotStarted("test.observation", observationRegistry)
+            .start()
+            .event(Event.of("test.event"))
+            .stop();
+
+        assertThat(meterRegistry.get("test.observation.test.event").counter().count()).isEqualTo(2);
+    }
+
 }
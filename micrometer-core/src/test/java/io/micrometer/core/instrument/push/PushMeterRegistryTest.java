@@ -257,6 +257,68 @@ class PushMeterRegistryTest {
         assertThat(registry.numberOfPublishes.get()).isZero();
     }
 
+    @Test
+    void publishBatchesConcurrentlyWhenMoreThanOneBatchInFlight() {
+        StepRegistryConfig pipelinedConfig = new StepRegistryConfig() {
+            @Override
+            public Duration step() {
+                return Duration.ofHours(1);
+            }
+
+            @Override
+            public int batchSize() {
+                return 1;
+            }
+
+            @Override
+            public int batchesInFlight() {
+                return 2;
+            }
+
+            @Override
+            public String prefix() {
+                return null;
+            }
+
+            @Override
+            public String get(String key) {
+                return null;
+            }
+        };
+        StepMeterRegistry registry = new StepMeterRegistry(pipelinedConfig, new MockClock()) {
+            @Override
+            protected void publish() {
+            }
+
+            @Override
+            protected TimeUnit getBaseTimeUnit() {
+                return SECONDS;
+            }
+        };
+        IntStream.range(0, 4).forEach(i -> registry.counter("c" + i));
+        registry.start(new NamedThreadFactory("PushMeterRegistryTest"));
+
+        // each batch only completes once another one is in flight at the same time
+        CyclicBarrier barrier = new CyclicBarrier(2);
+        Set<String> published = ConcurrentHashMap.newKeySet();
+        registry.publishBatches(batch -> {
+            try {
+                barrier.await(1, SECONDS);
+            }
+            catch (InterruptedException | BrokenBarrierException | TimeoutException e) {
+                throw new RuntimeException(e);
+            }
+            String name = batch.get(0).getId().getName();
+            if (name.equals("c0")) {
+                throw new RuntimeException("failing batch does not stop the others");
+            }
+            published.add(name);
+        });
+
+        assertThat(published).containsExactlyInAnyOrder("c1", "c2", "c3");
+        registry.close();
+    }
+
     private static class OverlappingStepMeterRegistry extends StepMeterRegistry {
 
         private final AtomicInteger numberOfPublishes = new AtomicInteger();
@@ -0,0 +1,159 @@
+/*
+ * Copyright 2024 VMware, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micrometer.java11.ipc.http;
+
+import io.micrometer.core.ipc.http.HttpSender;
+
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+
+/**
+ * {@link HttpClient}-based {@link HttpSender}. Unlike
+ * {@link io.micrometer.core.ipc.http.HttpUrlConnectionSender}, it keeps connections alive
+ * between requests and supports {@link #sendAsync(Request) sending requests} without
+ * blocking the calling thread.
+ * <p>
+ * The number of requests in flight is bounded. Once the limit is reached,
+ * {@link #send(Request)} blocks until a previous request completes, which pushes back on
+ * publishers producing requests faster than the backend accepts them, while
+ * {@link #sendAsync(Request)} never blocks and fails the request with a
+ * {@link RejectedExecutionException} instead.
+ *
+ * @since 1.14.0
+ */
+public class JdkHttpClientSender implements HttpSender {
+
+    private static final Duration DEFAULT_CONNECT_TIMEOUT = Duration.ofSeconds(1);
+
+    private static final Duration DEFAULT_REQUEST_TIMEOUT = Duration.ofSeconds(10);
+
+    private static final int DEFAULT_MAX_REQUESTS_IN_FLIGHT = 8;
+
+    private final HttpClient httpClient;
+
+    private final Duration requestTimeout;
+
+    private final int maxRequestsInFlight;
+
+    private final Semaphore requestsInFlight;
+
+    /**
+     * Use the default timeouts and limit of requests in flight.
+     */
+    public JdkHttpClientSender() {
+        this(DEFAULT_CONNECT_TIMEOUT, DEFAULT_REQUEST_TIMEOUT);
+    }
+
+    /**
+     * Creates a sender with the specified timeouts.
+     * @param connectTimeout connect timeout when establishing a connection
+     * @param requestTimeout timeout until a response is received
+     */
+    public JdkHttpClientSender(Duration connectTimeout, Duration requestTimeout) {
+        this(HttpClient.newBuilder().connectTimeout(connectTimeout).build(), requestTimeout,
+                DEFAULT_MAX_REQUESTS_IN_FLIGHT);
+    }
+
+    /**
+     * Creates a sender sending requests with the given client.
+     * @param httpClient client to send requests with
+     * @param requestTimeout timeout until a response is received
+     * @param maxRequestsInFlight maximum number of requests sent concurrently
+     */
+    public JdkHttpClientSender(HttpClient httpClient, Duration requestTimeout, int maxRequestsInFlight) {
+        if (maxRequestsInFlight < 1) {
+            throw new IllegalArgumentException("maxRequestsInFlight must be greater than 0");
+        }
+        this.httpClient = httpClient;
+        this.requestTimeout = requestTimeout;
+        this.maxRequestsInFlight = maxRequestsInFlight;
+        this.requestsInFlight = new Semaphore(maxRequestsInFlight);
+    }
+
+    @Override
+    public Response send(Request request) throws IOException, InterruptedException {
+        HttpRequest httpRequest = toHttpRequest(request);
+        requestsInFlight.acquire();
+        try {
+            return toResponse(httpClient.send(httpRequest, HttpResponse.BodyHandlers.ofString()));
+        }
+        finally {
+            requestsInFlight.release();
+        }
+    }
+
+    @Override
+    public CompletionStage<Response> sendAsync(Request request) {
+        HttpRequest httpRequest;
+        try {
+            httpRequest = toHttpRequest(request);
+        }
+        catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+        if (!requestsInFlight.tryAcquire()) {
+            return CompletableFuture.failedFuture(new RejectedExecutionException("Not sending request to "
+                    + request.getUrl() + ": reached the maximum number of requests in flight (" + maxRequestsInFlight
+                    + ")"));
+        }
+
+        CompletableFuture<HttpResponse<String>> response;
+        try {
+            response = httpClient.sendAsync(httpRequest, HttpResponse.BodyHandlers.ofString());
+        }
+        catch (RuntimeException e) {
+            requestsInFlight.release();
+            return CompletableFuture.failedFuture(e);
+        }
+        return response.whenComplete((r, e) -> requestsInFlight.release()).thenApply(JdkHttpClientSender::toResponse);
+    }
+
+    private HttpRequest toHttpRequest(Request request) {
+        HttpRequest.Builder builder;
+        try {
+            builder = HttpRequest.newBuilder(request.getUrl().toURI()).timeout(requestTimeout);
+        }
+        catch (URISyntaxException e) {
+            throw new IllegalArgumentException(e);
+        }
+
+        for (Map.Entry<String, String> header : request.getRequestHeaders().entrySet()) {
+            builder.header(header.getKey(), header.getValue());
+        }
+
+        Method method = request.getMethod();
+        byte[] entity = request.getEntity();
+        // the body is streamed to the connection straight from the entity, without
+        // copying it into an intermediate buffer
+        HttpRequest.BodyPublisher body = method == Method.GET || entity.length == 0
+                ? HttpRequest.BodyPublishers.noBody() : HttpRequest.BodyPublishers.ofByteArray(entity);
+        return builder.method(method.name(), body).build();
+    }
+
+    private static Response toResponse(HttpResponse<String> response) {
+        return new Response(response.statusCode(), response.body());
+    }
+
+}
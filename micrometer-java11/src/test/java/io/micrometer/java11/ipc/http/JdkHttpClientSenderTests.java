@@ -0,0 +1,111 @@
+/*
+ * Copyright 2024 VMware, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micrometer.java11.ipc.http;
+
+import com.github.tomakehurst.wiremock.junit5.WireMockRuntimeInfo;
+import com.github.tomakehurst.wiremock.junit5.WireMockTest;
+import io.micrometer.core.ipc.http.HttpSender;
+import org.junit.jupiter.api.Test;
+
+import java.net.http.HttpClient;
+import java.net.http.HttpTimeoutException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.*;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+@WireMockTest
+class JdkHttpClientSenderTests {
+
+    HttpSender httpSender = new JdkHttpClientSender();
+
+    @Test
+    void sendsRequestWithHeadersAndBody(WireMockRuntimeInfo wmInfo) throws Throwable {
+        stubFor(post(urlEqualTo("/metrics")).willReturn(ok().withBody("accepted")));
+
+        HttpSender.Response response = httpSender.post(wmInfo.getHttpBaseUrl() + "/metrics")
+            .withBasicAuthentication("user", "secret")
+            .withJsonContent("{\"name\":\"value\"}")
+            .send();
+
+        assertThat(response.code()).isEqualTo(200);
+        assertThat(response.body()).isEqualTo("accepted");
+        verify(postRequestedFor(urlEqualTo("/metrics")).withHeader("Content-Type", equalTo("application/json"))
+            .withHeader("Authorization", equalTo("Basic dXNlcjpzZWNyZXQ="))
+            .withRequestBody(equalToJson("{\"name\":\"value\"}")));
+    }
+
+    @Test
+    void sendsRequestsAsynchronously(WireMockRuntimeInfo wmInfo) {
+        this.httpSender = new JdkHttpClientSender(HttpClient.newHttpClient(), Duration.ofSeconds(10), 2);
+        stubFor(post(urlEqualTo("/metrics")).willReturn(ok().withFixedDelay(10)));
+
+        List<CompletableFuture<HttpSender.Response>> responses = IntStream.range(0, 2)
+            .mapToObj(i -> httpSender.post(wmInfo.getHttpBaseUrl() + "/metrics")
+                .withPlainText("batch " + i)
+                .sendAsync()
+                .toCompletableFuture())
+            .collect(Collectors.toList());
+
+        assertThat(responses).allSatisfy(response -> assertThat(response.join().code()).isEqualTo(200));
+        verify(2, postRequestedFor(urlEqualTo("/metrics")));
+    }
+
+    @Test
+    void rejectsAsynchronousRequestsOverTheLimitWithoutBlocking(WireMockRuntimeInfo wmInfo) {
+        this.httpSender = new JdkHttpClientSender(HttpClient.newHttpClient(), Duration.ofSeconds(10), 1);
+        stubFor(post(urlEqualTo("/metrics")).willReturn(ok().withFixedDelay(500)));
+
+        CompletableFuture<HttpSender.Response> inFlight = httpSender.post(wmInfo.getHttpBaseUrl() + "/metrics")
+            .withPlainText("in flight")
+            .sendAsync()
+            .toCompletableFuture();
+        CompletableFuture<HttpSender.Response> rejected = httpSender.post(wmInfo.getHttpBaseUrl() + "/metrics")
+            .withPlainText("rejected")
+            .sendAsync()
+            .toCompletableFuture();
+
+        assertThat(rejected).isCompletedExceptionally();
+        assertThatExceptionOfType(CompletionException.class).isThrownBy(rejected::join)
+            .withCauseInstanceOf(RejectedExecutionException.class);
+        assertThat(inFlight.join().code()).isEqualTo(200);
+        verify(1, postRequestedFor(urlEqualTo("/metrics")));
+
+        assertThat(httpSender.post(wmInfo.getHttpBaseUrl() + "/metrics")
+            .withPlainText("after")
+            .sendAsync()
+            .toCompletableFuture()
+            .join()
+            .code()).isEqualTo(200);
+    }
+
+    @Test
+    void customRequestTimeoutHonored(WireMockRuntimeInfo wmInfo) {
+        this.httpSender = new JdkHttpClientSender(Duration.ofSeconds(1), Duration.ofMillis(1));
+        stubFor(any(urlEqualTo("/metrics")).willReturn(ok().withFixedDelay(15)));
+
+        assertThatExceptionOfType(HttpTimeoutException.class)
+            .isThrownBy(() -> httpSender.post(wmInfo.getHttpBaseUrl() + "/metrics").send());
+    }
+
+}
@@ -0,0 +1,176 @@
+/*
+ * Copyright 2024 VMware, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micrometer.java21.instrument.binder.jdk;
+
+import io.micrometer.core.instrument.*;
+import io.micrometer.core.instrument.binder.BaseUnits;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jdk.jfr.consumer.RecordingStream;
+
+import java.io.Closeable;
+import java.time.Duration;
+import java.util.Collections;
+
+/**
+ * JVM metrics recorded from JFR events rather than by polling MXBeans: garbage
+ * collection pauses and phases, safepoints, allocation, thread parking, monitor
+ * contention and JIT deoptimizations. A single recording stream is started when this
+ * binder is created and its events are recorded on the stream's own thread, so nothing
+ * is computed when meters are published. The stream is stopped when this binder is
+ * {@link #close() closed}.
+ * <p>
+ * Allocation is estimated from the throttled {@code jdk.ObjectAllocationSample} event,
+ * and thread parking and monitor contention are only recorded when they last at least
+ * the configured threshold, which keeps the overhead of the recording low.
+ *
+ * @since 1.14.0
+ */
+public class JfrJvmMetrics implements MeterBinder, Closeable {
+
+    private static final String GARBAGE_COLLECTION_EVENT = "jdk.GarbageCollection";
+
+    private static final String GC_PHASE_PAUSE_EVENT = "jdk.GCPhasePause";
+
+    private static final String GC_PHASE_CONCURRENT_EVENT = "jdk.GCPhaseConcurrent";
+
+    private static final String SAFEPOINT_BEGIN_EVENT = "jdk.SafepointBegin";
+
+    private static final String VM_OPERATION_EVENT = "jdk.ExecuteVMOperation";
+
+    private static final String ALLOCATION_SAMPLE_EVENT = "jdk.ObjectAllocationSample";
+
+    private static final String THREAD_PARK_EVENT = "jdk.ThreadPark";
+
+    private static final String MONITOR_ENTER_EVENT = "jdk.JavaMonitorEnter";
+
+    private static final String DEOPTIMIZATION_EVENT = "jdk.Deoptimization";
+
+    private final RecordingStream recordingStream;
+
+    private final Iterable<Tag> tags;
+
+    public JfrJvmMetrics() {
+        this(Collections.emptyList());
+    }
+
+    public JfrJvmMetrics(Iterable<Tag> tags) {
+        this(Duration.ofMillis(20), tags);
+    }
+
+    /**
+     * Create a {@code JfrJvmMetrics} instance.
+     * @param contentionThreshold only threads parked or blocked on entering a monitor
+     * for at least this long are recorded
+     * @param tags tags to apply to all recorded metrics
+     */
+    public JfrJvmMetrics(Duration contentionThreshold, Iterable<Tag> tags) {
+        this.tags = tags;
+        this.recordingStream = new RecordingStream();
+        recordingStream.enable(GARBAGE_COLLECTION_EVENT);
+        recordingStream.enable(GC_PHASE_PAUSE_EVENT);
+        recordingStream.enable(GC_PHASE_CONCURRENT_EVENT);
+        recordingStream.enable(SAFEPOINT_BEGIN_EVENT);
+        recordingStream.enable(VM_OPERATION_EVENT);
+        recordingStream.enable(ALLOCATION_SAMPLE_EVENT).with("throttle", "150/s").withoutStackTrace();
+        recordingStream.enable(THREAD_PARK_EVENT).withThreshold(contentionThreshold).withoutStackTrace();
+        recordingStream.enable(MONITOR_ENTER_EVENT).withThreshold(contentionThreshold).withoutStackTrace();
+        recordingStream.enable(DEOPTIMIZATION_EVENT).withoutStackTrace();
+        recordingStream.setMaxAge(Duration.ofSeconds(5));
+        recordingStream.startAsync();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Meter.MeterProvider<Timer> gcPauses = Timer.builder("jvm.gc.collection.pauses")
+            .description("Total time the application was paused by a garbage collection")
+            .tags(tags)
+            .withRegistry(registry);
+
+        Meter.MeterProvider<Timer> gcPhasePause = Timer.builder("jvm.gc.phase.pause")
+            .description("Time spent in a pause phase of a garbage collection")
+            .tags(tags)
+            .withRegistry(registry);
+
+        Meter.MeterProvider<Timer> gcPhaseConcurrent = Timer.builder("jvm.gc.phase.concurrent")
+            .description("Time spent in a phase of a garbage collection running concurrently with the application")
+            .tags(tags)
+            .withRegistry(registry);
+
+        Timer safepointSync = Timer.builder("jvm.safepoint.sync")
+            .description("Time taken to bring all threads to a safepoint")
+            .tags(tags)
+            .register(registry);
+
+        Meter.MeterProvider<Timer> safepointOperation = Timer.builder("jvm.safepoint.operation")
+            .description("Time spent executing a VM operation at a safepoint")
+            .tags(tags)
+            .withRegistry(registry);
+
+        Counter allocated = Counter.builder("jvm.memory.allocated")
+            .description("Estimated amount of memory allocated on the heap, sampled from allocations")
+            .baseUnit(BaseUnits.BYTES)
+            .tags(tags)
+            .register(registry);
+
+        Timer parked = Timer.builder("jvm.threads.parked")
+            .description("Time threads spent parked, for parks longer than the threshold")
+            .tags(tags)
+            .register(registry);
+
+        Timer monitorContended = Timer.builder("jvm.threads.monitor.contended")
+            .description("Time threads spent blocked on entering a monitor, for waits longer than the threshold")
+            .tags(tags)
+            .register(registry);
+
+        Meter.MeterProvider<Counter> deoptimizations = Counter.builder("jvm.compilation.deoptimizations")
+            .description("The number of times compiled code was deoptimized")
+            .tags(tags)
+            .withRegistry(registry);
+
+        recordingStream.onEvent(GARBAGE_COLLECTION_EVENT,
+                event -> gcPauses
+                    .withTags(Tags.of("gc", event.getString("name"), "cause", event.getString("cause")))
+                    .record(event.getDuration("sumOfPauses")));
+        recordingStream.onEvent(GC_PHASE_PAUSE_EVENT,
+                event -> gcPhasePause.withTags(Tags.of("phase", event.getString("name")))
+                    .record(event.getDuration()));
+        recordingStream.onEvent(GC_PHASE_CONCURRENT_EVENT,
+                event -> gcPhaseConcurrent.withTags(Tags.of("phase", event.getString("name")))
+                    .record(event.getDuration()));
+        recordingStream.onEvent(SAFEPOINT_BEGIN_EVENT, event -> safepointSync.record(event.getDuration()));
+        recordingStream.onEvent(VM_OPERATION_EVENT, event -> {
+            if (event.getBoolean("safepoint")) {
+                safepointOperation.withTags(Tags.of("operation", event.getString("operation")))
+                    .record(event.getDuration());
+            }
+        });
+        // the weight of a sample is the amount of memory allocated by its thread since
+        // the previous sample, so the weights add up to the total allocated
+        recordingStream.onEvent(ALLOCATION_SAMPLE_EVENT, event -> allocated.increment(event.getLong("weight")));
+        recordingStream.onEvent(THREAD_PARK_EVENT, event -> parked.record(event.getDuration()));
+        recordingStream.onEvent(MONITOR_ENTER_EVENT, event -> monitorContended.record(event.getDuration()));
+        recordingStream.onEvent(DEOPTIMIZATION_EVENT,
+                event -> deoptimizations
+                    .withTags(Tags.of("reason", event.getString("reason"), "action", event.getString("action")))
+                    .increment());
+    }
+
+    @Override
+    public void close() {
+        recordingStream.close();
+    }
+
+}
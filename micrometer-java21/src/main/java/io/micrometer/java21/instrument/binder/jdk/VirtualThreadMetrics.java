@@ -0,0 +1,90 @@
+/*
+ * Copyright 2024 VMware, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micrometer.java21.instrument.binder.jdk;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jdk.jfr.consumer.RecordingStream;
+
+import java.io.Closeable;
+import java.time.Duration;
+import java.util.Collections;
+
+/**
+ * Instrumentation support for virtual threads, based on the JFR events the JDK emits
+ * for them. A recording stream is started when this binder is created and stopped when
+ * it is {@link #close() closed}.
+ *
+ * @since 1.14.0
+ */
+public class VirtualThreadMetrics implements MeterBinder, Closeable {
+
+    private static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+
+    private static final String SUBMIT_FAILED_EVENT = "jdk.VirtualThreadSubmitFailed";
+
+    private final RecordingStream recordingStream;
+
+    private final Iterable<Tag> tags;
+
+    public VirtualThreadMetrics() {
+        this(Collections.emptyList());
+    }
+
+    public VirtualThreadMetrics(Iterable<Tag> tags) {
+        this(Duration.ofMillis(20), tags);
+    }
+
+    /**
+     * Create a {@code VirtualThreadMetrics} instance.
+     * @param pinnedThreshold only virtual threads pinned to their carrier thread for at
+     * least this long are recorded
+     * @param tags tags to apply to all recorded metrics
+     */
+    public VirtualThreadMetrics(Duration pinnedThreshold, Iterable<Tag> tags) {
+        this.tags = tags;
+        this.recordingStream = new RecordingStream();
+        recordingStream.enable(PINNED_EVENT).withThreshold(pinnedThreshold);
+        recordingStream.enable(SUBMIT_FAILED_EVENT);
+        recordingStream.setMaxAge(Duration.ofSeconds(5));
+        recordingStream.startAsync();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Timer pinnedTimer = Timer.builder("jvm.threads.virtual.pinned")
+            .description("The duration while the virtual thread was pinned without releasing its platform thread")
+            .tags(tags)
+            .register(registry);
+
+        Counter submitFailedCounter = Counter.builder("jvm.threads.virtual.submit.failed")
+            .description("The number of events when starting or unparking a virtual thread failed")
+            .tags(tags)
+            .register(registry);
+
+        recordingStream.onEvent(PINNED_EVENT, event -> pinnedTimer.record(event.getDuration()));
+        recordingStream.onEvent(SUBMIT_FAILED_EVENT, event -> submitFailedCounter.increment());
+    }
+
+    @Override
+    public void close() {
+        recordingStream.close();
+    }
+
+}
@@ -0,0 +1,93 @@
+/*
+ * Copyright 2024 VMware, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micrometer.java21.instrument.binder.jdk;
+
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+/**
+ * Tests for {@link JfrJvmMetrics}.
+ */
+class JfrJvmMetricsTests {
+
+    private static final Tags TAGS = Tags.of("k", "v");
+
+    private SimpleMeterRegistry registry;
+
+    private JfrJvmMetrics jfrJvmMetrics;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        jfrJvmMetrics = new JfrJvmMetrics(TAGS);
+        jfrJvmMetrics.bindTo(registry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        jfrJvmMetrics.close();
+    }
+
+    @Test
+    void registersMeters() {
+        assertThat(registry.get("jvm.safepoint.sync").tags(TAGS).timer()).isNotNull();
+        assertThat(registry.get("jvm.memory.allocated").tags(TAGS).counter()).isNotNull();
+        assertThat(registry.get("jvm.threads.parked").tags(TAGS).timer()).isNotNull();
+        assertThat(registry.get("jvm.threads.monitor.contended").tags(TAGS).timer()).isNotNull();
+    }
+
+    @Test
+    void garbageCollectionShouldBeRecorded() {
+        System.gc();
+
+        await().atMost(Duration.ofSeconds(10))
+            .until(() -> registry.find("jvm.gc.collection.pauses")
+                .tags(TAGS)
+                .tag("cause", "System.gc()")
+                .timer() != null);
+    }
+
+    @Test
+    void monitorContentionShouldBeRecorded() throws Exception {
+        Object lock = new Object();
+        Thread thread = new Thread(() -> {
+            synchronized (lock) {
+                Thread.onSpinWait();
+            }
+        });
+        synchronized (lock) {
+            thread.start();
+            await().until(() -> thread.getState() == Thread.State.BLOCKED);
+            Thread.sleep(50);
+        }
+        thread.join();
+
+        Timer contended = registry.get("jvm.threads.monitor.contended").tags(TAGS).timer();
+        await().atMost(Duration.ofSeconds(10)).until(() -> contended.count() >= 1);
+        assertThat(contended.totalTime(TimeUnit.MILLISECONDS)).isGreaterThanOrEqualTo(20);
+    }
+
+}
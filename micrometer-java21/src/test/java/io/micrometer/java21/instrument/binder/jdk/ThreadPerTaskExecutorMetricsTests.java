@@ -0,0 +1,69 @@
+/*
+ * Copyright 2024 VMware, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micrometer.java21.instrument.binder.jdk;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link ExecutorServiceMetrics} with thread-per-task executors.
+ */
+class ThreadPerTaskExecutorMetricsTests {
+
+    private final MeterRegistry registry = new SimpleMeterRegistry();
+
+    @Test
+    void virtualThreadPerTaskExecutorCanBeMonitored() throws Exception {
+        ExecutorService executor = ExecutorServiceMetrics.monitor(registry,
+                Executors.newVirtualThreadPerTaskExecutor(), "virtual", Tags.of("k", "v"));
+        CountDownLatch taskStart = new CountDownLatch(1);
+        CountDownLatch taskComplete = new CountDownLatch(1);
+
+        Future<Boolean> task = executor.submit(() -> {
+            taskStart.countDown();
+            return taskComplete.await(1, TimeUnit.SECONDS);
+        });
+        executor.execute(() -> {
+        });
+
+        assertThat(taskStart.await(1, TimeUnit.SECONDS)).isTrue();
+        assertThat(registry.get("executor.submitted").tag("name", "virtual").functionCounter().count())
+            .isEqualTo(2.0);
+
+        taskComplete.countDown();
+        assertThat(task.get(1, TimeUnit.SECONDS)).isTrue();
+        executor.shutdown();
+        assertThat(executor.awaitTermination(1, TimeUnit.SECONDS)).isTrue();
+
+        assertThat(registry.get("executor.completed").tag("name", "virtual").functionCounter().count())
+            .isEqualTo(2.0);
+        assertThat(registry.get("executor.active").tag("name", "virtual").gauge().value()).isZero();
+        assertThat(registry.get("executor").tags("k", "v").tag("name", "virtual").timer().count()).isEqualTo(2);
+        assertThat(registry.get("executor.idle").tag("name", "virtual").timer().count()).isEqualTo(2);
+    }
+
+}
@@ -0,0 +1,99 @@
+/*
+ * Copyright 2024 VMware, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micrometer.java21.instrument.binder.jdk;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Tests for {@link VirtualThreadMetrics}.
+ */
+class VirtualThreadMetricsTests {
+
+    private static final Tags TAGS = Tags.of("k", "v");
+
+    private SimpleMeterRegistry registry;
+
+    private VirtualThreadMetrics virtualThreadMetrics;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        virtualThreadMetrics = new VirtualThreadMetrics(TAGS);
+        virtualThreadMetrics.bindTo(registry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        virtualThreadMetrics.close();
+    }
+
+    @Test
+    void registersMeters() {
+        assertThat(registry.get("jvm.threads.virtual.pinned").tags(TAGS).timer().count()).isZero();
+        assertThat(registry.get("jvm.threads.virtual.submit.failed").tags(TAGS).counter().count()).isZero();
+    }
+
+    @Test
+    void pinnedThreadsShouldBeRecorded() throws Exception {
+        // since JDK 24 (JEP 491), blocking while holding a monitor no longer pins
+        assumeTrue(Runtime.version().feature() < 24, "synchronized doesn't pin virtual threads on JDK 24+");
+        Object lock = new Object();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < 3; i++) {
+                Future<?> future = executor.submit(() -> {
+                    // blocking while holding a monitor pins the virtual thread to its
+                    // carrier thread
+                    synchronized (lock) {
+                        sleep(Duration.ofMillis(50));
+                    }
+                });
+                future.get();
+            }
+        }
+
+        Timer pinned = registry.get("jvm.threads.virtual.pinned").tags(TAGS).timer();
+        await().atMost(Duration.ofSeconds(5)).until(() -> pinned.count() == 3);
+        assertThat(pinned.totalTime(TimeUnit.MILLISECONDS)).isGreaterThanOrEqualTo(150);
+        Counter submitFailed = registry.get("jvm.threads.virtual.submit.failed").tags(TAGS).counter();
+        assertThat(submitFailed.count()).isZero();
+    }
+
+    private static void sleep(Duration duration) {
+        try {
+            Thread.sleep(duration);
+        }
+        catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+}
@@ -0,0 +1,251 @@
+/*
+ * Copyright 2024 VMware, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micrometer.observation;
+
+import io.micrometer.common.util.internal.logging.InternalLogger;
+import io.micrometer.common.util.internal.logging.InternalLoggerFactory;
+import io.micrometer.common.util.internal.logging.WarnThenDebugLogger;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.UnaryOperator;
+
+/**
+ * Handler that notifies another handler of stopped observations on a background thread,
+ * so that the cost of the other handler is not paid by the thread stopping the
+ * observation. This is meant for handlers that only react to
+ * {@link ObservationHandler#onStop(Observation.Context) onStop}, such as exporters or
+ * loggers; the other callbacks are not forwarded, since they need to run on the thread
+ * of the observation.
+ * <p>
+ * When an observation is stopped, a snapshot of its context is put in a bounded queue
+ * that a single worker thread drains. By default, the snapshot is a plain
+ * {@link Observation.Context} copying the name, contextual name, error, parent
+ * observation, key values and entries of the stopped context. The other handler is only
+ * notified if it supports both the original context and its snapshot, so a handler of a
+ * context subclass needs a snapshot function that creates an instance of that subclass.
+ * A warning is logged the first time a snapshot isn't supported.
+ * What happens when the queue is full is decided by the {@link OverflowPolicy}.
+ *
+ * @since 1.14.0
+ */
+public class AsyncObservationHandler implements ObservationHandler<Observation.Context>, AutoCloseable {
+
+    private static final InternalLogger log = InternalLoggerFactory.getInstance(AsyncObservationHandler.class);
+
+    private final ObservationHandler<Observation.Context> delegate;
+
+    private final UnaryOperator<Observation.Context> snapshot;
+
+    private final OverflowPolicy overflowPolicy;
+
+    private final BlockingQueue<Observation.Context> queue;
+
+    private final int queueCapacity;
+
+    private final LongAdder dropped = new LongAdder();
+
+    private final WarnThenDebugLogger unsupportedSnapshotLogger = new WarnThenDebugLogger(
+            AsyncObservationHandler.class);
+
+    private final Thread worker;
+
+    private volatile boolean closed;
+
+    /**
+     * Creates a new instance of {@code AsyncObservationHandler} with a queue of 1024
+     * contexts that drops contexts when it is full.
+     * @param delegate the handler to notify on the background thread
+     */
+    public AsyncObservationHandler(ObservationHandler<? extends Observation.Context> delegate) {
+        this(delegate, 1024, OverflowPolicy.DROP);
+    }
+
+    /**
+     * Creates a new instance of {@code AsyncObservationHandler}.
+     * @param delegate the handler to notify on the background thread
+     * @param queueCapacity maximum number of stopped contexts waiting to be handled
+     * @param overflowPolicy what to do when the queue is full
+     */
+    public AsyncObservationHandler(ObservationHandler<? extends Observation.Context> delegate, int queueCapacity,
+            OverflowPolicy overflowPolicy) {
+        this(delegate, queueCapacity, overflowPolicy, Observation.Context::copy);
+    }
+
+    /**
+     * Creates a new instance of {@code AsyncObservationHandler}.
+     * @param delegate the handler to notify on the background thread
+     * @param queueCapacity maximum number of stopped contexts waiting to be handled
+     * @param overflowPolicy what to do when the queue is full
+     * @param snapshot creates the context handed to the other handler from the stopped
+     * context, for example to copy state of a context subclass the other handler needs
+     */
+    @SuppressWarnings("unchecked")
+    public AsyncObservationHandler(ObservationHandler<? extends Observation.Context> delegate, int queueCapacity,
+            OverflowPolicy overflowPolicy, UnaryOperator<Observation.Context> snapshot) {
+        if (queueCapacity <= 0) {
+            throw new IllegalArgumentException("queueCapacity must be positive");
+        }
+        this.delegate = (ObservationHandler<Observation.Context>) delegate;
+        this.snapshot = snapshot;
+        this.overflowPolicy = overflowPolicy;
+        this.queueCapacity = queueCapacity;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.worker = new Thread(this::drain, "micrometer-async-observation-handler");
+        this.worker.setDaemon(true);
+        this.worker.start();
+    }
+
+    @Override
+    public void onStop(Observation.Context context) {
+        if (this.closed) {
+            this.dropped.increment();
+            return;
+        }
+        Observation.Context snapshot = this.snapshot.apply(context);
+        if (!this.delegate.supportsContext(snapshot)) {
+            this.dropped.increment();
+            this.unsupportedSnapshotLogger.log(() -> "Dropped the stopped observation " + context.getName()
+                    + " because the other handler doesn't support its snapshot of type "
+                    + snapshot.getClass().getName() + ", the snapshot function should create a context it supports.");
+            return;
+        }
+        if (enqueue(snapshot) && this.closed && this.queue.remove(snapshot)) {
+            // closed while enqueueing, the worker may have stopped before it was queued
+            this.dropped.increment();
+        }
+    }
+
+    @Override
+    public boolean supportsContext(Observation.Context context) {
+        return this.delegate.supportsContext(context);
+    }
+
+    /**
+     * Returns the number of stopped contexts waiting to be handled.
+     * @return number of queued contexts
+     */
+    public int getQueueSize() {
+        return this.queue.size();
+    }
+
+    /**
+     * Returns the maximum number of stopped contexts waiting to be handled.
+     * @return queue capacity
+     */
+    public int getQueueCapacity() {
+        return this.queueCapacity;
+    }
+
+    /**
+     * Returns the number of stopped contexts that were not handled because the queue
+     * was full, this handler was closed or the other handler doesn't support their
+     * snapshot.
+     * @return number of dropped contexts
+     */
+    public long getDroppedCount() {
+        return this.dropped.sum();
+    }
+
+    /**
+     * Stops accepting contexts and waits for the queued ones to be handled.
+     */
+    @Override
+    public void close() {
+        this.closed = true;
+        try {
+            this.worker.join();
+        }
+        catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void drain() {
+        try {
+            while (!this.closed || !this.queue.isEmpty()) {
+                Observation.Context context = this.queue.poll(100, TimeUnit.MILLISECONDS);
+                if (context != null) {
+                    handle(context);
+                }
+            }
+        }
+        catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private boolean enqueue(Observation.Context snapshot) {
+        switch (this.overflowPolicy) {
+            case BLOCK:
+                try {
+                    this.queue.put(snapshot);
+                    return true;
+                }
+                catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    this.dropped.increment();
+                    return false;
+                }
+            case CALLER_RUNS:
+                if (this.queue.offer(snapshot)) {
+                    return true;
+                }
+                handle(snapshot);
+                return false;
+            default:
+                if (this.queue.offer(snapshot)) {
+                    return true;
+                }
+                this.dropped.increment();
+                return false;
+        }
+    }
+
+    private void handle(Observation.Context context) {
+        try {
+            this.delegate.onStop(context);
+        }
+        catch (Exception e) {
+            log.warn("Failed to handle the stopped observation " + context.getName(), e);
+        }
+    }
+
+    /**
+     * What to do with a stopped context when the queue is full.
+     */
+    public enum OverflowPolicy {
+
+        /**
+         * Drop the context and count it as dropped.
+         */
+        DROP,
+
+        /**
+         * Block the thread stopping the observation until there is room in the queue.
+         */
+        BLOCK,
+
+        /**
+         * Notify the other handler on the thread stopping the observation.
+         */
+        CALLER_RUNS
+
+    }
+
+}
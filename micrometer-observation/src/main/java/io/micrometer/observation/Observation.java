@@ -21,10 +21,12 @@ import io.micrometer.common.lang.NonNull;
 import io.micrometer.common.lang.Nullable;
 import io.micrometer.common.util.internal.logging.InternalLoggerFactory;
 
+import java.util.Collections;
 import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.concurrent.Callable;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
 import java.util.function.Function;
 import java.util.function.Supplier;
 import java.util.stream.Collectors;
@@ -912,7 +914,14 @@ public interface Observation extends ObservationView {
     @SuppressWarnings("unchecked")
     class Context implements ContextView {
 
-        private final Map<Object, Object> map = new ConcurrentHashMap<>();
+        @SuppressWarnings("rawtypes")
+        private static final AtomicReferenceFieldUpdater<Context, Map> MAP_UPDATER = AtomicReferenceFieldUpdater
+            .newUpdater(Context.class, Map.class, "map");
+
+        // the maps are only created once something is put in them, as many contexts
+        // never hold any entries or key values of a kind
+        @Nullable
+        private volatile Map<Object, Object> map;
 
         private String name;
 
@@ -925,9 +934,18 @@ public interface Observation extends ObservationView {
         @Nullable
         private ObservationView parentObservation;
 
-        private final Map<String, KeyValue> lowCardinalityKeyValues = new LinkedHashMap<>();
+        @Nullable
+        private Map<String, KeyValue> lowCardinalityKeyValues;
+
+        @Nullable
+        private Map<String, KeyValue> highCardinalityKeyValues;
+
+        // sorted views of the key values, reset whenever the key values change
+        @Nullable
+        private KeyValues lowCardinalityKeyValuesView;
 
-        private final Map<String, KeyValue> highCardinalityKeyValues = new LinkedHashMap<>();
+        @Nullable
+        private KeyValues highCardinalityKeyValuesView;
 
         /**
          * The observation name.
@@ -1021,7 +1039,7 @@ public interface Observation extends ObservationView {
          * @return this for chaining
          */
         public <T> Context put(Object key, T object) {
-            this.map.put(key, object);
+            getOrCreateMap().put(key, object);
             return this;
         }
 
@@ -1034,7 +1052,8 @@ public interface Observation extends ObservationView {
         @Override
         @Nullable
         public <T> T get(Object key) {
-            return (T) this.map.get(key);
+            Map<Object, Object> map = this.map;
+            return map != null ? (T) map.get(key) : null;
         }
 
         /**
@@ -1044,7 +1063,8 @@ public interface Observation extends ObservationView {
          * mapping for the key
          */
         public Object remove(Object key) {
-            return this.map.remove(key);
+            Map<Object, Object> map = this.map;
+            return map != null ? map.remove(key) : null;
         }
 
         /**
@@ -1057,7 +1077,7 @@ public interface Observation extends ObservationView {
         @Override
         @NonNull
         public <T> T getRequired(Object key) {
-            T object = (T) this.map.get(key);
+            T object = get(key);
             if (object == null) {
                 throw new IllegalArgumentException("Context does not have an entry for key [" + key + "]");
             }
@@ -1071,7 +1091,8 @@ public interface Observation extends ObservationView {
          */
         @Override
         public boolean containsKey(Object key) {
-            return this.map.containsKey(key);
+            Map<Object, Object> map = this.map;
+            return map != null && map.containsKey(key);
         }
 
         /**
@@ -1083,7 +1104,8 @@ public interface Observation extends ObservationView {
          */
         @Override
         public <T> T getOrDefault(Object key, T defaultObject) {
-            return (T) this.map.getOrDefault(key, defaultObject);
+            Map<Object, Object> map = this.map;
+            return map != null ? (T) map.getOrDefault(key, defaultObject) : defaultObject;
         }
 
         /**
@@ -1095,14 +1117,27 @@ public interface Observation extends ObservationView {
          * @return object or one derived from the mapping function if not present
          */
         public <T> T computeIfAbsent(Object key, Function<Object, ? extends T> mappingFunction) {
-            return (T) this.map.computeIfAbsent(key, mappingFunction);
+            return (T) getOrCreateMap().computeIfAbsent(key, mappingFunction);
         }
 
         /**
          * Clears the entries from the context.
          */
         public void clear() {
-            this.map.clear();
+            Map<Object, Object> map = this.map;
+            if (map != null) {
+                map.clear();
+            }
+        }
+
+        @SuppressWarnings("unchecked")
+        private Map<Object, Object> getOrCreateMap() {
+            Map<Object, Object> map = this.map;
+            if (map == null) {
+                MAP_UPDATER.compareAndSet(this, null, new ConcurrentHashMap<>());
+                map = this.map;
+            }
+            return map;
         }
 
         /**
@@ -1112,7 +1147,14 @@ public interface Observation extends ObservationView {
          * @return this context
          */
         public Context addLowCardinalityKeyValue(KeyValue keyValue) {
-            this.lowCardinalityKeyValues.put(keyValue.getKey(), keyValue);
+            if (this.lowCardinalityKeyValues == null) {
+                this.lowCardinalityKeyValues = new LinkedHashMap<>();
+            }
+            KeyValue previous = this.lowCardinalityKeyValues.put(keyValue.getKey(), keyValue);
+            // conventions are applied on start and on stop, usually with the same values
+            if (!keyValue.equals(previous)) {
+                this.lowCardinalityKeyValuesView = null;
+            }
             return this;
         }
 
@@ -1124,7 +1166,13 @@ public interface Observation extends ObservationView {
          * @return this context
          */
         public Context addHighCardinalityKeyValue(KeyValue keyValue) {
-            this.highCardinalityKeyValues.put(keyValue.getKey(), keyValue);
+            if (this.highCardinalityKeyValues == null) {
+                this.highCardinalityKeyValues = new LinkedHashMap<>();
+            }
+            KeyValue previous = this.highCardinalityKeyValues.put(keyValue.getKey(), keyValue);
+            if (!keyValue.equals(previous)) {
+                this.highCardinalityKeyValuesView = null;
+            }
             return this;
         }
 
@@ -1137,7 +1185,9 @@ public interface Observation extends ObservationView {
          * @since 1.10.1
          */
         public Context removeLowCardinalityKeyValue(String keyName) {
-            this.lowCardinalityKeyValues.remove(keyName);
+            if (this.lowCardinalityKeyValues != null && this.lowCardinalityKeyValues.remove(keyName) != null) {
+                this.lowCardinalityKeyValuesView = null;
+            }
             return this;
         }
 
@@ -1150,7 +1200,9 @@ public interface Observation extends ObservationView {
          * @since 1.10.1
          */
         public Context removeHighCardinalityKeyValue(String keyName) {
-            this.highCardinalityKeyValues.remove(keyName);
+            if (this.highCardinalityKeyValues != null && this.highCardinalityKeyValues.remove(keyName) != null) {
+                this.highCardinalityKeyValuesView = null;
+            }
             return this;
         }
 
@@ -1207,23 +1259,35 @@ public interface Observation extends ObservationView {
         @NonNull
         @Override
         public KeyValues getLowCardinalityKeyValues() {
-            return KeyValues.of(this.lowCardinalityKeyValues.values());
+            KeyValues view = this.lowCardinalityKeyValuesView;
+            if (view == null) {
+                view = this.lowCardinalityKeyValues != null ? KeyValues.of(this.lowCardinalityKeyValues.values())
+                        : KeyValues.empty();
+                this.lowCardinalityKeyValuesView = view;
+            }
+            return view;
         }
 
         @NonNull
         @Override
         public KeyValues getHighCardinalityKeyValues() {
-            return KeyValues.of(this.highCardinalityKeyValues.values());
+            KeyValues view = this.highCardinalityKeyValuesView;
+            if (view == null) {
+                view = this.highCardinalityKeyValues != null ? KeyValues.of(this.highCardinalityKeyValues.values())
+                        : KeyValues.empty();
+                this.highCardinalityKeyValuesView = view;
+            }
+            return view;
         }
 
         @Override
         public KeyValue getLowCardinalityKeyValue(String key) {
-            return this.lowCardinalityKeyValues.get(key);
+            return this.lowCardinalityKeyValues != null ? this.lowCardinalityKeyValues.get(key) : null;
         }
 
         @Override
         public KeyValue getHighCardinalityKeyValue(String key) {
-            return this.highCardinalityKeyValues.get(key);
+            return this.highCardinalityKeyValues != null ? this.highCardinalityKeyValues.get(key) : null;
         }
 
         @NonNull
@@ -1232,12 +1296,41 @@ public interface Observation extends ObservationView {
             return getLowCardinalityKeyValues().and(getHighCardinalityKeyValues());
         }
 
+        /**
+         * Copies the name, contextual name, error, parent observation, key values and
+         * entries of this context into a new {@link Context} that is detached from it.
+         * Entries are copied shallowly, and state specific to subclasses is not copied.
+         * @return a copy of this context
+         */
+        Context copy() {
+            Context copy = new Context();
+            copy.name = this.name;
+            copy.contextualName = this.contextualName;
+            copy.error = this.error;
+            copy.parentObservation = this.parentObservation;
+            Map<Object, Object> map = this.map;
+            if (map != null && !map.isEmpty()) {
+                copy.map = new ConcurrentHashMap<>(map);
+            }
+            if (this.lowCardinalityKeyValues != null) {
+                copy.lowCardinalityKeyValues = new LinkedHashMap<>(this.lowCardinalityKeyValues);
+                copy.lowCardinalityKeyValuesView = this.lowCardinalityKeyValuesView;
+            }
+            if (this.highCardinalityKeyValues != null) {
+                copy.highCardinalityKeyValues = new LinkedHashMap<>(this.highCardinalityKeyValues);
+                copy.highCardinalityKeyValuesView = this.highCardinalityKeyValuesView;
+            }
+            return copy;
+        }
+
         @Override
         public String toString() {
+            Map<Object, Object> map = this.map;
             return "name='" + name + '\'' + ", contextualName='" + contextualName + '\'' + ", error='" + error + '\''
                     + ", lowCardinalityKeyValues=" + toString(getLowCardinalityKeyValues())
-                    + ", highCardinalityKeyValues=" + toString(getHighCardinalityKeyValues()) + ", map=" + toString(map)
-                    + ", parentObservation=" + parentObservation;
+                    + ", highCardinalityKeyValues=" + toString(getHighCardinalityKeyValues()) + ", map="
+                    + toString(map != null ? map : Collections.emptyMap()) + ", parentObservation="
+                    + parentObservation;
         }
 
         private String toString(KeyValues keyValues) {
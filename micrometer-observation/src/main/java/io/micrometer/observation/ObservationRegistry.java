@@ -91,6 +91,10 @@ public interface ObservationRegistry {
 
     /**
      * Access to configuration options for this registry.
+     * <p>
+     * Besides the registered lists, the configuration keeps an immutable array snapshot
+     * of each of them that is rebuilt whenever something is registered. Creating,
+     * starting and stopping observations only iterates these arrays.
      */
     class ObservationConfig {
 
@@ -102,13 +106,24 @@ public interface ObservationRegistry {
 
         private final List<ObservationFilter> observationFilters = new CopyOnWriteArrayList<>();
 
+        private volatile ObservationHandler<?>[] observationHandlerChain = new ObservationHandler<?>[0];
+
+        private volatile ObservationPredicate[] observationPredicateChain = new ObservationPredicate[0];
+
+        private volatile ObservationConvention<?>[] observationConventionChain = new ObservationConvention<?>[0];
+
+        private volatile ObservationFilter[] observationFilterChain = new ObservationFilter[0];
+
         /**
          * Register a handler for the {@link Observation observations}.
          * @param handler handler to add to the current configuration
          * @return This configuration instance
          */
         public ObservationConfig observationHandler(ObservationHandler<?> handler) {
-            this.observationHandlers.add(handler);
+            synchronized (this.observationHandlers) {
+                this.observationHandlers.add(handler);
+                this.observationHandlerChain = this.observationHandlers.toArray(new ObservationHandler<?>[0]);
+            }
             return this;
         }
 
@@ -119,7 +134,10 @@ public interface ObservationRegistry {
          * @return This configuration instance
          */
         public ObservationConfig observationPredicate(ObservationPredicate predicate) {
-            this.observationPredicates.add(predicate);
+            synchronized (this.observationPredicates) {
+                this.observationPredicates.add(predicate);
+                this.observationPredicateChain = this.observationPredicates.toArray(new ObservationPredicate[0]);
+            }
             return this;
         }
 
@@ -130,7 +148,10 @@ public interface ObservationRegistry {
          * @return This configuration instance
          */
         public ObservationConfig observationFilter(ObservationFilter observationFilter) {
-            this.observationFilters.add(observationFilter);
+            synchronized (this.observationFilters) {
+                this.observationFilters.add(observationFilter);
+                this.observationFilterChain = this.observationFilters.toArray(new ObservationFilter[0]);
+            }
             return this;
         }
 
@@ -145,7 +166,11 @@ public interface ObservationRegistry {
          * @return This configuration instance
          */
         public ObservationConfig observationConvention(GlobalObservationConvention<?> observationConvention) {
-            this.observationConventions.add(observationConvention);
+            synchronized (this.observationConventions) {
+                this.observationConventions.add(observationConvention);
+                this.observationConventionChain = this.observationConventions
+                    .toArray(new ObservationConvention<?>[0]);
+            }
             return this;
         }
 
@@ -160,7 +185,7 @@ public interface ObservationRegistry {
         @SuppressWarnings("unchecked")
         <T extends Observation.Context> ObservationConvention<T> getObservationConvention(T context,
                 ObservationConvention<T> defaultConvention) {
-            for (ObservationConvention<?> convention : this.observationConventions) {
+            for (ObservationConvention<?> convention : this.observationConventionChain) {
                 if (convention.supportsContext(context)) {
                     return (ObservationConvention<T>) convention;
                 }
@@ -176,7 +201,7 @@ public interface ObservationRegistry {
          * @return {@code true} when observation is enabled
          */
         boolean isObservationEnabled(String name, @Nullable Observation.Context context) {
-            for (ObservationPredicate predicate : this.observationPredicates) {
+            for (ObservationPredicate predicate : this.observationPredicateChain) {
                 if (!predicate.test(name, context)) {
                     return false;
                 }
@@ -197,6 +222,18 @@ public interface ObservationRegistry {
             return observationConventions;
         }
 
+        ObservationHandler<?>[] getObservationHandlerChain() {
+            return observationHandlerChain;
+        }
+
+        ObservationFilter[] getObservationFilterChain() {
+            return observationFilterChain;
+        }
+
+        ObservationConvention<?>[] getObservationConventionChain() {
+            return observationConventionChain;
+        }
+
     }
 
 }
@@ -23,9 +23,8 @@ import io.micrometer.common.util.internal.logging.InternalLoggerFactory;
 import io.micrometer.observation.contextpropagation.ObservationThreadLocalAccessor;
 
 import java.util.ArrayDeque;
-import java.util.Collection;
+import java.util.Arrays;
 import java.util.Deque;
-import java.util.Iterator;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 
@@ -49,9 +48,9 @@ class SimpleObservation implements Observation {
     private ObservationConvention convention;
 
     @SuppressWarnings("rawtypes")
-    private final Deque<ObservationHandler> handlers;
+    private final ObservationHandler[] handlers;
 
-    private final Collection<ObservationFilter> filters;
+    private final ObservationFilter[] filters;
 
     final Map<Thread, Scope> lastScope = new ConcurrentHashMap<>();
 
@@ -61,7 +60,7 @@ class SimpleObservation implements Observation {
         this.context.setName(name);
         this.convention = getConventionFromConfig(registry, context);
         this.handlers = getHandlersFromConfig(registry, context);
-        this.filters = registry.observationConfig().getObservationFilters();
+        this.filters = registry.observationConfig().getObservationFilterChain();
     }
 
     SimpleObservation(ObservationConvention<? extends Context> convention, ObservationRegistry registry,
@@ -70,7 +69,7 @@ class SimpleObservation implements Observation {
         this.context = context;
         // name is set later in start()
         this.handlers = getHandlersFromConfig(registry, context);
-        this.filters = registry.observationConfig().getObservationFilters();
+        this.filters = registry.observationConfig().getObservationFilterChain();
         if (convention.supportsContext(context)) {
             this.convention = convention;
         }
@@ -82,7 +81,7 @@ class SimpleObservation implements Observation {
 
     @Nullable
     private static ObservationConvention getConventionFromConfig(ObservationRegistry registry, Context context) {
-        for (ObservationConvention<?> convention : registry.observationConfig().getObservationConventions()) {
+        for (ObservationConvention<?> convention : registry.observationConfig().getObservationConventionChain()) {
             if (convention.supportsContext(context)) {
                 return convention;
             }
@@ -90,15 +89,27 @@ class SimpleObservation implements Observation {
         return null;
     }
 
-    private static Deque<ObservationHandler> getHandlersFromConfig(ObservationRegistry registry, Context context) {
-        Collection<ObservationHandler<?>> handlers = registry.observationConfig().getObservationHandlers();
-        Deque<ObservationHandler> deque = new ArrayDeque<>(handlers.size());
-        for (ObservationHandler handler : handlers) {
+    @SuppressWarnings("rawtypes")
+    private static ObservationHandler[] getHandlersFromConfig(ObservationRegistry registry, Context context) {
+        ObservationHandler<?>[] handlers = registry.observationConfig().getObservationHandlerChain();
+        ObservationHandler[] supported = null;
+        int count = 0;
+        for (int i = 0; i < handlers.length; i++) {
+            ObservationHandler<?> handler = handlers[i];
             if (handler.supportsContext(context)) {
-                deque.add(handler);
+                if (supported != null) {
+                    supported[count] = handler;
+                }
+                count++;
+            }
+            else if (supported == null) {
+                // the chain is immutable, so it can be shared as long as every handler
+                // supports the context
+                supported = new ObservationHandler[handlers.length];
+                System.arraycopy(handlers, 0, supported, 0, i);
             }
         }
-        return deque;
+        return supported == null ? handlers : Arrays.copyOf(supported, count);
     }
 
     @Override
@@ -240,10 +251,8 @@ class SimpleObservation implements Observation {
     void notifyOnScopeClosed() {
         // We're closing from end till the beginning - e.g. we opened scope with handlers
         // with ids 1,2,3 and we need to close the scope in order 3,2,1
-        Iterator<ObservationHandler> iterator = this.handlers.descendingIterator();
-        while (iterator.hasNext()) {
-            ObservationHandler handler = iterator.next();
-            handler.onScopeClosed(this.context);
+        for (int i = this.handlers.length - 1; i >= 0; i--) {
+            this.handlers[i].onScopeClosed(this.context);
         }
     }
 
@@ -265,7 +274,9 @@ class SimpleObservation implements Observation {
     void notifyOnObservationStopped(Context context) {
         // We're closing from end till the beginning - e.g. we started with handlers with
         // ids 1,2,3 and we need to call close on 3,2,1
-        this.handlers.descendingIterator().forEachRemaining(handler -> handler.onStop(context));
+        for (int i = this.handlers.length - 1; i >= 0; i--) {
+            this.handlers[i].onStop(context);
+        }
     }
 
     @Override
@@ -47,8 +47,15 @@ class SimpleObservationRegistry implements ObservationRegistry {
     }
 
     @Override
-    public void setCurrentObservationScope(Observation.Scope current) {
-        localObservationScope.set(current);
+    public void setCurrentObservationScope(@Nullable Observation.Scope current) {
+        if (current == null) {
+            // don't leave an empty entry behind in the thread's map once the outermost
+            // scope is closed, which adds up with many (virtual) threads
+            localObservationScope.remove();
+        }
+        else {
+            localObservationScope.set(current);
+        }
     }
 
     @Override
@@ -0,0 +1,240 @@
+/*
+ * Copyright 2024 VMware, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micrometer.observation;
+
+import io.micrometer.common.KeyValue;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+/**
+ * Tests for {@link AsyncObservationHandler}.
+ */
+class AsyncObservationHandlerTests {
+
+    private final RecordingHandler delegate = new RecordingHandler();
+
+    private final ObservationRegistry registry = ObservationRegistry.create();
+
+    @Test
+    void shouldHandleSnapshotOfStoppedContextOnWorkerThread() {
+        try (AsyncObservationHandler handler = new AsyncObservationHandler(delegate)) {
+            registry.observationConfig().observationHandler(handler);
+            Observation observation = Observation.createNotStarted("test.observation", registry)
+                .lowCardinalityKeyValue("low", "value")
+                .contextualName("contextual")
+                .start();
+            observation.getContext().put("entry", 42);
+            observation.stop();
+            // changes after stop are not visible to the other handler
+            observation.getContext().addLowCardinalityKeyValue(KeyValue.of("late", "value"));
+        }
+
+        assertThat(delegate.threads).containsExactly("micrometer-async-observation-handler");
+        assertThat(delegate.contexts).singleElement().satisfies(context -> {
+            assertThat(context.getName()).isEqualTo("test.observation");
+            assertThat(context.getContextualName()).isEqualTo("contextual");
+            assertThat(context.getLowCardinalityKeyValues()).containsExactly(KeyValue.of("low", "value"));
+            assertThat((Integer) context.get("entry")).isEqualTo(42);
+        });
+    }
+
+    @Test
+    void shouldDropContextsWhenQueueIsFull() throws InterruptedException {
+        CountDownLatch blocked = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        delegate.onStop = () -> {
+            blocked.countDown();
+            await(release);
+        };
+        try (AsyncObservationHandler handler = new AsyncObservationHandler(delegate, 1,
+                AsyncObservationHandler.OverflowPolicy.DROP)) {
+            registry.observationConfig().observationHandler(handler);
+            Observation.start("first", registry).stop();
+            assertThat(blocked.await(5, TimeUnit.SECONDS)).isTrue();
+            Observation.start("queued", registry).stop();
+            Observation.start("dropped", registry).stop();
+
+            assertThat(handler.getQueueSize()).isEqualTo(1);
+            assertThat(handler.getDroppedCount()).isEqualTo(1);
+            release.countDown();
+        }
+
+        assertThat(delegate.contexts).extracting(Observation.Context::getName).containsExactly("first", "queued");
+    }
+
+    @Test
+    void shouldRunOnCallerThreadWhenQueueIsFull() throws InterruptedException {
+        CountDownLatch blocked = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        delegate.onStop = () -> {
+            if (Thread.currentThread().getName().equals("micrometer-async-observation-handler")) {
+                blocked.countDown();
+                await(release);
+            }
+        };
+        try (AsyncObservationHandler handler = new AsyncObservationHandler(delegate, 1,
+                AsyncObservationHandler.OverflowPolicy.CALLER_RUNS)) {
+            registry.observationConfig().observationHandler(handler);
+            Observation.start("first", registry).stop();
+            assertThat(blocked.await(5, TimeUnit.SECONDS)).isTrue();
+            Observation.start("queued", registry).stop();
+            Observation.start("caller", registry).stop();
+
+            assertThat(delegate.threads).containsExactly(Thread.currentThread().getName());
+            release.countDown();
+            assertThat(handler.getDroppedCount()).isZero();
+        }
+
+        assertThat(delegate.contexts).extracting(Observation.Context::getName)
+            .containsExactlyInAnyOrder("first", "queued", "caller");
+    }
+
+    @Test
+    void shouldCountContextsStoppedAfterClose() {
+        AsyncObservationHandler handler = new AsyncObservationHandler(delegate);
+        registry.observationConfig().observationHandler(handler);
+        handler.close();
+
+        Observation.start("closed", registry).stop();
+
+        assertThat(handler.getDroppedCount()).isEqualTo(1);
+        assertThat(delegate.contexts).isEmpty();
+    }
+
+    @Test
+    void shouldCountContextsQueuedWhileClosing() {
+        AtomicReference<AsyncObservationHandler> handler = new AtomicReference<>();
+        handler.set(new AsyncObservationHandler(delegate, 1024, AsyncObservationHandler.OverflowPolicy.DROP,
+                context -> {
+                    // the worker stops before the snapshot is queued
+                    handler.get().close();
+                    return context.copy();
+                }));
+        registry.observationConfig().observationHandler(handler.get());
+
+        Observation.start("closing", registry).stop();
+
+        assertThat(handler.get().getDroppedCount()).isEqualTo(1);
+        assertThat(handler.get().getQueueSize()).isZero();
+        assertThat(delegate.contexts).isEmpty();
+    }
+
+    @Test
+    void shouldNotNotifyHandlerOfContextSubclassWithPlainSnapshot() {
+        CustomContextHandler customContextHandler = new CustomContextHandler();
+        try (AsyncObservationHandler handler = new AsyncObservationHandler(customContextHandler)) {
+            registry.observationConfig().observationHandler(handler);
+            Observation.start("custom", CustomContext::new, registry).stop();
+
+            assertThat(handler.getDroppedCount()).isEqualTo(1);
+        }
+
+        assertThat(customContextHandler.contexts).isEmpty();
+    }
+
+    @Test
+    void shouldNotifyHandlerOfContextSubclassWithSnapshotOfThatSubclass() {
+        CustomContextHandler customContextHandler = new CustomContextHandler();
+        try (AsyncObservationHandler handler = new AsyncObservationHandler(customContextHandler, 1024,
+                AsyncObservationHandler.OverflowPolicy.DROP, context -> {
+                    CustomContext snapshot = new CustomContext();
+                    snapshot.setName(context.getName());
+                    snapshot.value = ((CustomContext) context).value;
+                    return snapshot;
+                })) {
+            registry.observationConfig().observationHandler(handler);
+            Observation.start("custom", () -> {
+                CustomContext context = new CustomContext();
+                context.value = "value";
+                return context;
+            }, registry).stop();
+        }
+
+        assertThat(customContextHandler.contexts).singleElement().satisfies(context -> {
+            assertThat(context.getName()).isEqualTo("custom");
+            assertThat(context.value).isEqualTo("value");
+        });
+    }
+
+    @Test
+    void shouldRejectNonPositiveCapacity() {
+        assertThatIllegalArgumentException().isThrownBy(
+                () -> new AsyncObservationHandler(delegate, 0, AsyncObservationHandler.OverflowPolicy.DROP));
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        }
+        catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    static class CustomContext extends Observation.Context {
+
+        String value;
+
+    }
+
+    static class CustomContextHandler implements ObservationHandler<CustomContext> {
+
+        final List<CustomContext> contexts = new CopyOnWriteArrayList<>();
+
+        @Override
+        public void onStop(CustomContext context) {
+            contexts.add(context);
+        }
+
+        @Override
+        public boolean supportsContext(Observation.Context context) {
+            return context instanceof CustomContext;
+        }
+
+    }
+
+    static class RecordingHandler implements ObservationHandler<Observation.Context> {
+
+        final List<Observation.Context> contexts = new CopyOnWriteArrayList<>();
+
+        final List<String> threads = new CopyOnWriteArrayList<>();
+
+        Runnable onStop = () -> {
+        };
+
+        @Override
+        public void onStop(Observation.Context context) {
+            onStop.run();
+            threads.add(Thread.currentThread().getName());
+            contexts.add(context);
+        }
+
+        @Override
+        public boolean supportsContext(Observation.Context context) {
+            return true;
+        }
+
+    }
+
+}
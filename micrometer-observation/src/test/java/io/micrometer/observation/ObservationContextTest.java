@@ -181,4 +181,22 @@ class ObservationContextTest {
         assertThat(context.getHighCardinalityKeyValues()).containsExactly(KeyValue.of("key2", "VALUE2"));
     }
 
+    @Test
+    void keyValuesShouldBeReusedUntilChanged() {
+        context.addLowCardinalityKeyValue(KeyValue.of("b", "2")).addLowCardinalityKeyValue(KeyValue.of("a", "1"));
+        KeyValues keyValues = context.getLowCardinalityKeyValues();
+        assertThat(keyValues).containsExactly(KeyValue.of("a", "1"), KeyValue.of("b", "2"));
+        assertThat(context.getLowCardinalityKeyValues()).isSameAs(keyValues);
+
+        context.addLowCardinalityKeyValue(KeyValue.of("a", "1"));
+        assertThat(context.getLowCardinalityKeyValues()).isSameAs(keyValues);
+
+        context.addLowCardinalityKeyValue(KeyValue.of("a", "3"));
+        assertThat(context.getLowCardinalityKeyValues()).containsExactly(KeyValue.of("a", "3"), KeyValue.of("b", "2"));
+
+        context.removeLowCardinalityKeyValue("b");
+        assertThat(context.getLowCardinalityKeyValues()).containsExactly(KeyValue.of("a", "3"));
+        assertThat(context.getHighCardinalityKeyValues()).isEmpty();
+    }
+
 }
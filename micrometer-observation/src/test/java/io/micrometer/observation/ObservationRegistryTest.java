@@ -22,7 +22,7 @@ import org.junit.jupiter.api.Test;
 import static io.micrometer.observation.Observation.NOOP;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.BDDAssertions.then;
-import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.*;
 
 /**
  * Tests for {@link ObservationRegistry}.
@@ -61,6 +61,36 @@ class ObservationRegistryTest {
         assertThat(registry.observationConfig().getObservationHandlers()).containsExactlyInAnyOrder(handler1, handler2);
     }
 
+    @Test
+    void observationHandlerChainShouldFollowConfigurationChanges() {
+        ObservationHandler<?> handler1 = mock(ObservationHandler.class);
+        ObservationHandler<?> handler2 = mock(ObservationHandler.class);
+
+        registry.observationConfig().observationHandler(handler1);
+        ObservationHandler<?>[] chain = registry.observationConfig().getObservationHandlerChain();
+        assertThat(chain).containsExactly(handler1);
+
+        registry.observationConfig().observationHandler(handler2);
+        assertThat(registry.observationConfig().getObservationHandlerChain()).containsExactly(handler1, handler2);
+        assertThat(chain).containsExactly(handler1);
+    }
+
+    @Test
+    void onlyHandlersSupportingTheContextShouldBeNotified() {
+        Observation.Context context = new Observation.Context();
+        ObservationHandler<Observation.Context> supporting = mock(ObservationHandler.class);
+        when(supporting.supportsContext(context)).thenReturn(true);
+        ObservationHandler<Observation.Context> notSupporting = mock(ObservationHandler.class);
+        registry.observationConfig().observationHandler(notSupporting).observationHandler(supporting);
+
+        Observation.start("test.timer", () -> context, registry).stop();
+
+        verify(supporting).onStart(context);
+        verify(supporting).onStop(context);
+        verify(notSupporting, never()).onStart(context);
+        verify(notSupporting, never()).onStop(context);
+    }
+
     @Test
     void observationShouldBeNoopWhenPredicateApplicable() {
         registry.observationConfig().observationPredicate((name, context) -> !name.equals("test.timer"));